@@ -0,0 +1,63 @@
+package com.mindex.challenge.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mindex.challenge.data.Employee;
+
+/**
+ * Compares an employee against an update with Employee.getChangedFields, without the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ChangedFieldsBenchmark {
+    private Employee existing;
+    private Employee unchanged;
+    private Employee changed;
+
+    @Setup
+    public void setup() {
+        existing = employee("Developer", "Engineering", "report-1", "report-2", "report-3");
+        unchanged = employee("Developer", "Engineering", "report-1", "report-2", "report-3");
+        changed = employee("Senior Developer", "Research", "report-1", "report-4");
+    }
+
+    @Benchmark
+    public Map<String, String> noChanges() {
+        return existing.getChangedFields(unchanged);
+    }
+
+    @Benchmark
+    public Map<String, String> fieldAndReportChanges() {
+        return existing.getChangedFields(changed);
+    }
+
+    private static Employee employee(String position, String department, String... reportIds) {
+        Employee employee = new Employee();
+        employee.setEmployeeId("employee");
+        employee.setFirstName("John");
+        employee.setLastName("Lennon");
+        employee.setPosition(position);
+        employee.setDepartment(department);
+        employee.setDirectReports(List.of(reportIds).stream().map(id -> {
+            Employee report = new Employee();
+            report.setEmployeeId(id);
+            return report;
+        }).toList());
+        return employee;
+    }
+}
@@ -0,0 +1,39 @@
+package com.mindex.challenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mindex.challenge.data.Compensation;
+import com.mindex.challenge.service.CompensationService;
+
+/**
+ * Reads the compensation of random sampled employees of the synthetic org.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CompensationServiceBenchmark {
+    private CompensationService compensationService;
+
+    @Setup(Level.Trial)
+    public void setup(OrgState org) {
+        compensationService = org.bean(CompensationService.class);
+    }
+
+    @Benchmark
+    public Compensation read(OrgState org) {
+        return compensationService.read(org.randomSampleId());
+    }
+}
@@ -0,0 +1,57 @@
+package com.mindex.challenge.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindex.challenge.BootstrapStatus;
+
+/**
+ * Starts the application on a synthetic seed file, timing the seed data load end to end.
+ * Each invocation is a cold start of a fresh context, so it runs in single shot mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class DataBootstrapBenchmark {
+
+    @Param({"BALANCED", "WIDE", "CHAIN"})
+    public SyntheticOrg.Shape shape;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path seedFile;
+
+    @Setup(Level.Trial)
+    public void writeSeedFile() throws IOException {
+        seedFile = SyntheticOrg.writeSeedFile(new ObjectMapper(), shape, size);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSeedFile() throws IOException {
+        Files.deleteIfExists(seedFile);
+    }
+
+    @Benchmark
+    public long load() {
+        try (ConfigurableApplicationContext context = OrgState.startApplication(seedFile)) {
+            return context.getBean(BootstrapStatus.class).getEmployeesLoaded();
+        }
+    }
+}
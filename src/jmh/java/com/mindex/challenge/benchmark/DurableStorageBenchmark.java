@@ -0,0 +1,147 @@
+package com.mindex.challenge.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindex.challenge.ChallengeApplication;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.service.EmployeeService;
+
+/**
+ * Compares the in-memory storage of the embedded MongoDB server with the file-backed storage of
+ * challenge.storage.path, by dataset size.
+ *
+ * - create: write throughput of new employees through the EmployeeService
+ * - restart: time from start to a context ready to serve. The in-memory storage reseeds from the JSON file,
+ *   the file-backed storage recovers the data written by the previous run and skips the seed load
+ */
+public class DurableStorageBenchmark {
+
+    /**
+     * Running application seeded with a synthetic org.
+     */
+    @State(Scope.Benchmark)
+    public static class Running {
+        @Param({"memory", "file"})
+        public String storage;
+
+        @Param({"10000", "100000", "1000000"})
+        public int size;
+
+        private Path directory;
+        private ConfigurableApplicationContext context;
+        private EmployeeService employeeService;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            directory = Files.createTempDirectory("storage-benchmark");
+            Path seedFile = SyntheticOrg.writeSeedFile(new ObjectMapper(), SyntheticOrg.Shape.BALANCED, size);
+            Files.move(seedFile, directory.resolve("seed.json"));
+            context = startApplication(directory, storage);
+            employeeService = context.getBean(EmployeeService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws IOException {
+            context.close();
+            deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * Stopped application whose storage file was populated by a previous run.
+     */
+    @State(Scope.Benchmark)
+    public static class Stopped {
+        @Param({"memory", "file"})
+        public String storage;
+
+        @Param({"10000", "100000", "1000000"})
+        public int size;
+
+        private Path directory;
+        private ConfigurableApplicationContext context;
+
+        @Setup(Level.Trial)
+        public void populate() throws IOException {
+            directory = Files.createTempDirectory("storage-benchmark");
+            Path seedFile = SyntheticOrg.writeSeedFile(new ObjectMapper(), SyntheticOrg.Shape.BALANCED, size);
+            Files.move(seedFile, directory.resolve("seed.json"));
+            startApplication(directory, storage).close();
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() {
+            if (context != null) {
+                context.close();
+                context = null;
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void clean() throws IOException {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public Employee create(Running running) {
+        return running.employeeService.create(new Employee("Jane", "Doe", "Developer", "Engineering"));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public ConfigurableApplicationContext restart(Stopped stopped) {
+        stopped.context = startApplication(stopped.directory, stopped.storage);
+        return stopped.context;
+    }
+
+    /**
+     * Starts the application without a web server, seeded from seed.json of the directory,
+     * storing its data in store.db of the directory when the storage is "file".
+     */
+    private static ConfigurableApplicationContext startApplication(Path directory, String storage) {
+        return new SpringApplicationBuilder(ChallengeApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "challenge.bootstrap.location=" + directory.resolve("seed.json").toUri(),
+                "challenge.storage.path=" + (storage.equals("file") ? directory.resolve("store.db") : ""),
+                "logging.level.com.mindex=WARN")
+            .run();
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,51 @@
+package com.mindex.challenge.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.service.EmployeeService;
+
+/**
+ * Reads and updates random employees of the synthetic org.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EmployeeServiceBenchmark {
+    private static final String[] POSITIONS = {"Developer", "Senior Developer"};
+
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setup(OrgState org) {
+        employeeService = org.bean(EmployeeService.class);
+    }
+
+    @Benchmark
+    public Employee read(OrgState org) {
+        return employeeService.read(org.randomSampleId());
+    }
+
+    @Benchmark
+    public Employee update(OrgState org) {
+        // A field-only change, alternating so most updates write
+        Employee update = new Employee();
+        update.setEmployeeId(org.randomSampleId());
+        update.setPosition(POSITIONS[ThreadLocalRandom.current().nextInt(POSITIONS.length)]);
+        return employeeService.update(update);
+    }
+}
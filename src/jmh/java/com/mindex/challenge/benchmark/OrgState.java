@@ -0,0 +1,107 @@
+package com.mindex.challenge.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindex.challenge.ChallengeApplication;
+import com.mindex.challenge.service.CompensationService;
+
+/**
+ * Application context loaded with a synthetic org, shared by the service benchmarks of one trial.
+ *
+ * The reporting structure cache is disabled so every call measures the traversal, the other caches keep
+ * their production settings. A sample of employees gets a compensation record.
+ */
+@State(Scope.Benchmark)
+public class OrgState {
+    private static final int SAMPLE_SIZE = 1024;
+
+    @Param({"BALANCED", "WIDE", "CHAIN"})
+    public SyntheticOrg.Shape shape;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /** The top-level manager, whose structure spans the whole org */
+    public String rootId;
+
+    /** A manager on the second level, whose structure spans a branch */
+    public String branchId;
+
+    /** Distinct employees spread evenly over the whole org, each with a compensation record */
+    public String[] sampleIds;
+
+    private ConfigurableApplicationContext context;
+    private Path seedFile;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        seedFile = SyntheticOrg.writeSeedFile(new ObjectMapper(), shape, size);
+        context = startApplication(seedFile);
+
+        rootId = SyntheticOrg.employeeId(0);
+        branchId = SyntheticOrg.employeeId(Math.min(1, size - 1));
+
+        CompensationService compensationService = bean(CompensationService.class);
+        sampleIds = new String[Math.min(SAMPLE_SIZE, size)];
+        for (int i = 0; i < sampleIds.length; i++) {
+            sampleIds[i] = SyntheticOrg.employeeId((int) ((long) i * size / sampleIds.length));
+            compensationService.create(sampleIds[i], 50_000 + i, new Date());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        Files.deleteIfExists(seedFile);
+    }
+
+    /**
+     * Gets a bean of the running application.
+     *
+     * @param type The bean type
+     * @return The bean
+     */
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Picks a sampled employee at random.
+     *
+     * @return The employee ID
+     */
+    public String randomSampleId() {
+        return sampleIds[ThreadLocalRandom.current().nextInt(sampleIds.length)];
+    }
+
+    /**
+     * Starts the application without a web server, seeded from the given file.
+     *
+     * @param seedFile The seed file DataBootstrap loads at startup
+     * @return The started context
+     */
+    static ConfigurableApplicationContext startApplication(Path seedFile) {
+        return new SpringApplicationBuilder(ChallengeApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "challenge.bootstrap.location=" + seedFile.toUri(),
+                "challenge.reporting-structure-cache.enabled=false",
+                "logging.level.com.mindex=WARN")
+            .run();
+    }
+}
@@ -0,0 +1,54 @@
+package com.mindex.challenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mindex.challenge.data.ReportingStructure;
+import com.mindex.challenge.service.ReportingStructureService;
+
+/**
+ * Builds reporting structures of the synthetic org without the reporting structure cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ReportingStructureBenchmark {
+    private ReportingStructureService reportingStructureService;
+
+    @Setup(Level.Trial)
+    public void setup(OrgState org) {
+        reportingStructureService = org.bean(ReportingStructureService.class);
+    }
+
+    @Benchmark
+    public ReportingStructure wholeOrg(OrgState org) {
+        return reportingStructureService.getReportingStructure(org.rootId);
+    }
+
+    @Benchmark
+    public ReportingStructure branch(OrgState org) {
+        return reportingStructureService.getReportingStructure(org.branchId);
+    }
+
+    @Benchmark
+    public ReportingStructure randomEmployee(OrgState org) {
+        return reportingStructureService.getReportingStructure(org.randomSampleId());
+    }
+
+    @Benchmark
+    public ReportingStructure reportCount(OrgState org) {
+        return reportingStructureService.getReportCount(org.rootId);
+    }
+}
@@ -0,0 +1,108 @@
+package com.mindex.challenge.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindex.challenge.ChallengeApplication;
+
+/**
+ * Compares Tomcat request handling on the platform thread pool with virtual threads, at a concurrency
+ * well above the 200 threads of the default pool. Throughput and the SampleTime percentiles (p99) are
+ * reported per mode.
+ *
+ * The org graph and both caches are disabled, so every request blocks on repository round trips,
+ * which is the load virtual threads are meant for. Requests are sent over HTTP from the benchmark threads.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(512)
+public class RequestExecutionBenchmark {
+
+    /**
+     * Application with a web server on a random port, seeded with a synthetic org.
+     */
+    @State(Scope.Benchmark)
+    public static class Server {
+        @Param({"platform", "virtual"})
+        public String threads;
+
+        @Param({"100000"})
+        public int size;
+
+        private final HttpClient client = HttpClient.newBuilder().build();
+        private ConfigurableApplicationContext context;
+        private Path seedFile;
+        private String baseUrl;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            seedFile = SyntheticOrg.writeSeedFile(new ObjectMapper(), SyntheticOrg.Shape.BALANCED, size);
+            context = new SpringApplicationBuilder(ChallengeApplication.class)
+                .properties(
+                    "server.port=0",
+                    "spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                    "challenge.bootstrap.location=" + seedFile.toUri(),
+                    "challenge.org-graph.enabled=false",
+                    "challenge.employee-cache.enabled=false",
+                    "challenge.reporting-structure-cache.enabled=false",
+                    "logging.level.com.mindex=WARN")
+                .run();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws IOException {
+            context.close();
+            Files.deleteIfExists(seedFile);
+        }
+
+        int get(String path) throws IOException, InterruptedException {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        String randomEmployeeId() {
+            return SyntheticOrg.employeeId(ThreadLocalRandom.current().nextInt(size));
+        }
+    }
+
+    @Benchmark
+    public int readEmployee(Server server) throws IOException, InterruptedException {
+        return server.get("/employee/" + server.randomEmployeeId());
+    }
+
+    @Benchmark
+    public int reportingStructure(Server server) throws IOException, InterruptedException {
+        // Managers on the third level have about a hundred reports below them in the balanced org
+        int manager = 111 + ThreadLocalRandom.current().nextInt(1000);
+        return server.get("/employee/" + SyntheticOrg.employeeId(manager) + "/reporting-structure");
+    }
+}
@@ -0,0 +1,97 @@
+package com.mindex.challenge.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindex.challenge.ChallengeApplication;
+import com.mindex.challenge.dao.EmployeeRepository;
+import com.mindex.challenge.data.Employee;
+
+/**
+ * Compares the latency of repository lookups on the embedded MongoDB server, reached over the loopback
+ * wire protocol, with the in-process store of the embedded profile. Calls go straight to the
+ * EmployeeRepository, so the caches and the org graph are not involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StorageBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"loopback", "embedded"})
+    public String storage;
+
+    @Param({"100000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private Path seedFile;
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        seedFile = SyntheticOrg.writeSeedFile(new ObjectMapper(), SyntheticOrg.Shape.BALANCED, size);
+        context = new SpringApplicationBuilder(ChallengeApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles(storage.equals("embedded") ? new String[] {"embedded"} : new String[0])
+            .properties(
+                "challenge.bootstrap.location=" + seedFile.toUri(),
+                "logging.level.com.mindex=WARN")
+            .run();
+        employeeRepository = context.getBean(EmployeeRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        Files.deleteIfExists(seedFile);
+    }
+
+    @Benchmark
+    public Employee findByEmployeeId() {
+        return employeeRepository.findByEmployeeId(randomEmployeeId());
+    }
+
+    @Benchmark
+    public List<Employee> findAllByEmployeeIdIn() {
+        List<String> employeeIds = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            employeeIds.add(randomEmployeeId());
+        }
+        return employeeRepository.findAllByEmployeeIdIn(employeeIds);
+    }
+
+    @Benchmark
+    public List<Employee> findSubtree() {
+        // Managers on the third level have about a hundred reports below them in the balanced org
+        return employeeRepository.findSubtree(SyntheticOrg.employeeId(111 + ThreadLocalRandom.current().nextInt(1000)));
+    }
+
+    private String randomEmployeeId() {
+        return SyntheticOrg.employeeId(ThreadLocalRandom.current().nextInt(size));
+    }
+}
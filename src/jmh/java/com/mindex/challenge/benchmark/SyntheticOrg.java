@@ -0,0 +1,129 @@
+package com.mindex.challenge.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mindex.challenge.data.Employee;
+
+/**
+ * Generates synthetic orgs of a given shape and size as NDJSON seed files for DataBootstrap.
+ *
+ * Employee 0 is the top-level manager, and every other employee reports to a manager with a lower number,
+ * so IDs and hierarchy positions are reproducible across runs.
+ */
+public final class SyntheticOrg {
+
+    /**
+     * Shape of the generated hierarchy.
+     */
+    public enum Shape {
+        /** Ten direct reports per manager, about six levels deep at 1M employees */
+        BALANCED,
+        /** A thousand direct reports per manager, two levels deep at 1M employees */
+        WIDE,
+        /**
+         * Chains of CHAIN_DEPTH managers hanging off the top-level manager. Chains are bounded because
+         * the materialized ancestors grow with the square of the depth
+         */
+        CHAIN
+    }
+
+    /** Length of each chain of the CHAIN shape */
+    public static final int CHAIN_DEPTH = 100;
+
+    private static final String[] POSITIONS = {"Developer", "Engineer", "Manager", "Analyst", "Designer"};
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales", "Finance", "Marketing", "Operations"};
+
+    private SyntheticOrg() {
+    }
+
+    /**
+     * Gets the ID of a generated employee.
+     *
+     * @param index The employee number, 0 for the top-level manager
+     * @return A UUID derived from the number
+     */
+    public static String employeeId(int index) {
+        return UUID.nameUUIDFromBytes(("employee-" + index).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Gets the manager of a generated employee.
+     *
+     * @param shape The shape of the org
+     * @param index The employee number, above 0
+     * @return The number of the manager
+     */
+    public static int managerOf(Shape shape, int index) {
+        return switch (shape) {
+            case BALANCED -> (index - 1) / 10;
+            case WIDE -> (index - 1) / 1000;
+            case CHAIN -> (index - 1) % CHAIN_DEPTH == 0 ? 0 : index - 1;
+        };
+    }
+
+    /**
+     * Writes an org to a temporary NDJSON seed file, one employee per line with its direct reports as references.
+     *
+     * @param objectMapper The object mapper to write employees with
+     * @param shape The shape of the org
+     * @param size The number of employees
+     * @return The seed file, to be deleted by the caller
+     * @throws IOException if the file cannot be written
+     */
+    public static Path writeSeedFile(ObjectMapper objectMapper, Shape shape, int size) throws IOException {
+        // Direct reports as compressed adjacency lists, managers always precede their reports
+        int[] reportCounts = new int[size + 1];
+        for (int i = 1; i < size; i++) {
+            reportCounts[managerOf(shape, i) + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            reportCounts[i + 1] += reportCounts[i];
+        }
+        int[] reports = new int[Math.max(size - 1, 0)];
+        int[] filled = new int[size];
+        for (int i = 1; i < size; i++) {
+            int manager = managerOf(shape, i);
+            reports[reportCounts[manager] + filled[manager]++] = i;
+        }
+
+        Path path = Files.createTempFile("synthetic-org-" + shape.name().toLowerCase() + "-" + size + "-", ".ndjson");
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path));
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            for (int i = 0; i < size; i++) {
+                Employee employee = new Employee();
+                employee.setEmployeeId(employeeId(i));
+                employee.setFirstName("First" + i);
+                employee.setLastName("Last" + i);
+                employee.setPosition(POSITIONS[i % POSITIONS.length]);
+                employee.setDepartment(DEPARTMENTS[(i / 7) % DEPARTMENTS.length]);
+
+                if (reportCounts[i + 1] > reportCounts[i]) {
+                    List<Employee> directReports = new ArrayList<>(reportCounts[i + 1] - reportCounts[i]);
+                    for (int r = reportCounts[i]; r < reportCounts[i + 1]; r++) {
+                        Employee reference = new Employee();
+                        reference.setEmployeeId(employeeId(reports[r]));
+                        directReports.add(reference);
+                    }
+                    employee.setDirectReports(directReports);
+                }
+                writer.writeValue(generator, employee);
+            }
+        }
+        return path;
+    }
+}
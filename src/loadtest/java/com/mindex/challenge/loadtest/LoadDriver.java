@@ -0,0 +1,270 @@
+package com.mindex.challenge.loadtest;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Replays a weighted mix of employee and compensation calls against a running application at a target rate,
+ * and reports an HDR latency histogram per endpoint.
+ *
+ * Requests are scheduled open loop: latency is measured from when a request was due, not from when it was sent,
+ * so a stalled server shows up in the percentiles instead of silently lowering the request rate.
+ *
+ * Options (all optional):
+ * - --base-url=http://localhost:8080 - The application under test
+ * - --seed-file=build/loadtest/employee_database.json - The seed file the application was started with
+ * - --compensation-file - Compensation records from OrgGenerator, created before the run. Defaults to the file
+ *   next to the seed file, skipped if missing
+ * - --qps=100 - Target request rate
+ * - --duration=60s - Measured run time
+ * - --warmup=10s - Run time before measuring
+ * - --mix=employee.read:50,reporting-structure:20,compensation.read:15,employee.update:10,employee.create:5
+ * - --max-in-flight=256 - Concurrent requests, the schedule falls behind (and latencies grow) beyond it
+ * - --output=build/loadtest/results - Directory for the .hgrm percentile distributions
+ * - --seed=42 - Random seed for the request mix and targets
+ */
+public final class LoadDriver {
+    private static final String[] POSITIONS = {"Developer I", "Developer II", "Developer III", "Analyst"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final SplittableRandom random;
+    private final String baseUrl;
+    private final List<String> employeeIds;
+    private final List<String> compensatedIds;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final AtomicLong created = new AtomicLong();
+
+    private LoadDriver(Options options, List<String> employeeIds, List<String> compensatedIds) {
+        this.random = new SplittableRandom(options.getLong("seed", 42));
+        this.baseUrl = options.get("base-url", "http://localhost:8080");
+        this.employeeIds = employeeIds;
+        this.compensatedIds = compensatedIds.isEmpty() ? employeeIds : compensatedIds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        Path seedFile = Path.of(options.get("seed-file", "build/loadtest/employee_database.json"));
+        Path compensationFile = Path.of(options.get("compensation-file",
+            OrgGenerator.compensationPath(seedFile).toString()));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> employeeIds = new ArrayList<>();
+        readObjects(objectMapper, seedFile, employee -> employeeIds.add(employee.get("employeeId").asText()));
+        List<ObjectNode> compensations = new ArrayList<>();
+        if (Files.exists(compensationFile)) {
+            readObjects(objectMapper, compensationFile, compensations::add);
+        }
+        System.out.printf("Loaded %d employees and %d compensation records%n", employeeIds.size(), compensations.size());
+
+        List<String> compensatedIds = compensations.stream().map(c -> c.get("employeeId").asText()).toList();
+        LoadDriver driver = new LoadDriver(options, employeeIds, compensatedIds);
+        driver.createCompensations(compensations, options.getInt("max-in-flight", 256));
+
+        Map<String, Double> mix = options.getWeights("mix",
+            "employee.read:50,reporting-structure:20,compensation.read:15,employee.update:10,employee.create:5");
+        driver.run(new WeightedChoice<>(mix), options.getDouble("qps", 100),
+            options.getDuration("warmup", Duration.ofSeconds(10)), options.getDuration("duration", Duration.ofSeconds(60)),
+            options.getInt("max-in-flight", 256));
+        driver.report(Path.of(options.get("output", "build/loadtest/results")),
+            options.getDuration("duration", Duration.ofSeconds(60)));
+    }
+
+    /**
+     * Creates the compensation records the compensation.read calls target. Records that already exist are skipped.
+     */
+    private void createCompensations(List<ObjectNode> compensations, int maxInFlight) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicLong failed = new AtomicLong();
+        for (ObjectNode compensation : compensations) {
+            String employeeId = compensation.remove("employeeId").asText();
+            inFlight.acquire();
+            client.sendAsync(post("/employee/" + employeeId + "/compensation", compensation.toString()),
+                    HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null || response.statusCode() >= 500) {
+                        failed.incrementAndGet();
+                    }
+                    inFlight.release();
+                });
+        }
+        inFlight.acquire(maxInFlight);
+        if (!compensations.isEmpty()) {
+            System.out.printf("Created compensation records (%d failed)%n", failed.get());
+        }
+    }
+
+    /**
+     * Sends requests at the target rate until the warmup and measured durations have passed,
+     * then waits for the outstanding responses.
+     */
+    private void run(WeightedChoice<String> mix, double qps, Duration warmup, Duration duration, int maxInFlight)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / qps);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        System.out.printf("Sending %.0f requests/s to %s for %s after a %s warmup%n", qps, baseUrl, duration, warmup);
+        for (long due = start; due < end; due += interval) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            String endpoint = mix.next(random);
+            HttpRequest request = request(endpoint);
+            EndpointStats endpointStats = stats.computeIfAbsent(endpoint, name -> new EndpointStats());
+            boolean measured = due >= measureFrom;
+            long intended = due;
+
+            inFlight.acquire();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (measured) {
+                        endpointStats.record(System.nanoTime() - intended, error == null ? response.statusCode() : -1);
+                    }
+                    inFlight.release();
+                });
+        }
+        inFlight.acquire(maxInFlight);
+    }
+
+    private HttpRequest request(String endpoint) {
+        return switch (endpoint) {
+            case "employee.read" -> get("/employee/" + randomId(employeeIds));
+            case "reporting-structure" -> get("/employee/" + randomId(employeeIds) + "/reporting-structure");
+            case "compensation.read" -> get("/employee/" + randomId(compensatedIds) + "/compensation");
+            case "employee.update" -> {
+                ObjectNode body = objectMapper.createObjectNode()
+                    .put("position", POSITIONS[random.nextInt(POSITIONS.length)]);
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/employee/" + randomId(employeeIds)))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build();
+            }
+            case "employee.create" -> {
+                ObjectNode body = objectMapper.createObjectNode()
+                    .put("firstName", "Load")
+                    .put("lastName", "Test" + created.incrementAndGet())
+                    .put("position", POSITIONS[random.nextInt(POSITIONS.length)])
+                    .put("department", "Engineering");
+                yield post("/employee", body.toString());
+            }
+            default -> throw new IllegalArgumentException("Unknown endpoint in --mix: " + endpoint
+                + " (employee.read, reporting-structure, compensation.read, employee.update, employee.create)");
+        };
+    }
+
+    private String randomId(List<String> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    /**
+     * Prints a percentile summary per endpoint, and writes the full distributions in milliseconds to .hgrm files.
+     */
+    private void report(Path output, Duration duration) throws IOException {
+        Files.createDirectories(output);
+        System.out.printf("%n%-22s %9s %8s %8s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            Histogram histogram = endpointStats.latencies.getIntervalHistogram();
+            System.out.printf("%-22s %9d %8.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                entry.getKey(), histogram.getTotalCount(), histogram.getTotalCount() / (double) duration.toSeconds(),
+                endpointStats.errors.get(),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(output.resolve(entry.getKey() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.printf("%nPercentile distributions written to %s%n", output);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Reads the objects of a JSON array or NDJSON file, plain or gzip compressed.
+     */
+    private static void readObjects(ObjectMapper objectMapper, Path path,
+            Consumer<ObjectNode> consumer) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path));
+        if (path.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in);
+        }
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token == JsonToken.START_OBJECT) {
+                JsonNode node = objectMapper.readTree(parser);
+                consumer.accept((ObjectNode) node);
+                token = parser.nextToken();
+            }
+        }
+    }
+
+    /**
+     * Latencies and failures of one endpoint. Recorded from the HTTP client threads.
+     */
+    private static final class EndpointStats {
+        // Microseconds, up to an hour at three significant digits
+        private final Recorder latencies = new Recorder(TimeUnit.HOURS.toMicros(1), 3);
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long nanos, int status) {
+            latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), TimeUnit.HOURS.toMicros(1)));
+            if (status < 200 || status >= 400) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+}
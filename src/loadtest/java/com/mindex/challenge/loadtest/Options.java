@@ -0,0 +1,71 @@
+package com.mindex.challenge.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the form --name=value.
+ */
+final class Options {
+    private final Map<String, String> values = new HashMap<>();
+
+    /**
+     * Parses the command line.
+     *
+     * @param args The arguments, each of the form --name=value
+     * @throws IllegalArgumentException if an argument is not of that form
+     */
+    Options(String[] args) {
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but found " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+
+    long getLong(String name, long defaultValue) {
+        return values.containsKey(name) ? Long.parseLong(values.get(name)) : defaultValue;
+    }
+
+    double getDouble(String name, double defaultValue) {
+        return values.containsKey(name) ? Double.parseDouble(values.get(name)) : defaultValue;
+    }
+
+    /**
+     * Gets a duration such as 30s, 5m or PT1M.
+     */
+    Duration getDuration(String name, Duration defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        return value.startsWith("P") ? Duration.parse(value) : Duration.parse("PT" + value.toUpperCase());
+    }
+
+    /**
+     * Gets weights such as Engineering:5,Sales:2, keeping their order.
+     */
+    Map<String, Double> getWeights(String name, String defaultValue) {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        for (String entry : get(name, defaultValue).split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected name:weight in --" + name + " but found " + entry);
+            }
+            weights.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1)));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,292 @@
+package com.mindex.challenge.loadtest;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Generates synthetic org charts in the employee_database.json format, with matching compensation records.
+ *
+ * Options (all optional):
+ * - --size=10000 - Number of employees
+ * - --max-depth=8 - Levels below the top-level manager
+ * - --fan-out=poisson:6 - Direct reports per manager: fixed:N, uniform:MIN-MAX or poisson:MEAN
+ * - --departments=Engineering:5,Sales:3,Operations:2,Finance:1,Marketing:1 - Department mix
+ * - --department-affinity=0.8 - Probability that a report joins the department of its manager
+ * - --compensation=0.8 - Fraction of employees with a compensation record
+ * - --output=build/loadtest/employee_database.json - Seed file for challenge.bootstrap.location, gzip if it ends in .gz
+ * - --seed=42 - Random seed, the same options and seed always produce the same files
+ *
+ * Compensation records are written next to the seed file as a JSON array of employeeId, salary and effectiveDate,
+ * the input LoadDriver creates them from before a run.
+ */
+public final class OrgGenerator {
+    private static final String[] FIRST_NAMES = {"John", "Paul", "George", "Ringo", "Pete", "Stuart", "Yoko",
+        "Linda", "Cynthia", "Pattie", "Maureen", "Olivia", "Julian", "Sean", "Mary", "Brian"};
+    private static final String[] LAST_NAMES = {"Lennon", "McCartney", "Harrison", "Starr", "Best", "Sutcliffe",
+        "Ono", "Eastman", "Powell", "Boyd", "Cox", "Arias", "Epstein", "Martin", "Evans", "Aspinall"};
+    private static final String[] LEAF_POSITIONS = {"Developer I", "Developer II", "Developer III", "Analyst",
+        "Specialist", "Associate", "Consultant"};
+
+    private final Random random;
+    private final int size;
+    private final int maxDepth;
+    private final FanOut fanOut;
+    private final List<String> departments;
+    private final WeightedChoice<Integer> departmentChoice;
+    private final double departmentAffinity;
+
+    // Generated org, indexed by employee number. Managers always have lower numbers than their reports
+    private final int[] managers;
+    private final int[] depths;
+    private final int[] departmentIndexes;
+    private final String[] employeeIds;
+    private int[] reportStarts;
+    private int[] reports;
+
+    private OrgGenerator(Options options) {
+        this.random = new Random(options.getLong("seed", 42));
+        this.size = options.getInt("size", 10_000);
+        this.maxDepth = options.getInt("max-depth", 8);
+        this.fanOut = FanOut.parse(options.get("fan-out", "poisson:6"));
+        this.departmentAffinity = options.getDouble("department-affinity", 0.8);
+
+        Map<String, Double> departmentWeights =
+            options.getWeights("departments", "Engineering:5,Sales:3,Operations:2,Finance:1,Marketing:1");
+        this.departments = new ArrayList<>(departmentWeights.keySet());
+        Map<Integer, Double> indexWeights = new LinkedHashMap<>();
+        for (int i = 0; i < departments.size(); i++) {
+            indexWeights.put(i, departmentWeights.get(departments.get(i)));
+        }
+        this.departmentChoice = new WeightedChoice<>(indexWeights);
+
+        if (size < 1 || maxDepth < 1) {
+            throw new IllegalArgumentException("--size and --max-depth must be at least 1");
+        }
+        this.managers = new int[size];
+        this.depths = new int[size];
+        this.departmentIndexes = new int[size];
+        this.employeeIds = new String[size];
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options = new Options(args);
+        Path output = Path.of(options.get("output", "build/loadtest/employee_database.json"));
+        Path compensationOutput = compensationPath(output);
+
+        OrgGenerator generator = new OrgGenerator(options);
+        generator.generate();
+        generator.writeEmployees(output);
+        int compensations = generator.writeCompensations(compensationOutput, options.getDouble("compensation", 0.8));
+
+        System.out.printf("Wrote %d employees to %s (depth %d, max direct reports %d)%n",
+            generator.size, output, generator.depthReached(), generator.maxReports());
+        System.out.printf("Wrote %d compensation records to %s%n", compensations, compensationOutput);
+    }
+
+    /**
+     * Gets the compensation file written next to a seed file.
+     *
+     * @param output The seed file
+     * @return The compensation file
+     */
+    static Path compensationPath(Path output) {
+        String name = output.getFileName().toString().replaceFirst("\\.json(\\.gz)?$", "");
+        return output.resolveSibling(name + "_compensation.json");
+    }
+
+    /**
+     * Assigns every employee a manager breadth first, each manager drawing its number of reports from the fan-out
+     * distribution. When every manager had its draw and employees remain, managers draw again from the top.
+     */
+    private void generate() {
+        managers[0] = -1;
+        departmentIndexes[0] = departmentChoice.next(random);
+
+        int created = 1;
+        int next = 0;
+        while (created < size) {
+            if (next == created) {
+                next = 0;
+            }
+            int manager = next++;
+            if (depths[manager] >= maxDepth) {
+                continue;
+            }
+
+            // The top-level manager always takes a report, so every pass makes progress
+            int reportCount = Math.max(fanOut.draw(random), manager == 0 ? 1 : 0);
+            for (int r = 0; r < reportCount && created < size; r++, created++) {
+                managers[created] = manager;
+                depths[created] = depths[manager] + 1;
+                departmentIndexes[created] = random.nextDouble() < departmentAffinity
+                    ? departmentIndexes[manager]
+                    : departmentChoice.next(random);
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            // Version 4 layout, reproducible from the seed
+            UUID uuid = new UUID((random.nextLong() & ~0xF000L) | 0x4000L,
+                (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+            employeeIds[i] = uuid.toString();
+        }
+
+        // Direct reports as compressed adjacency lists
+        reportStarts = new int[size + 1];
+        for (int i = 1; i < size; i++) {
+            reportStarts[managers[i] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            reportStarts[i + 1] += reportStarts[i];
+        }
+        reports = new int[size - 1];
+        int[] filled = new int[size];
+        for (int i = 1; i < size; i++) {
+            reports[reportStarts[managers[i]] + filled[managers[i]]++] = i;
+        }
+    }
+
+    private void writeEmployees(Path output) throws IOException {
+        try (JsonGenerator generator = createGenerator(output)) {
+            generator.writeStartArray();
+            for (int i = 0; i < size; i++) {
+                generator.writeStartObject();
+                generator.writeStringField("employeeId", employeeIds[i]);
+                generator.writeStringField("firstName", FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                generator.writeStringField("lastName", LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                generator.writeStringField("position", position(i));
+                generator.writeStringField("department", departments.get(departmentIndexes[i]));
+                if (reportStarts[i + 1] > reportStarts[i]) {
+                    generator.writeArrayFieldStart("directReports");
+                    for (int r = reportStarts[i]; r < reportStarts[i + 1]; r++) {
+                        generator.writeStartObject();
+                        generator.writeStringField("employeeId", employeeIds[reports[r]]);
+                        generator.writeEndObject();
+                    }
+                    generator.writeEndArray();
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private int writeCompensations(Path output, double fraction) throws IOException {
+        LocalDate today = LocalDate.now();
+        int written = 0;
+        try (JsonGenerator generator = createGenerator(output)) {
+            generator.writeStartArray();
+            for (int i = 0; i < size; i++) {
+                if (random.nextDouble() >= fraction) {
+                    continue;
+                }
+                // Pay falls with the depth, spread by up to 15% either way
+                double base = 250_000 / (1 + depths[i] * 0.35);
+                double salary = Math.round(base * (0.85 + random.nextDouble() * 0.3) / 100) * 100.0;
+
+                generator.writeStartObject();
+                generator.writeStringField("employeeId", employeeIds[i]);
+                generator.writeNumberField("salary", salary);
+                generator.writeStringField("effectiveDate", today.minusDays(random.nextInt(3 * 365)).toString());
+                generator.writeEndObject();
+                written++;
+            }
+            generator.writeEndArray();
+        }
+        return written;
+    }
+
+    private String position(int index) {
+        if (index == 0) {
+            return "Chief Executive Officer";
+        }
+        if (reportStarts[index + 1] == reportStarts[index]) {
+            return LEAF_POSITIONS[random.nextInt(LEAF_POSITIONS.length)];
+        }
+        String department = departments.get(departmentIndexes[index]);
+        return depths[index] == 1 ? "Director of " + department : department + " Manager";
+    }
+
+    private int depthReached() {
+        int depth = 0;
+        for (int d : depths) {
+            depth = Math.max(depth, d);
+        }
+        return depth;
+    }
+
+    private int maxReports() {
+        int max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, reportStarts[i + 1] - reportStarts[i]);
+        }
+        return max;
+    }
+
+    private static JsonGenerator createGenerator(Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(output));
+        if (output.getFileName().toString().endsWith(".gz")) {
+            out = new GZIPOutputStream(out);
+        }
+        return new JsonFactory().createGenerator(out);
+    }
+
+    /**
+     * Distribution of the number of direct reports per manager.
+     */
+    private interface FanOut {
+        int draw(Random random);
+
+        /**
+         * Parses fixed:N, uniform:MIN-MAX or poisson:MEAN.
+         */
+        static FanOut parse(String spec) {
+            String[] parts = spec.split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Unknown fan-out " + spec);
+            }
+            switch (parts[0]) {
+                case "fixed": {
+                    int count = Integer.parseInt(parts[1]);
+                    return random -> count;
+                }
+                case "uniform": {
+                    String[] range = parts[1].split("-");
+                    int min = Integer.parseInt(range[0]);
+                    int max = Integer.parseInt(range[1]);
+                    return random -> min + random.nextInt(max - min + 1);
+                }
+                case "poisson": {
+                    // Knuth's method, fine for the small means of org charts
+                    double limit = Math.exp(-Double.parseDouble(parts[1]));
+                    return random -> {
+                        int count = 0;
+                        for (double product = random.nextDouble(); product > limit; product *= random.nextDouble()) {
+                            count++;
+                        }
+                        return count;
+                    };
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown fan-out " + spec);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.mindex.challenge.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks values at random in proportion to their weights.
+ *
+ * @param <T> The type of the values
+ */
+final class WeightedChoice<T> {
+    private final List<T> values = new ArrayList<>();
+    private final double[] cumulativeWeights;
+
+    /**
+     * Creates a choice over weighted values.
+     *
+     * @param weights The values and their weights, at least one weight must be positive
+     */
+    WeightedChoice(Map<T, Double> weights) {
+        cumulativeWeights = new double[weights.size()];
+        double total = 0;
+        for (Map.Entry<T, Double> entry : weights.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Negative weight for " + entry.getKey());
+            }
+            total += entry.getValue();
+            cumulativeWeights[values.size()] = total;
+            values.add(entry.getKey());
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("No positive weight in " + weights);
+        }
+    }
+
+    T next(RandomGenerator random) {
+        double point = random.nextDouble(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return values.get(i);
+            }
+        }
+        return values.get(values.size() - 1);
+    }
+}
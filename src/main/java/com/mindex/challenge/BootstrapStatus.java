@@ -0,0 +1,182 @@
+package com.mindex.challenge;
+
+import com.mindex.challenge.exception.DataLoadingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the progress of the seed data load, so requests can be served while DataBootstrap
+ * is still loading in the background (challenge.bootstrap.async=true).
+ *
+ * Key Features:
+ * - Lookups that miss while loading wait up to challenge.bootstrap.pending-wait for the load to complete,
+ *   then fail with a retryable 503
+ * - Records the time from JVM start until requests can be served, and until the seed data is fully loaded
+ */
+@Component
+public class BootstrapStatus {
+    private static final Logger LOG = LoggerFactory.getLogger(BootstrapStatus.class);
+
+    /**
+     * Progress of the seed data load.
+     */
+    public enum State {
+        /** Seed employees are still being inserted */
+        LOADING,
+        /** Every seed employee is stored */
+        LOADED,
+        /** The load stopped with an error, the repository holds whatever was inserted */
+        FAILED
+    }
+
+    private final Duration pendingWait;
+    private final long startTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final AtomicLong employeesLoaded = new AtomicLong();
+
+    private volatile State state = State.LOADING;
+    private volatile long timeToReady = -1;
+    private volatile long timeToLoaded = -1;
+
+    /**
+     * Constructs a new BootstrapStatus.
+     *
+     * @param pendingWait How long a lookup that misses while loading waits for the load to complete
+     */
+    public BootstrapStatus(@Value("${challenge.bootstrap.pending-wait:2s}") Duration pendingWait) {
+        this.pendingWait = pendingWait;
+    }
+
+    /**
+     * Records when the application started accepting requests.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        timeToReady = System.currentTimeMillis() - startTime;
+        LOG.info("Ready to serve requests {} ms after start ({})", timeToReady, state);
+    }
+
+    /**
+     * Counts seed employees as they are inserted.
+     *
+     * @param count The number of employees just inserted
+     */
+    public void addLoaded(long count) {
+        employeesLoaded.addAndGet(count);
+    }
+
+    /**
+     * Marks the seed data as fully loaded and releases waiting lookups.
+     */
+    public void markLoaded() {
+        finish(State.LOADED);
+        LOG.info("Seed data fully loaded {} ms after start ({} employees)", timeToLoaded, employeesLoaded.get());
+    }
+
+    /**
+     * Marks the load as stopped by an error and releases waiting lookups.
+     */
+    public void markFailed() {
+        finish(State.FAILED);
+    }
+
+    /**
+     * Checks whether the seed data is still being loaded.
+     *
+     * @return true while loading
+     */
+    public boolean isLoading() {
+        return state == State.LOADING;
+    }
+
+    /**
+     * Called when a lookup finds nothing, or needs the complete hierarchy. While the seed data is loading,
+     * waits briefly for the load to complete so the lookup can be retried.
+     *
+     * @return true if the load completed during the wait and the lookup should be retried,
+     *         false if nothing was loading and the result stands
+     * @throws DataLoadingException if the seed data is still loading after the wait
+     */
+    public boolean awaitIfLoading() {
+        if (!isLoading()) {
+            return false;
+        }
+
+        try {
+            if (finished.await(pendingWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw stillLoading();
+    }
+
+    /**
+     * Non-blocking variant of awaitIfLoading for reactive lookups, which fail right away instead of waiting.
+     *
+     * @throws DataLoadingException if the seed data is loading
+     */
+    public void checkNotLoading() {
+        if (isLoading()) {
+            throw stillLoading();
+        }
+    }
+
+    private DataLoadingException stillLoading() {
+        return new DataLoadingException("Seed data is still loading, please retry",
+            Math.max(1, pendingWait.toSeconds()));
+    }
+
+    /**
+     * Gets the progress of the load.
+     *
+     * @return The state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Gets the number of seed employees inserted so far.
+     *
+     * @return The employee count
+     */
+    public long getEmployeesLoaded() {
+        return employeesLoaded.get();
+    }
+
+    /**
+     * Gets the time from JVM start until the application accepted requests.
+     *
+     * @return The time in milliseconds, or -1 if not ready yet
+     */
+    public long getTimeToReady() {
+        return timeToReady;
+    }
+
+    /**
+     * Gets the time from JVM start until the seed data was fully loaded.
+     *
+     * @return The time in milliseconds, or -1 if still loading
+     */
+    public long getTimeToLoaded() {
+        return timeToLoaded;
+    }
+
+    private void finish(State finalState) {
+        timeToLoaded = System.currentTimeMillis() - startTime;
+        state = finalState;
+        finished.countDown();
+    }
+}
@@ -3,16 +3,72 @@ package com.mindex.challenge;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mindex.challenge.dao.EmployeeRepository;
 import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.snapshot.OrgSnapshot;
+import com.mindex.challenge.snapshot.OrgSnapshotService;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Loads the seed employees into the repository at startup.
+ *
+ * Key Features:
+ * - The seed file is parsed incrementally with a JsonParser, one employee at a time
+ * - Parsed employees are inserted in batches with unordered bulk writes
+ * - Parsing and writing overlap: the parser hands batches to writer threads through a bounded queue,
+ *   so at most a few batches are held in memory whatever the size of the file
+ * - Reads JSON arrays, NDJSON and gzip compressed files from challenge.bootstrap.location
+ * - Logs progress and throughput while loading
+ *
+ * Materialized ancestors are backfilled after the inserts from a map of manager IDs collected while parsing,
+ * the only state that grows with the size of the file.
+ *
+ * When a binary org snapshot exists at challenge.snapshot.path it is loaded instead of the seed file.
+ * The snapshot is memory-mapped and decoded one record at a time as batches are filled, and already holds
+ * the ancestors, so there is neither a JSON parse nor a backfill.
+ *
+ * Nothing is loaded when the repository already holds employees, as after a restart with challenge.storage.path set.
+ *
+ * With challenge.bootstrap.async=true the load starts in the background once the application is ready,
+ * so requests are served while it runs. Progress is tracked by BootstrapStatus, and a SeedDataLoadedEvent
+ * is published when the load completes.
+ */
 @Component
 public class DataBootstrap {
-    private static final String DATASTORE_LOCATION = "/static/employee_database.json";
+    private static final Logger LOG = LoggerFactory.getLogger(DataBootstrap.class);
+
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    // Marks the end of the batches for one writer thread
+    private static final List<Employee> END_OF_BATCHES = Collections.emptyList();
 
     @Autowired
     private EmployeeRepository employeeRepository;
@@ -20,20 +76,353 @@ public class DataBootstrap {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private BootstrapStatus bootstrapStatus;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OrgSnapshotService orgSnapshotService;
+
+    @Value("${challenge.bootstrap.async:false}")
+    private boolean async;
+
+    @Value("${challenge.bootstrap.location:classpath:/static/employee_database.json}")
+    private Resource location;
+
+    @Value("${challenge.bootstrap.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${challenge.bootstrap.writer-threads:2}")
+    private int writerThreads;
+
+    @Value("${challenge.bootstrap.queue-capacity:4}")
+    private int queueCapacity;
+
     @PostConstruct
     public void init() {
-        InputStream inputStream = this.getClass().getResourceAsStream(DATASTORE_LOCATION);
+        if (async) {
+            LOG.info("Seed employees will be loaded in the background from {}", location);
+            return;
+        }
 
-        Employee[] employees = null;
+        loadSeedData();
+        bootstrapStatus.markLoaded();
+    }
+
+    /**
+     * Starts the background load in async mode. Waiting for the application to be ready guarantees
+     * that every listener of the SeedDataLoadedEvent is registered before the load can complete.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!async) {
+            return;
+        }
+
+        Thread loader = new Thread(this::loadInBackground, "bootstrap-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
 
+    private void loadInBackground() {
         try {
-            employees = objectMapper.readValue(inputStream, Employee[].class);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            long inserted = loadSeedData();
+
+            // State built from the partially loaded repository is rebuilt before waiting lookups are released
+            eventPublisher.publishEvent(new SeedDataLoadedEvent(this, inserted));
+            bootstrapStatus.markLoaded();
+        } catch (RuntimeException e) {
+            LOG.error("Loading seed employees failed", e);
+            bootstrapStatus.markFailed();
+        }
+    }
+
+    /**
+     * Loads the snapshot, or the seed file followed by the ancestor backfill, into an empty repository.
+     *
+     * @return The number of inserted employees
+     */
+    private long loadSeedData() {
+        // A file-backed store recovers its data on restart, so the seed would duplicate it
+        long stored = employeeRepository.count();
+        if (stored > 0) {
+            LOG.info("Storage already holds {} employees, skipping the seed load", stored);
+            return 0;
+        }
+
+        Optional<Path> snapshot = orgSnapshotService.existingSnapshot();
+        LOG.info("Loading seed employees from {} (batch size: {}, writer threads: {})",
+            snapshot.isPresent() ? snapshot.get() : location, batchSize, writerThreads);
+
+        long startTime = System.currentTimeMillis();
+        long inserted;
+
+        if (snapshot.isPresent()) {
+            try (OrgSnapshot orgSnapshot = OrgSnapshot.open(snapshot.get())) {
+                int[] next = {0};
+                inserted = load(() -> next[0] < orgSnapshot.size() ? orgSnapshot.employeeAt(next[0]++) : null,
+                    null, startTime);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        } else {
+            Map<String, String> managerById = new HashMap<>();
+            try (InputStream inputStream = location.getInputStream();
+                    EmployeeSeedReader reader = new EmployeeSeedReader(objectMapper, inputStream)) {
+                inserted = load(reader::next, managerById, startTime);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            assignAncestors(managerById);
+        }
+
+        long elapsed = Math.max(System.currentTimeMillis() - startTime, 1);
+        LOG.info("Loaded {} seed employees in {} ms ({} employees/s)",
+            inserted, elapsed, inserted * 1000 / elapsed);
+        return inserted;
+    }
+
+    /**
+     * Reads employees on the calling thread and inserts them on the writer threads.
+     *
+     * @param source The seed file or snapshot to read employees from
+     * @param managerById Collects the manager of every listed direct report, the first manager listing it wins.
+     *                    Null when the source already holds the ancestors
+     * @param startTime The start of the load, for throughput reporting
+     * @return The number of inserted employees
+     * @throws IOException if the source cannot be read
+     */
+    private long load(EmployeeSource source, Map<String, String> managerById, long startTime) throws IOException {
+        BlockingQueue<List<Employee>> batches = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicLong inserted = new AtomicLong();
+        AtomicReference<RuntimeException> writeFailure = new AtomicReference<>();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService writers = Executors.newFixedThreadPool(writerThreads,
+            runnable -> new Thread(runnable, "bootstrap-writer-" + threadNumber.incrementAndGet()));
+        for (int i = 0; i < writerThreads; i++) {
+            writers.execute(() -> write(batches, inserted, writeFailure, startTime));
+        }
+
+        long parsed = 0;
+        try {
+            List<Employee> batch = new ArrayList<>(batchSize);
+            for (Employee employee = source.next(); employee != null; employee = source.next()) {
+                if (writeFailure.get() != null) {
+                    // The load has failed, stop reading instead of queueing batches nobody writes
+                    break;
+                }
+                if (managerById != null) {
+                    collectManager(employee, managerById);
+
+                    // Top-level until the backfill finds a manager
+                    employee.setAncestors(new ArrayList<>());
+                    employee.setDepth(0);
+                }
+
+                batch.add(employee);
+                parsed++;
+                if (batch.size() == batchSize) {
+                    put(batches, batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                put(batches, batch);
+            }
+        } finally {
+            for (int i = 0; i < writerThreads; i++) {
+                put(batches, END_OF_BATCHES);
+            }
+            awaitWriters(writers);
+        }
+
+        if (writeFailure.get() != null) {
+            throw writeFailure.get();
+        }
+        if (inserted.get() < parsed) {
+            LOG.warn("{} of {} seed employees could not be inserted", parsed - inserted.get(), parsed);
+        }
+        return inserted.get();
+    }
+
+    /**
+     * Supplies the employees to load one at a time.
+     */
+    @FunctionalInterface
+    private interface EmployeeSource {
+        /**
+         * Reads the next employee.
+         *
+         * @return The employee, or null when every employee was read
+         * @throws IOException if the source cannot be read
+         */
+        Employee next() throws IOException;
+    }
+
+    /**
+     * Inserts batches from the queue until the end marker. After a failure the remaining batches
+     * are drained without writing, so the parser never blocks on a full queue.
+     *
+     * @param batches The batches handed over by the parser
+     * @param inserted Counts the inserted employees across writer threads
+     * @param writeFailure Holds the first failed write
+     * @param startTime The start of the load, for throughput reporting
+     */
+    private void write(BlockingQueue<List<Employee>> batches, AtomicLong inserted,
+            AtomicReference<RuntimeException> writeFailure, long startTime) {
+        while (true) {
+            List<Employee> batch;
+            try {
+                batch = batches.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch == END_OF_BATCHES) {
+                return;
+            }
+            if (writeFailure.get() != null) {
+                continue;
+            }
+
+            try {
+                Map<Integer, String> failures = employeeRepository.insertUnordered(batch);
+                failures.values().forEach(error -> LOG.warn("Seed employee not inserted: {}", error));
+
+                int added = batch.size() - failures.size();
+                long before = inserted.getAndAdd(added);
+                bootstrapStatus.addLoaded(added);
+                logProgress(before, before + added, startTime);
+            } catch (RuntimeException e) {
+                writeFailure.compareAndSet(null, e);
+            }
+        }
+    }
+
+    private void logProgress(long before, long after, long startTime) {
+        if (before / PROGRESS_INTERVAL != after / PROGRESS_INTERVAL) {
+            long elapsed = Math.max(System.currentTimeMillis() - startTime, 1);
+            LOG.info("Loaded {} seed employees ({} employees/s)", after, after * 1000 / elapsed);
+        }
+    }
+
+    private static void put(BlockingQueue<List<Employee>> batches, List<Employee> batch) {
+        try {
+            batches.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading seed employees", e);
+        }
+    }
+
+    private static void awaitWriters(ExecutorService writers) {
+        writers.shutdown();
+        try {
+            writers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            writers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records the employee as the manager of each of its direct reports, unless another manager listed them first.
+     *
+     * @param employee The parsed employee
+     * @param managerById The managers collected so far, keyed by report ID
+     */
+    private static void collectManager(Employee employee, Map<String, String> managerById) {
+        if (employee.getDirectReports() == null) {
+            return;
+        }
+        for (Employee report : employee.getDirectReports()) {
+            if (report.getEmployeeId() != null) {
+                managerById.putIfAbsent(report.getEmployeeId(), employee.getEmployeeId());
+            }
+        }
+    }
+
+    /**
+     * Backfills the materialized ancestors and depth of every employee that has a manager.
+     * The first manager listing an employee wins, and an employee never becomes its own ancestor.
+     * The chain of every manager is memoized, so each employee's ancestors are its manager's plus
+     * the manager, and the pass is linear in the total length of the chains.
+     *
+     * @param managerById The manager of every listed direct report, keyed by report ID
+     */
+    private void assignAncestors(Map<String, String> managerById) {
+        Set<String> managerIds = new HashSet<>(managerById.values());
+        Map<String, List<String>> chainByManager = new HashMap<>();
+        Map<String, List<String>> batch = new LinkedHashMap<>();
+
+        for (String employeeId : managerById.keySet()) {
+            batch.put(employeeId, ancestorsOf(employeeId, managerById, managerIds, chainByManager));
+            if (batch.size() == batchSize) {
+                employeeRepository.updatePaths(batch);
+                batch.clear();
+            }
+        }
+
+        employeeRepository.updatePaths(batch);
+    }
+
+    /**
+     * Resolves the ancestors of an employee, top-level manager first, memoizing the chain of
+     * every manager on the way up.
+     *
+     * @param employeeId The ID of the employee
+     * @param managerById The manager of every listed direct report, keyed by report ID
+     * @param managerIds The IDs of every employee that manages someone, the only chains worth keeping
+     * @param chainByManager The ancestors resolved so far, keyed by manager ID
+     * @return The ancestors of the employee
+     */
+    private static List<String> ancestorsOf(String employeeId, Map<String, String> managerById,
+            Set<String> managerIds, Map<String, List<String>> chainByManager) {
+        // Walk up to a manager whose chain is known, the top of the hierarchy or a loop
+        List<String> path = new ArrayList<>();
+        Set<String> onPath = new HashSet<>();
+        String current = employeeId;
+        while (current != null && !chainByManager.containsKey(current) && onPath.add(current)) {
+            path.add(current);
+            current = managerById.get(current);
+        }
+
+        List<String> ancestors = null;
+        int unresolved = path.size();
+        if (current != null && !chainByManager.containsKey(current)) {
+            // Everyone in a reporting loop gets the rest of the loop, starting after themselves
+            int loopStart = path.indexOf(current);
+            List<String> loop = path.subList(loopStart, path.size());
+            for (int i = 0; i < loop.size(); i++) {
+                List<String> chain = new ArrayList<>(loop.size() - 1);
+                for (int j = loop.size() - 1; j > 0; j--) {
+                    chain.add(loop.get((i + j) % loop.size()));
+                }
+                chainByManager.put(loop.get(i), chain);
+            }
+            ancestors = loopStart == 0 ? chainByManager.get(employeeId) : null;
+            unresolved = loopStart;
         }
 
-        for (Employee employee : employees) {
-            employeeRepository.insert(employee);
+        // Resolve the rest of the path downwards, each chain extends its manager's
+        for (int i = unresolved - 1; i >= 0; i--) {
+            String id = path.get(i);
+            String managerId = managerById.get(id);
+            List<String> managerChain = managerId != null ? chainByManager.get(managerId) : List.of();
+            List<String> chain = new ArrayList<>(managerChain.size() + 1);
+            chain.addAll(managerChain);
+            if (managerId != null) {
+                chain.add(managerId);
+            }
+            if (managerIds.contains(id)) {
+                chainByManager.put(id, chain);
+            }
+            ancestors = chain;
         }
+        return ancestors != null ? ancestors : chainByManager.get(employeeId);
     }
 }
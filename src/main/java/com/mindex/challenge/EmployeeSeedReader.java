@@ -0,0 +1,85 @@
+package com.mindex.challenge;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindex.challenge.data.Employee;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads employees one at a time from a seed file, without holding the file in memory.
+ *
+ * Supported layouts:
+ * - A JSON array of employees, like the bundled employee_database.json
+ * - NDJSON, one employee object per line (any whitespace separated sequence of objects)
+ * - Either of the above compressed with gzip, detected from the magic bytes
+ */
+class EmployeeSeedReader implements Closeable {
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private JsonToken token;
+    private boolean array;
+
+    /**
+     * Opens a reader over a seed file.
+     *
+     * @param objectMapper The object mapper to bind employees with
+     * @param inputStream The raw seed file, plain or gzip compressed
+     * @throws IOException if the stream cannot be read
+     */
+    EmployeeSeedReader(ObjectMapper objectMapper, InputStream inputStream) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.createParser(decompressed(inputStream));
+
+        token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            array = true;
+            token = parser.nextToken();
+        }
+    }
+
+    /**
+     * Reads the next employee.
+     *
+     * @return The employee, or null at the end of the file
+     * @throws IOException if the file is not a JSON array or sequence of employee objects
+     */
+    Employee next() throws IOException {
+        if (token == null || (array && token == JsonToken.END_ARRAY)) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected an employee object but found " + token
+                + " at " + parser.currentLocation());
+        }
+
+        Employee employee = objectMapper.readValue(parser, Employee.class);
+        token = parser.nextToken();
+        return employee;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private static InputStream decompressed(InputStream inputStream) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+
+        return first == GZIP_MAGIC_FIRST && second == GZIP_MAGIC_SECOND
+            ? new GZIPInputStream(buffered)
+            : buffered;
+    }
+}
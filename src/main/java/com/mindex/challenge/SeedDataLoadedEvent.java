@@ -0,0 +1,31 @@
+package com.mindex.challenge;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by DataBootstrap when an asynchronous load of the seed employees completes,
+ * so that state built from a partially loaded repository can be rebuilt.
+ */
+public class SeedDataLoadedEvent extends ApplicationEvent {
+    private final long employeesLoaded;
+
+    /**
+     * Constructs a new SeedDataLoadedEvent.
+     *
+     * @param source The bootstrap that loaded the employees
+     * @param employeesLoaded The number of seed employees inserted
+     */
+    public SeedDataLoadedEvent(Object source, long employeesLoaded) {
+        super(source);
+        this.employeesLoaded = employeesLoaded;
+    }
+
+    /**
+     * Gets the number of seed employees inserted.
+     *
+     * @return The employee count
+     */
+    public long getEmployeesLoaded() {
+        return employeesLoaded;
+    }
+}
@@ -0,0 +1,260 @@
+package com.mindex.challenge.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mindex.challenge.SeedDataLoadedEvent;
+import com.mindex.challenge.concurrent.FanOutExecutor;
+import com.mindex.challenge.dao.EmployeeRepository;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.jfr.CacheMissEvent;
+import com.mindex.challenge.stats.RequestStats;
+
+/**
+ * Bounded read-through cache of stored employee records, in front of EmployeeRepository.
+ *
+ * Key Features:
+ * - Size-bounded with Caffeine's W-TinyLFU eviction
+ * - Batched misses are loaded with a single findAllByEmployeeIdIn query, large batches as parallel
+ *   chunked queries through the FanOutExecutor
+ * - Entries are invalidated by EmployeeServiceImpl whenever a record is written
+ * - Invalidations bump a striped write generation, so a batch load that read a record before
+ *   a concurrent write does not put the old record back into the cache
+ * - Hit, miss and eviction statistics are recorded and exported as cache meters
+ * - Hits and misses are also counted in the RequestStats of the current request
+ * - Every load of missing entries is recorded as a CacheMissEvent for Flight Recorder
+ * - Toggled with challenge.employee-cache.enabled, reads go straight to the repository when off
+ *
+ * Cached employees are shared between requests and must be treated as read-only.
+ */
+@Component
+public class EmployeeCache implements MeterBinder {
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeCache.class);
+    private static final String NAME = "employee";
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final EmployeeRepository employeeRepository;
+    private final FanOutExecutor fanOutExecutor;
+    private final boolean enabled;
+    private final Cache<String, Employee> cache;
+    private final AtomicLongArray writeGenerations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * Constructs a new EmployeeCache with required dependencies.
+     *
+     * @param employeeRepository The repository to read through to
+     * @param fanOutExecutor The executor of the chunked queries of large batches
+     * @param enabled Whether reads are cached at all
+     * @param maximumSize The maximum number of cached employees
+     */
+    @Autowired
+    public EmployeeCache(EmployeeRepository employeeRepository, FanOutExecutor fanOutExecutor,
+            @Value("${challenge.employee-cache.enabled:true}") boolean enabled,
+            @Value("${challenge.employee-cache.maximum-size:10000}") long maximumSize) {
+        this.employeeRepository = employeeRepository;
+        this.fanOutExecutor = fanOutExecutor;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build();
+
+        LOG.info("Employee cache {} (maximum size: {})", enabled ? "enabled" : "disabled", maximumSize);
+    }
+
+    /**
+     * Gets a single employee, loading it from the repository on a miss.
+     *
+     * @param employeeId The ID of the employee
+     * @return The employee, or null if it does not exist
+     */
+    public Employee get(String employeeId) {
+        RequestStats stats = RequestStats.current();
+        if (!enabled) {
+            stats.recordCacheLookups(1);
+            stats.recordCacheMisses(1);
+            return employeeRepository.findByEmployeeId(employeeId);
+        }
+        stats.recordCacheLookups(1);
+        return cache.get(employeeId, id -> {
+            stats.recordCacheMisses(1);
+            CacheMissEvent event = new CacheMissEvent(NAME, 1);
+            event.begin();
+            try {
+                return employeeRepository.findByEmployeeId(id);
+            } finally {
+                event.commit();
+            }
+        });
+    }
+
+    /**
+     * Gets several employees, loading all misses with a single query.
+     *
+     * @param employeeIds The IDs of the employees
+     * @return The employees found, keyed by ID. Missing IDs are left out
+     */
+    public Map<String, Employee> getAll(Collection<String> employeeIds) {
+        RequestStats stats = RequestStats.current();
+        if (!enabled) {
+            Set<String> distinctIds = Set.copyOf(employeeIds);
+            stats.recordCacheLookups(distinctIds.size());
+            stats.recordCacheMisses(distinctIds.size());
+            return loadAll(distinctIds);
+        }
+        stats.recordCacheLookups(employeeIds.size());
+        Map<String, Employee> found = new HashMap<>(cache.getAllPresent(employeeIds));
+        Set<String> missingIds = new HashSet<>(employeeIds);
+        missingIds.removeAll(found.keySet());
+        if (missingIds.isEmpty()) {
+            return found;
+        }
+
+        // Remember the write generations, a key written while the batch loads must not cache the old record
+        Map<String, Long> generations = new HashMap<>();
+        for (String employeeId : missingIds) {
+            generations.put(employeeId, writeGenerations.get(stripe(employeeId)));
+        }
+
+        stats.recordCacheMisses(missingIds.size());
+        CacheMissEvent event = new CacheMissEvent(NAME, missingIds.size());
+        event.begin();
+        Map<String, Employee> loaded;
+        try {
+            loaded = loadAll(missingIds);
+        } finally {
+            event.commit();
+        }
+
+        for (Map.Entry<String, Employee> entry : loaded.entrySet()) {
+            long generation = generations.get(entry.getKey());
+            // Checked under the entry's lock, so an invalidation either drops the record here or removes it after
+            cache.asMap().compute(entry.getKey(), (employeeId, cached) ->
+                writeGenerations.get(stripe(employeeId)) == generation ? entry.getValue() : cached);
+        }
+        found.putAll(loaded);
+        return found;
+    }
+
+    /**
+     * Removes an employee from the cache after its record was written.
+     *
+     * @param employeeId The ID of the employee
+     */
+    public void invalidate(String employeeId) {
+        writeGenerations.incrementAndGet(stripe(employeeId));
+        cache.invalidate(employeeId);
+    }
+
+    /**
+     * Removes several employees from the cache after their records were written.
+     *
+     * @param employeeIds The IDs of the employees
+     */
+    public void invalidateAll(Collection<String> employeeIds) {
+        for (String employeeId : employeeIds) {
+            writeGenerations.incrementAndGet(stripe(employeeId));
+        }
+        cache.invalidateAll(employeeIds);
+    }
+
+    /**
+     * Drops the employees cached while an asynchronous seed data load was still running.
+     *
+     * @param event The completed load
+     */
+    @EventListener
+    public void onSeedDataLoaded(SeedDataLoadedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Removes every employee from the cache.
+     */
+    public void invalidateAll() {
+        for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+            writeGenerations.incrementAndGet(stripe);
+        }
+        cache.invalidateAll();
+    }
+
+    /**
+     * Checks whether reads are cached.
+     *
+     * @return true if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the approximate number of cached employees.
+     *
+     * @return The estimated size
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Registers the size, hit, miss and eviction meters of the cache, tagged cache=employee,
+     * and a gauge of its hit ratio.
+     *
+     * @param registry The registry to register the meters with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+            .tag("cache", NAME)
+            .description("Fraction of cache lookups that were hits")
+            .register(registry);
+    }
+
+    /**
+     * Gets a snapshot of the hit, miss and eviction statistics.
+     *
+     * @return The cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static int stripe(String employeeId) {
+        int hash = employeeId.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private Map<String, Employee> loadAll(Set<? extends String> employeeIds) {
+        Map<String, Employee> found = new HashMap<>();
+        List<List<Employee>> chunks = fanOutExecutor.mapChunks(new ArrayList<String>(employeeIds),
+            employeeRepository::findAllByEmployeeIdIn);
+        for (List<Employee> chunk : chunks) {
+            for (Employee employee : chunk) {
+                found.put(employee.getEmployeeId(), employee);
+            }
+        }
+        return found;
+    }
+}
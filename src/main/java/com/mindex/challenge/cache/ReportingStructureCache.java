@@ -0,0 +1,209 @@
+package com.mindex.challenge.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mindex.challenge.SeedDataLoadedEvent;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.data.ReportingStructure;
+import com.mindex.challenge.graph.OrgGraph;
+import com.mindex.challenge.jfr.CacheMissEvent;
+import com.mindex.challenge.stats.RequestStats;
+
+/**
+ * Bounded cache of fully built reporting structures, keyed by employee ID.
+ *
+ * Key Features:
+ * - Repeat requests for the same structure skip the traversal entirely
+ * - A write only invalidates the structures of the written employee and its management chain,
+ *   entries for unrelated subtrees are kept
+ * - The management chain is read from the OrgGraph, or from the materialized ancestors when the graph is disabled
+ * - Hit, miss and eviction statistics are exported as cache meters
+ * - Every build on a miss is recorded as a CacheMissEvent for Flight Recorder
+ * - Toggled with challenge.reporting-structure-cache.enabled, structures are always rebuilt when off
+ *
+ * Cached structures are shared between requests and must be treated as read-only.
+ */
+@Component
+public class ReportingStructureCache implements MeterBinder {
+    private static final Logger LOG = LoggerFactory.getLogger(ReportingStructureCache.class);
+    private static final String NAME = "reporting-structure";
+
+    private final EmployeeCache employeeCache;
+    private final OrgGraph orgGraph;
+    private final boolean enabled;
+    private final Cache<String, ReportingStructure> cache;
+
+    /**
+     * Constructs a new ReportingStructureCache with required dependencies.
+     *
+     * @param employeeCache The employee cache to read materialized ancestors from when the graph is disabled
+     * @param orgGraph The org graph to read management chains from, absent when disabled
+     * @param enabled Whether structures are cached at all
+     * @param maximumSize The maximum number of cached structures
+     */
+    @Autowired
+    public ReportingStructureCache(EmployeeCache employeeCache, Optional<OrgGraph> orgGraph,
+            @Value("${challenge.reporting-structure-cache.enabled:true}") boolean enabled,
+            @Value("${challenge.reporting-structure-cache.maximum-size:1000}") long maximumSize) {
+        this.employeeCache = employeeCache;
+        this.orgGraph = orgGraph.orElse(null);
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build();
+
+        LOG.info("Reporting structure cache {} (maximum size: {})", enabled ? "enabled" : "disabled", maximumSize);
+    }
+
+    /**
+     * Gets the reporting structure of an employee, building it on a miss.
+     * Exceptions thrown by the builder are propagated and nothing is cached.
+     *
+     * @param employeeId The ID of the employee
+     * @param builder Builds the structure of the given employee ID
+     * @return The reporting structure
+     * @implNote The builder runs atomically for its key, so an invalidation issued after a write
+     *           waits for an in-flight build of the same structure and then removes it
+     */
+    public ReportingStructure get(String employeeId, Function<String, ReportingStructure> builder) {
+        RequestStats stats = RequestStats.current();
+        if (!enabled) {
+            stats.recordCacheLookups(1);
+            stats.recordCacheMisses(1);
+            return builder.apply(employeeId);
+        }
+        stats.recordCacheLookups(1);
+        return cache.get(employeeId, id -> {
+            stats.recordCacheMisses(1);
+            CacheMissEvent event = new CacheMissEvent(NAME, 1);
+            event.begin();
+            try {
+                return builder.apply(id);
+            } finally {
+                event.commit();
+            }
+        });
+    }
+
+    /**
+     * Gets an employee together with every manager above it. These are the structures
+     * that contain the employee and must be invalidated when it is written.
+     *
+     * @param employeeId The ID of the employee
+     * @return The employee ID followed by its managers, closest manager first
+     */
+    public Set<String> managementChain(String employeeId) {
+        Set<String> chain = new LinkedHashSet<>();
+        chain.add(employeeId);
+
+        if (orgGraph != null) {
+            orgGraph.withReadLock(() -> {
+                int index = orgGraph.indexOf(employeeId);
+                while (index != OrgGraph.NO_NODE) {
+                    chain.add(orgGraph.idAt(index));
+                    index = orgGraph.parentOf(index);
+                }
+                return null;
+            });
+            return chain;
+        }
+
+        Employee employee = employeeCache.get(employeeId);
+        if (employee != null && employee.getAncestors() != null) {
+            // Ancestors are stored top-level manager first
+            for (int i = employee.getAncestors().size() - 1; i >= 0; i--) {
+                chain.add(employee.getAncestors().get(i));
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * Removes the structures of several employees after a write changed them.
+     *
+     * @param employeeIds The IDs of the employees
+     */
+    public void invalidateAll(Collection<String> employeeIds) {
+        LOG.debug("Invalidating reporting structures: {}", employeeIds);
+        cache.invalidateAll(employeeIds);
+    }
+
+    /**
+     * Drops the structures cached while an asynchronous seed data load was still running.
+     *
+     * @param event The completed load
+     */
+    @EventListener
+    public void onSeedDataLoaded(SeedDataLoadedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Removes every structure from the cache.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Checks whether structures are cached.
+     *
+     * @return true if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the approximate number of cached structures.
+     *
+     * @return The estimated size
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Registers the size, hit, miss and eviction meters of the cache, tagged cache=reporting-structure,
+     * and a gauge of its hit ratio.
+     *
+     * @param registry The registry to register the meters with
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+            .tag("cache", NAME)
+            .description("Fraction of cache lookups that were hits")
+            .register(registry);
+    }
+
+    /**
+     * Gets a snapshot of the hit, miss and eviction statistics.
+     *
+     * @return The cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
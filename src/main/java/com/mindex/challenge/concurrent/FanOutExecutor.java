@@ -0,0 +1,149 @@
+package com.mindex.challenge.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Splits large batches of work into chunks and processes them in parallel on a dedicated executor.
+ *
+ * Key Features:
+ * - Batches up to challenge.fan-out.parallel-threshold items run on the calling thread, with no coordination cost
+ * - Larger batches are split into chunks of challenge.fan-out.chunk-size items
+ * - At most challenge.fan-out.max-concurrency chunks of one batch run at a time, the calling thread being one of them,
+ *   so a single request cannot take over the executor
+ * - Results are returned in chunk order, whatever order the chunks complete in
+ * - The executor has challenge.fan-out.threads platform threads, or starts a virtual thread per task
+ *   when spring.threads.virtual.enabled is set
+ * - Workers run with the request attributes of the caller, so per-request state such as RequestStats is shared
+ */
+@Component
+public class FanOutExecutor implements DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(FanOutExecutor.class);
+
+    private final ExecutorService executor;
+    private final int parallelThreshold;
+    private final int chunkSize;
+    private final int maxConcurrency;
+
+    /**
+     * Constructs a new FanOutExecutor.
+     *
+     * @param parallelThreshold The largest batch processed on the calling thread alone
+     * @param chunkSize The number of items per chunk of a parallel batch
+     * @param maxConcurrency The maximum number of chunks of one batch processed at a time
+     * @param threads The number of platform threads of the executor
+     * @param virtualThreads Whether tasks run on virtual threads instead
+     */
+    public FanOutExecutor(@Value("${challenge.fan-out.parallel-threshold:200}") int parallelThreshold,
+            @Value("${challenge.fan-out.chunk-size:100}") int chunkSize,
+            @Value("${challenge.fan-out.max-concurrency:4}") int maxConcurrency,
+            @Value("${challenge.fan-out.threads:8}") int threads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (chunkSize < 1 || maxConcurrency < 1 || threads < 1) {
+            throw new IllegalArgumentException("Fan-out chunk size, concurrency and threads must be at least 1");
+        }
+        this.parallelThreshold = parallelThreshold;
+        this.chunkSize = chunkSize;
+        this.maxConcurrency = maxConcurrency;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = virtualThreads
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fan-out-", 1).factory())
+            : Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "fan-out-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        LOG.info("Fan-out above {} items in chunks of {}, {} at a time per batch, on {}",
+            parallelThreshold, chunkSize, maxConcurrency, virtualThreads ? "virtual threads" : threads + " threads");
+    }
+
+    /**
+     * Applies a function to a batch of items, in chunks processed in parallel if the batch is larger than the threshold.
+     *
+     * @param items The items to process
+     * @param function Processes one chunk of items. Must be safe to call from several threads at once
+     * @param <T> The item type
+     * @param <R> The result type of a chunk
+     * @return The result of every chunk, in the order of the items. A single result if the batch was not split
+     * @throws RuntimeException the first exception thrown by the function, the other chunks are cancelled
+     */
+    public <T, R> List<R> mapChunks(List<T> items, Function<List<T>, R> function) {
+        if (items.size() <= parallelThreshold) {
+            return List.of(function.apply(items));
+        }
+
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            chunks.add(items.subList(start, Math.min(start + chunkSize, items.size())));
+        }
+
+        // Workers take the next unprocessed chunk until none are left, the calling thread is one of them
+        List<R> results = new ArrayList<>(chunks.size());
+        chunks.forEach(chunk -> results.add(null));
+        AtomicInteger next = new AtomicInteger();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < chunks.size(); i = next.getAndIncrement()) {
+                results.set(i, function.apply(chunks.get(i)));
+            }
+        };
+
+        int workers = Math.min(maxConcurrency, chunks.size());
+        List<Future<?>> futures = new ArrayList<>(workers - 1);
+        for (int w = 1; w < workers; w++) {
+            futures.add(executor.submit(() -> runWithRequestAttributes(requestAttributes, worker)));
+        }
+
+        try {
+            worker.run();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for parallel chunks", e);
+        }
+        return results;
+    }
+
+    private static void runWithRequestAttributes(RequestAttributes requestAttributes, Runnable task) {
+        if (requestAttributes == null) {
+            task.run();
+            return;
+        }
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            task.run();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,35 @@
+package com.mindex.challenge.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.mindex.challenge.dao.CompensationRepository;
+import com.mindex.challenge.dao.EmployeeRepository;
+import com.mindex.challenge.dao.embedded.EmbeddedCompensationRepository;
+import com.mindex.challenge.dao.embedded.EmbeddedEmployeeRepository;
+
+/**
+ * Configuration of the embedded profile, which keeps the employees and compensations in an in-process store
+ * instead of the embedded MongoDB server. Repository calls are plain method calls, with no BSON encoding and
+ * no loopback socket. Activated with spring.profiles.active=embedded, see application-embedded.properties.
+ *
+ * The stores are instrumented by EmbeddedRepositoryPostProcessor, with the same metrics, Server-Timing round trips
+ * and RepositoryCallEvents as the Spring Data repositories.
+ *
+ * Data is lost on shutdown, like with the MemoryBackend of MongoConfig. Not available with the reactive profile.
+ */
+@Configuration
+@Profile("embedded")
+public class EmbeddedStorageConfig {
+
+    @Bean
+    public EmployeeRepository employeeRepository() {
+        return new EmbeddedEmployeeRepository();
+    }
+
+    @Bean
+    public CompensationRepository compensationRepository() {
+        return new EmbeddedCompensationRepository();
+    }
+}
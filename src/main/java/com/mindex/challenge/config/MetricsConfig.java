@@ -0,0 +1,50 @@
+package com.mindex.challenge.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+/**
+ * Micrometer configuration.
+ *
+ * Meters:
+ * - http.server.requests: tagged with the handling controller method, e.g. handler=EmployeeController.read
+ * - spring.data.repository.invocations: one timer per repository method, registered by Spring Boot
+ * - cache.*: size, hits, misses, evictions and hit ratio, registered by EmployeeCache and ReportingStructureCache
+ * - reporting.structure.nodes: employees visited per reporting structure, registered by ReportingStructureServiceImpl
+ */
+@Configuration
+public class MetricsConfig {
+    private static final String NO_HANDLER = "none";
+
+    /**
+     * Adds the controller method to the tags of the request timers.
+     *
+     * @return The observation convention of server requests
+     */
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return KeyValue.of("handler",
+                handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        }
+        return KeyValue.of("handler", NO_HANDLER);
+    }
+}
@@ -3,18 +3,48 @@ package com.mindex.challenge.config;
 import com.mindex.challenge.dao.EmployeeRepository;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoBackend;
 import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.h2.H2Backend;
 import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 import org.springframework.lang.NonNull;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 
 @EnableMongoRepositories(basePackageClasses = EmployeeRepository.class)
 @Configuration
+@Profile("!embedded")
 public class MongoConfig extends AbstractMongoClientConfiguration {
+    private static final Logger LOG = LoggerFactory.getLogger(MongoConfig.class);
+
+    private final String storagePath;
+    private final Duration commitInterval;
+
+    /**
+     * Constructs a new MongoConfig.
+     *
+     * @param storagePath The file the embedded server stores its data in, blank to keep it in memory
+     * @param commitInterval How often changes are committed to the storage file
+     */
+    public MongoConfig(@Value("${challenge.storage.path:}") String storagePath,
+            @Value("${challenge.storage.commit-interval:1s}") Duration commitInterval) {
+        this.storagePath = storagePath;
+        this.commitInterval = commitInterval;
+    }
 
     @Override
     @NonNull
@@ -22,14 +52,68 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
         return "test";
     }
 
+    /**
+     * Starts the embedded MongoDB server both clients connect to.
+     *
+     * @return The running server
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public MongoServer mongoServer() {
+        MongoServer server = new MongoServer(backend());
+        server.bind();
+        return server;
+    }
+
+    /**
+     * Creates the storage of the embedded server: in memory, or in an H2 MVStore file when
+     * challenge.storage.path is set. The MVStore appends changes to the file, commits them every
+     * commit interval and compacts the file in the background. Shutting the server down closes the store,
+     * which commits the last changes.
+     *
+     * @return The backend
+     */
+    private MongoBackend backend() {
+        if (storagePath.isBlank()) {
+            return new MemoryBackend();
+        }
+
+        Path file = Path.of(storagePath).toAbsolutePath();
+        try {
+            Files.createDirectories(file.getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the storage directory of " + file, e);
+        }
+
+        LOG.info("Storing data in {} ({}), committed every {} ms",
+            file, Files.exists(file) ? "existing" : "new", commitInterval.toMillis());
+        MVStore store = new MVStore.Builder()
+            .fileName(file.toString())
+            .autoCommitDelay((int) commitInterval.toMillis())
+            .open();
+        return new H2Backend(store);
+    }
+
     @Override
     @NonNull
     public MongoClient mongoClient() {
-        MongoServer server = new MongoServer(new MemoryBackend());
-        InetSocketAddress serverAddress = server.bind();
-        String mongoConnectionString = String.format("mongodb://%s:%d", serverAddress.getHostName(), serverAddress.getPort());
-        return MongoClients.create(mongoConnectionString);
+        return MongoClients.create(connectionString());
     }
-}
 
+    /**
+     * Reactive client of the embedded server, only created by the reactive profile. Spring Boot configures
+     * the ReactiveMongoTemplate on it, with the same default database name. The reactive auto-configuration
+     * is excluded in the other profiles, see application.properties.
+     *
+     * @return The reactive client
+     */
+    @Bean
+    @Profile("reactive")
+    public com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient() {
+        return com.mongodb.reactivestreams.client.MongoClients.create(connectionString());
+    }
 
+    private String connectionString() {
+        InetSocketAddress serverAddress = mongoServer().getLocalAddress();
+        return String.format("mongodb://%s:%d", serverAddress.getHostName(), serverAddress.getPort());
+    }
+}
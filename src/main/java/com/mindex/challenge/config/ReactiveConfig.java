@@ -0,0 +1,18 @@
+package com.mindex.challenge.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+import com.mindex.challenge.dao.reactive.ReactiveEmployeeRepository;
+
+/**
+ * Configuration of the reactive profile, which serves the employee and compensation APIs with WebFlux
+ * and reactive repositories instead of Spring MVC. Activated with spring.profiles.active=reactive,
+ * see application-reactive.properties.
+ */
+@Configuration
+@Profile("reactive")
+@EnableReactiveMongoRepositories(basePackageClasses = ReactiveEmployeeRepository.class)
+public class ReactiveConfig {
+}
@@ -0,0 +1,47 @@
+package com.mindex.challenge.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mindex.challenge.BootstrapStatus;
+
+/**
+ * REST controller exposing the progress of the seed data load.
+ *
+ * Endpoints:
+ * - GET /bootstrap - Load state, loaded employee count, time to ready and time to fully loaded
+ */
+@RestController
+public class BootstrapController {
+    private final BootstrapStatus bootstrapStatus;
+
+    /**
+     * Constructs a new BootstrapController with required dependencies.
+     *
+     * @param bootstrapStatus The progress of the seed data load
+     */
+    @Autowired
+    public BootstrapController(BootstrapStatus bootstrapStatus) {
+        this.bootstrapStatus = bootstrapStatus;
+    }
+
+    /**
+     * Gets the progress of the seed data load.
+     *
+     * @return The state (LOADING, LOADED or FAILED), the number of employees loaded so far, and the milliseconds
+     *         from JVM start until requests were served and until the load completed (-1 if not yet)
+     */
+    @GetMapping("/bootstrap")
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", bootstrapStatus.getState());
+        status.put("employeesLoaded", bootstrapStatus.getEmployeesLoaded());
+        status.put("timeToReadyMs", bootstrapStatus.getTimeToReady());
+        status.put("timeToLoadedMs", bootstrapStatus.getTimeToLoaded());
+        return status;
+    }
+}
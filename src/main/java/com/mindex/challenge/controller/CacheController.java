@@ -0,0 +1,79 @@
+package com.mindex.challenge.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mindex.challenge.cache.EmployeeCache;
+import com.mindex.challenge.cache.ReportingStructureCache;
+
+/**
+ * REST controller exposing cache statistics.
+ *
+ * Endpoints:
+ * - GET /cache/employee - Employee read-through cache statistics
+ * - GET /cache/reporting-structure - Reporting structure cache statistics
+ */
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+    private final EmployeeCache employeeCache;
+    private final ReportingStructureCache reportingStructureCache;
+
+    /**
+     * Constructs a new CacheController with required dependencies.
+     *
+     * @param employeeCache The employee read-through cache
+     * @param reportingStructureCache The reporting structure cache
+     */
+    @Autowired
+    public CacheController(EmployeeCache employeeCache, ReportingStructureCache reportingStructureCache) {
+        this.employeeCache = employeeCache;
+        this.reportingStructureCache = reportingStructureCache;
+    }
+
+    /**
+     * Gets the statistics of the employee read-through cache.
+     *
+     * @return The enabled flag, size, hit, miss and eviction counts of the cache
+     */
+    @GetMapping("/employee")
+    public Map<String, Object> employeeCacheStats() {
+        return describe(employeeCache.isEnabled(), employeeCache.size(), employeeCache.stats());
+    }
+
+    /**
+     * Gets the statistics of the reporting structure cache.
+     *
+     * @return The enabled flag, size, hit, miss and eviction counts of the cache
+     */
+    @GetMapping("/reporting-structure")
+    public Map<String, Object> reportingStructureCacheStats() {
+        return describe(reportingStructureCache.isEnabled(), reportingStructureCache.size(),
+            reportingStructureCache.stats());
+    }
+
+    /**
+     * Flattens cache statistics into a JSON friendly map.
+     *
+     * @param enabled Whether the cache is enabled
+     * @param size The estimated number of entries
+     * @param stats The cache statistics
+     * @return The statistics keyed by name
+     */
+    private static Map<String, Object> describe(boolean enabled, long size, CacheStats stats) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("enabled", enabled);
+        description.put("size", size);
+        description.put("hitCount", stats.hitCount());
+        description.put("missCount", stats.missCount());
+        description.put("hitRate", stats.hitRate());
+        description.put("evictionCount", stats.evictionCount());
+        return description;
+    }
+}
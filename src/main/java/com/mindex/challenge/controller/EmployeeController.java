@@ -1,21 +1,33 @@
 package com.mindex.challenge.controller;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.data.EmployeeBatchResult;
+import com.mindex.challenge.data.EmployeeLookupResult;
 import com.mindex.challenge.data.ReportingStructure;
 import com.mindex.challenge.exception.EmployeeNotFoundException;
+import com.mindex.challenge.exception.InvalidEmployeeRequestException;
 import com.mindex.challenge.service.EmployeeService;
+import com.mindex.challenge.service.ReportingStructureFormat;
 import com.mindex.challenge.service.ReportingStructureService;
+import com.mindex.challenge.service.ReportingStructureWriter;
 
 /**
  * REST controller for employee-related operations.
@@ -23,6 +35,7 @@ import com.mindex.challenge.service.ReportingStructureService;
  */
 @RestController
 @RequestMapping("/employee")
+@Profile("!reactive")
 public class EmployeeController {
     private static final Logger LOG = LoggerFactory.getLogger(EmployeeController.class);
 
@@ -96,6 +109,33 @@ public class EmployeeController {
         return created;
     }
 
+    /**
+     * Creates many employees at once, e.g. from an HR feed.
+     * Each employee is validated like a single create; invalid employees are reported and the rest are created.
+     *
+     * @param requests Employee data to create
+     * @return One result per requested employee in request order, holding the created employee or the error
+     * @example POST /employee/batch with a JSON array of employees
+     */
+    @PostMapping("/batch")
+    public List<EmployeeBatchResult> createAll(@RequestBody List<Employee> requests) {
+        // LOG the request to create the employees
+        LOG.debug("Requesting to create {} employees", requests.size());
+
+        // Create the employees using the EmployeeService
+        List<EmployeeBatchResult> results = employeeService.createAll(requests);
+
+        // LOG how many employees were not created
+        long notCreated = results.stream()
+            .filter(result -> result.getStatus() != EmployeeBatchResult.Status.CREATED)
+            .count();
+        if (notCreated > 0) {
+            LOG.warn("{} of {} employees were not created", notCreated, results.size());
+        }
+
+        return results;
+    }
+
     /**
      * Gets an employee by ID.
      * 
@@ -121,6 +161,34 @@ public class EmployeeController {
         return employee;
     }
 
+    /**
+     * Gets many employees by ID, each with its direct reports resolved.
+     *
+     * @param ids IDs of the employees to get, comma separated or repeated
+     * @return One result per requested ID in request order, with not found markers for unknown IDs
+     * @example GET /employee?ids=16a596ae-edd3-4847-99fe-c4518e82c86f,03aa1462-ffa9-4978-901b-7c001562cf6f
+     */
+    @GetMapping("")
+    public List<EmployeeLookupResult> readAll(@RequestParam List<String> ids) {
+        // LOG request to fetch employees by ID
+        LOG.debug("Requesting {} employees", ids.size());
+
+        // Read the employees using the EmployeeService
+        return employeeService.readAll(ids);
+    }
+
+    /**
+     * Gets many employees by ID, for ID lists too long for a query string.
+     *
+     * @param ids IDs of the employees to get, as a JSON array
+     * @return One result per requested ID in request order, with not found markers for unknown IDs
+     * @example POST /employee/lookup with ["16a596ae-edd3-4847-99fe-c4518e82c86f"]
+     */
+    @PostMapping("/lookup")
+    public List<EmployeeLookupResult> lookup(@RequestBody List<String> ids) {
+        return readAll(ids);
+    }
+
     /**
      * Updates an existing employee.
      * 
@@ -152,20 +220,76 @@ public class EmployeeController {
      * Retrieves the complete reporting structure hierarchy for an employee.
      * 
      * @param id The ID of the employee to get the reporting structure for
-     * @return Fully populated reporting structure with all direct and indirect reports
+     * @param countOnly If true, only the employee and the number of reports are returned
+     * @param depth Optional number of levels below the employee to resolve
+     * @param maxNodes Optional maximum number of reports to resolve, the direct reports are always resolved
+     * @return Fully populated reporting structure with all direct and indirect reports. When limited, managers
+     *         whose reports were left out have empty direct reports and are listed in truncatedBranches
      * @throws EmployeeNotFoundException if no employee exists with the given ID
-     * @apiNote Consider this part of the employee resource, hence the URL structure
+     * @throws InvalidEmployeeRequestException if depth is negative or maxNodes is not positive
+     * @apiNote Consider this part of the employee resource, hence the URL structure.
+     *          A truncated branch is expanded by requesting the structure of its employee ID
      * @example GET /employee/16a596ae-edd3-4847-99fe-c4518e82c86f/reporting-structure
+     * @example GET /employee/16a596ae-edd3-4847-99fe-c4518e82c86f/reporting-structure?countOnly=true
+     * @example GET /employee/16a596ae-edd3-4847-99fe-c4518e82c86f/reporting-structure?depth=1
      */
     @GetMapping("/{id}/reporting-structure")
-    public ReportingStructure getReportingStructure(@PathVariable String id) throws EmployeeNotFoundException {
+    public ReportingStructure getReportingStructure(@PathVariable String id,
+            @RequestParam(defaultValue = "false") boolean countOnly,
+            @RequestParam(required = false) Integer depth,
+            @RequestParam(required = false) Integer maxNodes) throws EmployeeNotFoundException {
+        // Count-only requests skip resolving the hierarchy entirely
+        if (countOnly) {
+            return reportingStructureService.getReportCount(id);
+        }
+
+        if (depth != null && depth < 0) {
+            throw new InvalidEmployeeRequestException("depth cannot be negative");
+        }
+        if (maxNodes != null && maxNodes < 1) {
+            throw new InvalidEmployeeRequestException("maxNodes must be at least 1");
+        }
+
         // LOG the request to get the reporting structure
         LOG.debug("Initiating reporting structure generation for employee ID: {}", id);
 
         // Generate the reporting structure using the ReportingStructureService
-        ReportingStructure structure = reportingStructureService.getReportingStructure(id);
+        ReportingStructure structure = reportingStructureService.getReportingStructure(id,
+            depth != null ? depth : ReportingStructureService.UNLIMITED,
+            maxNodes != null ? maxNodes : ReportingStructureService.UNLIMITED);
 
         // Return the generated reporting structure
         return structure;
     }
+
+    /**
+     * Streams the complete reporting structure hierarchy for an employee while it is traversed,
+     * so the hierarchy is never materialized for the response.
+     *
+     * @param id The ID of the employee to stream the reporting structure for
+     * @param format "json" for a nested document shaped like the reporting structure,
+     *               "ndjson" for one employee per line with the ID of its manager
+     * @return Response body that writes the hierarchy
+     * @throws EmployeeNotFoundException if no employee exists with the given ID
+     * @example GET /employee/16a596ae-edd3-4847-99fe-c4518e82c86f/reporting-structure/stream
+     * @example GET /employee/16a596ae-edd3-4847-99fe-c4518e82c86f/reporting-structure/stream?format=ndjson
+     */
+    @GetMapping("/{id}/reporting-structure/stream")
+    public ResponseEntity<StreamingResponseBody> streamReportingStructure(@PathVariable String id,
+            @RequestParam(defaultValue = "json") String format) throws EmployeeNotFoundException {
+        ReportingStructureFormat outputFormat = ReportingStructureFormat.from(format);
+
+        // LOG the request to stream the reporting structure
+        LOG.debug("Initiating reporting structure stream for employee ID: {} ({})", id, outputFormat);
+
+        // Resolve the employee before the response is committed so a missing employee is still a 404
+        ReportingStructureWriter writer = reportingStructureService.streamReportingStructure(id, outputFormat);
+
+        MediaType contentType = outputFormat == ReportingStructureFormat.NDJSON
+            ? MediaType.APPLICATION_NDJSON
+            : MediaType.APPLICATION_JSON;
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .body(writer::writeTo);
+    }
 }
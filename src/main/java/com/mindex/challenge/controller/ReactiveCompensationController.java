@@ -0,0 +1,64 @@
+package com.mindex.challenge.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mindex.challenge.data.Compensation;
+import com.mindex.challenge.service.ReactiveCompensationService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux controller of the reactive profile, mirroring the endpoints and responses of CompensationController.
+ */
+@RestController
+@RequestMapping("/employee")
+@Profile("reactive")
+public class ReactiveCompensationController {
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveCompensationController.class);
+
+    private final ReactiveCompensationService compensationService;
+
+    /**
+     * Constructs a new ReactiveCompensationController with required dependencies.
+     *
+     * @param compensationService The reactive service for compensation operations
+     */
+    @Autowired
+    public ReactiveCompensationController(ReactiveCompensationService compensationService) {
+        this.compensationService = compensationService;
+    }
+
+    /**
+     * Creates a new compensation record for an employee.
+     *
+     * @param employeeId The ID of the employee to create compensation for
+     * @param request The request body containing salary and effectiveDate
+     * @return The created Compensation object
+     */
+    @PostMapping("/{id}/compensation")
+    public Mono<Compensation> create(@PathVariable("id") String employeeId, @RequestBody CompensationRequest request) {
+        LOG.debug("Received compensation create request for employee ID: {}", employeeId);
+        return compensationService.create(employeeId, request.getSalary(), request.getEffectiveDate());
+    }
+
+    /**
+     * Retrieves the compensation record for an employee.
+     *
+     * @param employeeId The ID of the employee to find compensation for
+     * @return The Compensation object
+     */
+    @GetMapping("/{id}/compensation")
+    public Mono<Compensation> read(@PathVariable("id") String employeeId) {
+        LOG.debug("Received compensation read request for employee ID: {}", employeeId);
+        return compensationService.read(employeeId);
+    }
+}
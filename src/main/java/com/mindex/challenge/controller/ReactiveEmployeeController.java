@@ -0,0 +1,201 @@
+package com.mindex.challenge.controller;
+
+import java.util.List;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.data.EmployeeBatchResult;
+import com.mindex.challenge.data.EmployeeLookupResult;
+import com.mindex.challenge.data.ReportingStructure;
+import com.mindex.challenge.exception.InvalidEmployeeRequestException;
+import com.mindex.challenge.service.ReactiveEmployeeService;
+import com.mindex.challenge.service.ReactiveReportingStructureService;
+import com.mindex.challenge.service.ReportingStructureFormat;
+import com.mindex.challenge.service.ReportingStructureService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux controller of the reactive profile, mirroring the endpoints and responses of EmployeeController.
+ */
+@RestController
+@RequestMapping("/employee")
+@Profile("reactive")
+public class ReactiveEmployeeController {
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveEmployeeController.class);
+
+    private final ReactiveEmployeeService employeeService;
+    private final ReactiveReportingStructureService reportingStructureService;
+
+    /**
+     * Constructs a new ReactiveEmployeeController with required dependencies.
+     *
+     * @param employeeService The reactive service for employee operations
+     * @param reportingStructureService The reactive service for reporting structures
+     */
+    @Autowired
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService,
+            ReactiveReportingStructureService reportingStructureService) {
+        this.employeeService = employeeService;
+        this.reportingStructureService = reportingStructureService;
+    }
+
+    /**
+     * Creates a new employee.
+     *
+     * @param request Employee data to create
+     * @return The created employee with generated ID
+     */
+    @PostMapping("")
+    public Mono<Employee> create(@RequestBody Employee request) {
+        LOG.debug("Requesting to create employee {}", request);
+
+        // The constructors validate the required fields, like EmployeeController
+        Employee employee = request.getDirectReports() != null && !request.getDirectReports().isEmpty()
+            ? new Employee(request.getFirstName(), request.getLastName(), request.getPosition(),
+                request.getDepartment(), request.getDirectReports())
+            : new Employee(request.getFirstName(), request.getLastName(), request.getPosition(),
+                request.getDepartment());
+        return employeeService.create(employee);
+    }
+
+    /**
+     * Creates many employees at once.
+     *
+     * @param requests Employee data to create
+     * @return One result per requested employee in request order, holding the created employee or the error
+     */
+    @PostMapping("/batch")
+    public Mono<List<EmployeeBatchResult>> createAll(@RequestBody List<Employee> requests) {
+        LOG.debug("Requesting to create {} employees", requests.size());
+        return employeeService.createAll(requests);
+    }
+
+    /**
+     * Gets an employee by ID.
+     *
+     * @param id ID of the employee to get
+     * @return The requested employee
+     */
+    @GetMapping("/{id}")
+    public Mono<Employee> read(@PathVariable String id) {
+        LOG.debug("Requesting employee - ID: {}", id);
+        return employeeService.read(id);
+    }
+
+    /**
+     * Gets many employees by ID, each with its direct reports resolved.
+     *
+     * @param ids IDs of the employees to get, comma separated or repeated
+     * @return One result per requested ID in request order, with not found markers for unknown IDs
+     */
+    @GetMapping("")
+    public Mono<List<EmployeeLookupResult>> readAll(@RequestParam List<String> ids) {
+        LOG.debug("Requesting {} employees", ids.size());
+        return employeeService.readAll(ids);
+    }
+
+    /**
+     * Gets many employees by ID, for ID lists too long for a query string.
+     *
+     * @param ids IDs of the employees to get, as a JSON array
+     * @return One result per requested ID in request order, with not found markers for unknown IDs
+     */
+    @PostMapping("/lookup")
+    public Mono<List<EmployeeLookupResult>> lookup(@RequestBody List<String> ids) {
+        return readAll(ids);
+    }
+
+    /**
+     * Updates an existing employee.
+     *
+     * @param id ID of the employee to update
+     * @param employee Updated employee data
+     * @return The updated employee
+     */
+    @PutMapping("/{id}")
+    public Mono<Employee> update(@PathVariable String id, @RequestBody Employee employee) {
+        LOG.debug("Update request for ID: {}. Submitted fields: {}",
+            id,
+            String.join(", ", employee.getNonNullFields()));
+
+        if (employee.getNonNullFields().isEmpty()) {
+            throw new IllegalArgumentException("No fields provided for update");
+        }
+
+        employee.setEmployeeId(id);
+        return employeeService.update(employee);
+    }
+
+    /**
+     * Retrieves the reporting structure hierarchy for an employee.
+     *
+     * @param id The ID of the employee to get the reporting structure for
+     * @param countOnly If true, only the employee and the number of reports are returned
+     * @param depth Optional number of levels below the employee to resolve
+     * @param maxNodes Optional maximum number of reports to resolve, the direct reports are always resolved
+     * @return The reporting structure, limited like EmployeeController#getReportingStructure
+     */
+    @GetMapping("/{id}/reporting-structure")
+    public Mono<ReportingStructure> getReportingStructure(@PathVariable String id,
+            @RequestParam(defaultValue = "false") boolean countOnly,
+            @RequestParam(required = false) Integer depth,
+            @RequestParam(required = false) Integer maxNodes) {
+        if (countOnly) {
+            return reportingStructureService.getReportCount(id);
+        }
+
+        if (depth != null && depth < 0) {
+            throw new InvalidEmployeeRequestException("depth cannot be negative");
+        }
+        if (maxNodes != null && maxNodes < 1) {
+            throw new InvalidEmployeeRequestException("maxNodes must be at least 1");
+        }
+
+        LOG.debug("Initiating reporting structure generation for employee ID: {}", id);
+        return reportingStructureService.getReportingStructure(id,
+            depth != null ? depth : ReportingStructureService.UNLIMITED,
+            maxNodes != null ? maxNodes : ReportingStructureService.UNLIMITED);
+    }
+
+    /**
+     * Streams the complete reporting structure hierarchy for an employee.
+     *
+     * @param id The ID of the employee to stream the reporting structure for
+     * @param format "json" for the complete reporting structure, built before it is written,
+     *               "ndjson" for one employee per line with the ID of its manager, written level by level
+     *               as it is fetched and at the pace of the client
+     * @return Response with the structure or the stream of employees
+     */
+    @GetMapping("/{id}/reporting-structure/stream")
+    public ResponseEntity<Publisher<?>> streamReportingStructure(@PathVariable String id,
+            @RequestParam(defaultValue = "json") String format) {
+        ReportingStructureFormat outputFormat = ReportingStructureFormat.from(format);
+        LOG.debug("Initiating reporting structure stream for employee ID: {} ({})", id, outputFormat);
+
+        if (outputFormat == ReportingStructureFormat.NDJSON) {
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(reportingStructureService.streamReportingStructure(id));
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(reportingStructureService.getReportingStructure(id,
+                ReportingStructureService.UNLIMITED, ReportingStructureService.UNLIMITED));
+    }
+}
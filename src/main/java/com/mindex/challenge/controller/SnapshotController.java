@@ -0,0 +1,50 @@
+package com.mindex.challenge.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mindex.challenge.snapshot.OrgSnapshotService;
+
+/**
+ * REST controller writing the binary org snapshot on demand.
+ *
+ * Endpoints:
+ * - POST /snapshot - Snapshot the employee directory to challenge.snapshot.path
+ */
+@RestController
+public class SnapshotController {
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotController.class);
+
+    private final OrgSnapshotService orgSnapshotService;
+
+    /**
+     * Constructs a new SnapshotController with required dependencies.
+     *
+     * @param orgSnapshotService The service writing snapshots
+     */
+    @Autowired
+    public SnapshotController(OrgSnapshotService orgSnapshotService) {
+        this.orgSnapshotService = orgSnapshotService;
+    }
+
+    /**
+     * Writes a snapshot of every stored employee, replacing the previous one.
+     *
+     * @return The snapshot path, employee count, file size and time taken, or 409 Conflict if no path is configured
+     */
+    @PostMapping("/snapshot")
+    public ResponseEntity<?> write() {
+        LOG.debug("Received org snapshot request");
+
+        if (!orgSnapshotService.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("No snapshot path configured (challenge.snapshot.path)");
+        }
+        return ResponseEntity.ok(orgSnapshotService.write());
+    }
+}
@@ -0,0 +1,112 @@
+package com.mindex.challenge.dao;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mindex.challenge.cache.EmployeeCache;
+import com.mindex.challenge.data.Employee;
+
+/**
+ * Identity map and batching loader for employee records, scoped to a single request.
+ *
+ * Key Features:
+ * - Each employee is fetched from the repository at most once per request
+ * - Misses are remembered, so a missing report is not looked up again
+ * - Batches of IDs are resolved with one findAllByEmployeeIdIn ($in) query
+ * - Reads go through the shared EmployeeCache, so a cold request only pays for cache misses
+ *
+ * Instances are obtained from EmployeeLoaderProvider. Loaded employees are shared
+ * within the request and must be treated as read-only.
+ */
+public class EmployeeLoader {
+    private final EmployeeCache employeeCache;
+
+    private final Map<String, Employee> loaded = new ConcurrentHashMap<>();
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a new EmployeeLoader with required dependencies.
+     *
+     * @param employeeCache The read-through cache to load employees from
+     */
+    public EmployeeLoader(EmployeeCache employeeCache) {
+        this.employeeCache = employeeCache;
+    }
+
+    /**
+     * Loads a single employee.
+     *
+     * @param employeeId The ID of the employee to load
+     * @return The employee, or null if it does not exist
+     */
+    public Employee load(String employeeId) {
+        Employee employee = loaded.get(employeeId);
+        if (employee != null || missing.contains(employeeId)) {
+            return employee;
+        }
+
+        employee = employeeCache.get(employeeId);
+        remember(employeeId, employee);
+        return employee;
+    }
+
+    /**
+     * Loads several employees, fetching every one that is not yet known with a single query.
+     *
+     * @param employeeIds The IDs of the employees to load
+     * @return The employees found, keyed by ID in the order of the given IDs. Missing IDs are left out
+     */
+    public Map<String, Employee> loadAll(Collection<String> employeeIds) {
+        Set<String> unknown = new LinkedHashSet<>();
+        for (String employeeId : employeeIds) {
+            if (!loaded.containsKey(employeeId) && !missing.contains(employeeId)) {
+                unknown.add(employeeId);
+            }
+        }
+
+        if (!unknown.isEmpty()) {
+            fetch(unknown);
+        }
+
+        Map<String, Employee> result = new LinkedHashMap<>();
+        for (String employeeId : employeeIds) {
+            Employee employee = loaded.get(employeeId);
+            if (employee != null) {
+                result.put(employeeId, employee);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Forgets an employee so that the next load reads it from the cache again.
+     * Called after the employee is written within the same request.
+     *
+     * @param employeeId The ID of the employee to forget
+     */
+    public void invalidate(String employeeId) {
+        loaded.remove(employeeId);
+        missing.remove(employeeId);
+    }
+
+    private void fetch(Set<String> employeeIds) {
+        loaded.putAll(employeeCache.getAll(employeeIds));
+        for (String employeeId : employeeIds) {
+            if (!loaded.containsKey(employeeId)) {
+                missing.add(employeeId);
+            }
+        }
+    }
+
+    private void remember(String employeeId, Employee employee) {
+        if (employee != null) {
+            loaded.put(employeeId, employee);
+        } else {
+            missing.add(employeeId);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.mindex.challenge.dao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.mindex.challenge.cache.EmployeeCache;
+
+/**
+ * Hands out the EmployeeLoader of the current HTTP request.
+ *
+ * The loader is stored as a request attribute, so every service taking part in a request shares
+ * one identity map. Outside of a request (startup, benchmarks) a fresh loader is returned per call.
+ */
+@Component
+public class EmployeeLoaderProvider {
+    private static final String ATTRIBUTE = EmployeeLoader.class.getName();
+
+    private final EmployeeCache employeeCache;
+
+    /**
+     * Constructs a new EmployeeLoaderProvider with required dependencies.
+     *
+     * @param employeeCache The read-through cache the loaders read from
+     */
+    @Autowired
+    public EmployeeLoaderProvider(EmployeeCache employeeCache) {
+        this.employeeCache = employeeCache;
+    }
+
+    /**
+     * Gets the loader of the current request, creating it on first use.
+     *
+     * @return The request's loader, or a new loader when called outside of a request
+     */
+    public EmployeeLoader current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new EmployeeLoader(employeeCache);
+        }
+
+        EmployeeLoader loader = (EmployeeLoader) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (loader == null) {
+            loader = new EmployeeLoader(employeeCache);
+            attributes.setAttribute(ATTRIBUTE, loader, RequestAttributes.SCOPE_REQUEST);
+        }
+        return loader;
+    }
+}
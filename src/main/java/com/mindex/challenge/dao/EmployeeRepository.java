@@ -1,11 +1,22 @@
 package com.mindex.challenge.dao;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import com.mindex.challenge.data.Employee;
 
 @Repository
-public interface EmployeeRepository extends MongoRepository<Employee, String> {
+public interface EmployeeRepository extends MongoRepository<Employee, String>, EmployeeRepositoryCustom {
     Employee findByEmployeeId(String employeeId);
+
+    /**
+     * Finds every employee whose ID is in the given collection with a single $in query.
+     *
+     * @param employeeIds The IDs of the employees to find
+     * @return The employees that exist, in no particular order
+     */
+    List<Employee> findAllByEmployeeIdIn(Collection<String> employeeIds);
 }
@@ -0,0 +1,88 @@
+package com.mindex.challenge.dao;
+
+import java.util.List;
+import java.util.Map;
+
+import com.mindex.challenge.data.Employee;
+
+/**
+ * Custom employee persistence operations that cannot be expressed as derived queries.
+ * Implemented by EmployeeRepositoryCustomImpl and exposed through EmployeeRepository.
+ */
+public interface EmployeeRepositoryCustom {
+    /**
+     * Sets fields of an employee and increments its version with a single atomic update,
+     * provided the version is still the one the changes are based on.
+     *
+     * @param employeeId The ID of the employee to update
+     * @param expectedVersion The version the changes are based on, null for an employee never versioned
+     * @param fields The new value of each changed field, keyed by field name
+     * @return true if the employee was updated, false if it does not exist or its version changed
+     */
+    boolean updateFields(String employeeId, Long expectedVersion, Map<String, Object> fields);
+
+    /**
+     * Replaces the stored direct reports of an employee without rewriting the rest of the document,
+     * with the same version check as {@link #updateFields(String, Long, Map)}.
+     *
+     * @param employeeId The ID of the employee whose direct reports are replaced
+     * @param expectedVersion The version the new direct reports are based on, null for an employee never versioned
+     * @param reportIds The IDs of the new direct reports, in order
+     * @return true if the direct reports were replaced, false if the employee does not exist or its version changed
+     */
+    boolean replaceDirectReports(String employeeId, Long expectedVersion, List<String> reportIds);
+
+    /**
+     * Finds every employee below the given one, at any level, with a single query on the
+     * materialized ancestors. The query is index-backed on MongoDB, see IndexInitializer.
+     *
+     * @param employeeId The ID of the employee at the top of the subtree
+     * @return The employees in the subtree, excluding the given employee, in no particular order
+     */
+    List<Employee> findSubtree(String employeeId);
+
+    /**
+     * Finds the employees below the given one down to a maximum depth, with a single query
+     * on the materialized ancestors. The query is index-backed on MongoDB, see IndexInitializer.
+     *
+     * @param employeeId The ID of the employee at the top of the subtree
+     * @param maxDepth The deepest absolute depth to include, i.e. the maximum number of ancestors
+     * @return The employees in the subtree down to the depth, excluding the given employee, in no particular order
+     */
+    List<Employee> findSubtree(String employeeId, int maxDepth);
+
+    /**
+     * Counts every employee below the given one, at any level, without fetching them.
+     *
+     * @param employeeId The ID of the employee at the top of the subtree
+     * @return The number of employees in the subtree, excluding the given employee
+     */
+    long countSubtree(String employeeId);
+
+    /**
+     * Moves an employee and its whole subtree below a new management chain by rewriting
+     * the materialized ancestors and depth of every employee in the subtree.
+     *
+     * @param employeeId The ID of the employee that moved
+     * @param ancestors The new management chain of the employee, top-level manager first
+     * @return The IDs of every employee whose path was rewritten, starting with the moved employee
+     */
+    List<String> moveSubtree(String employeeId, List<String> ancestors);
+
+    /**
+     * Inserts several employees with a single unordered bulk write. A failing employee does not stop the others.
+     * Employees without a version start at version 0, like employees inserted one by one.
+     *
+     * @param employees The employees to insert
+     * @return The error message of every employee that was not inserted, keyed by its index in the list.
+     *         Empty if all were inserted
+     */
+    Map<Integer, String> insertUnordered(List<Employee> employees);
+
+    /**
+     * Sets the materialized ancestors and depth of several employees with a single unordered bulk write.
+     *
+     * @param ancestorsById The new management chain of each employee, top-level manager first, keyed by employee ID
+     */
+    void updatePaths(Map<String, List<String>> ancestorsById);
+}
@@ -0,0 +1,148 @@
+package com.mindex.challenge.dao;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mindex.challenge.data.Employee;
+import com.mongodb.bulk.BulkWriteError;
+
+/**
+ * MongoOperations backed implementation of EmployeeRepositoryCustom.
+ */
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+    private final MongoOperations mongoOperations;
+
+    @Autowired
+    public EmployeeRepositoryCustomImpl(MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    @Override
+    public boolean updateFields(String employeeId, Long expectedVersion, Map<String, Object> fields) {
+        // Matching on the version makes the update fail instead of overwriting a concurrent one.
+        // A null version also matches documents without the field
+        Update update = new Update().inc("version", 1);
+        fields.forEach(update::set);
+
+        return mongoOperations.updateFirst(
+            query(where("employeeId").is(employeeId).and("version").is(expectedVersion)),
+            update,
+            Employee.class).getMatchedCount() == 1;
+    }
+
+    @Override
+    public boolean replaceDirectReports(String employeeId, Long expectedVersion, List<String> reportIds) {
+        // Direct reports are stored as references holding only the employeeId
+        List<Employee> references = reportIds.stream()
+            .map(EmployeeRepositoryCustomImpl::reference)
+            .toList();
+
+        return updateFields(employeeId, expectedVersion, Map.of("directReports", references));
+    }
+
+    @Override
+    public List<Employee> findSubtree(String employeeId) {
+        // Matches every document whose ancestors array contains the employee
+        return mongoOperations.find(query(where("ancestors").is(employeeId)), Employee.class);
+    }
+
+    @Override
+    public List<Employee> findSubtree(String employeeId, int maxDepth) {
+        return mongoOperations.find(
+            query(where("ancestors").is(employeeId).and("depth").lte(maxDepth)),
+            Employee.class);
+    }
+
+    @Override
+    public long countSubtree(String employeeId) {
+        return mongoOperations.count(query(where("ancestors").is(employeeId)), Employee.class);
+    }
+
+    @Override
+    public List<String> moveSubtree(String employeeId, List<String> ancestors) {
+        // Only the ancestors are needed to rewrite the paths below the moved employee
+        Query subtreeQuery = query(where("ancestors").is(employeeId));
+        subtreeQuery.fields().include("employeeId", "ancestors");
+        List<Employee> subtree = mongoOperations.find(subtreeQuery, Employee.class);
+
+        List<String> moved = new ArrayList<>();
+        moved.add(employeeId);
+
+        BulkOperations bulk = mongoOperations.bulkOps(BulkMode.UNORDERED, Employee.class);
+        bulk.updateOne(query(where("employeeId").is(employeeId)), pathUpdate(ancestors));
+
+        for (Employee employee : subtree) {
+            // Keep the part of the path from the moved employee down, replace everything above it
+            List<String> oldPath = employee.getAncestors();
+            List<String> newPath = new ArrayList<>(ancestors);
+            newPath.addAll(oldPath.subList(oldPath.indexOf(employeeId), oldPath.size()));
+            bulk.updateOne(query(where("employeeId").is(employee.getEmployeeId())), pathUpdate(newPath));
+            moved.add(employee.getEmployeeId());
+        }
+
+        bulk.execute();
+        return moved;
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<Employee> employees) {
+        // Bulk inserts leave the version alone, so it starts at 0 like an insert through MongoTemplate
+        for (Employee employee : employees) {
+            if (employee.getVersion() == null) {
+                employee.setVersion(0L);
+            }
+        }
+
+        BulkOperations bulk = mongoOperations.bulkOps(BulkMode.UNORDERED, Employee.class);
+        bulk.insert(employees);
+
+        try {
+            bulk.execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            // Unordered writes carry on past errors, each error points back at its document
+            Map<Integer, String> failures = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+            return failures;
+        }
+    }
+
+    @Override
+    public void updatePaths(Map<String, List<String>> ancestorsById) {
+        if (ancestorsById.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoOperations.bulkOps(BulkMode.UNORDERED, Employee.class);
+        ancestorsById.forEach((employeeId, ancestors) ->
+            bulk.updateOne(query(where("employeeId").is(employeeId)), pathUpdate(ancestors)));
+        bulk.execute();
+    }
+
+    private static Update pathUpdate(List<String> ancestors) {
+        return new Update()
+            .set("ancestors", ancestors)
+            .set("depth", ancestors.size());
+    }
+
+    private static Employee reference(String employeeId) {
+        Employee reference = new Employee();
+        reference.setEmployeeId(employeeId);
+        return reference;
+    }
+}
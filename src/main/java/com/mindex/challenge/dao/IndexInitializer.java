@@ -0,0 +1,86 @@
+package com.mindex.challenge.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import com.mindex.challenge.data.Compensation;
+import com.mindex.challenge.data.Employee;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Creates the indexes the repositories rely on at startup, and verifies that the unique ones are in place.
+ *
+ * Indexes:
+ * - employee.employeeId (unique): serves lookups by ID and rejects a second employee with the same ID
+ * - employee.ancestors: serves the single-query subtree lookups on a MongoDB deployment
+ * - compensation.employeeId (unique): serves lookups by employee and rejects a second compensation
+ *   for the same employee, which CompensationServiceImpl relies on instead of checking first
+ *
+ * The in-process mongo-java-server only maintains unique indexes. It accepts the non-unique ancestors index
+ * but only logs that such indexes are not implemented, so subtree queries scan the collection there:
+ * still one round trip, but linear in the number of employees. The index takes effect once MongoConfig
+ * connects the client to a MongoDB server instead.
+ *
+ * Not used by the embedded profile, whose store keeps its own indexes, including a real one on the ancestors.
+ */
+@Component
+@Profile("!embedded")
+public class IndexInitializer {
+    private static final Logger LOG = LoggerFactory.getLogger(IndexInitializer.class);
+
+    private final MongoOperations mongoOperations;
+
+    /**
+     * Constructs a new IndexInitializer with required dependencies.
+     *
+     * @param mongoOperations The operations used to manage the indexes
+     */
+    @Autowired
+    public IndexInitializer(MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    /**
+     * Ensures every index exists. Existing indexes are left untouched.
+     *
+     * @throws IllegalStateException if a unique index is missing or not unique after creation
+     */
+    @PostConstruct
+    public void init() {
+        IndexOperations employeeIndexes = mongoOperations.indexOps(Employee.class);
+        ensureUniqueIndex(employeeIndexes, "employeeId");
+        // Accepted but not maintained by mongo-java-server, see above
+        employeeIndexes.ensureIndex(new Index().on("ancestors", Sort.Direction.ASC).named("ancestors"));
+
+        ensureUniqueIndex(mongoOperations.indexOps(Compensation.class), "employeeId");
+
+        LOG.debug("Ensured employee and compensation indexes");
+    }
+
+    /**
+     * Ensures a unique index on a single field, named after the field, and checks that the collection has it.
+     * Creating the index fails if the collection already holds duplicate values.
+     *
+     * @param indexOperations The index operations of the collection
+     * @param field The field to index
+     * @throws IllegalStateException if the index is missing or not unique, as when an index of the same name
+     *                               was created without the unique option
+     */
+    private static void ensureUniqueIndex(IndexOperations indexOperations, String field) {
+        indexOperations.ensureIndex(new Index().on(field, Sort.Direction.ASC).unique().named(field));
+
+        boolean unique = indexOperations.getIndexInfo().stream()
+            .anyMatch(index -> index.getName().equals(field) && index.isUnique());
+        if (!unique) {
+            throw new IllegalStateException("Missing unique index on " + field);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.mindex.challenge.dao.embedded;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.UntypedExampleMatcher;
+import org.springframework.data.support.ExampleMatcherAccessor;
+
+/**
+ * Sorting, paging, projection and query by example over the documents of the embedded store,
+ * following Spring Data MongoDB where its semantics differ from plain Java.
+ *
+ * Key Features:
+ * - Properties are read through a MongoMappingContext, so only persistent fields take part, as in MongoDB
+ * - Sort orders honour direction, ignore case and null handling; null and missing values sort lowest
+ * - Probes are flattened into property paths like MongoDB's example mapper: nested objects match field by field,
+ *   collections and maps must be equal as a whole, and primitive properties always take part
+ * - The string matcher, ignore case, ignored paths, value transformers, null handling and any or all matching
+ *   of the ExampleMatcher are honoured, typed matchers only match documents of the probe type
+ */
+final class DocumentQueries {
+    private static final MongoMappingContext MAPPING_CONTEXT = new MongoMappingContext();
+
+    private DocumentQueries() {}
+
+    /**
+     * Sorts documents by the orders of a sort.
+     *
+     * @param documents The documents to sort
+     * @param sort The sort, unsorted keeps the iteration order of the documents
+     * @param <T> The document type
+     * @return A new list of the documents in sort order
+     */
+    static <T> List<T> sort(Collection<T> documents, Sort sort) {
+        if (sort.isUnsorted()) {
+            return new ArrayList<>(documents);
+        }
+
+        // Read every sort key once instead of on every comparison
+        List<Sort.Order> orders = sort.toList();
+        List<Keyed<T>> keyed = new ArrayList<>(documents.size());
+        for (T document : documents) {
+            Object[] keys = new Object[orders.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = valueAt(document, orders.get(i).getProperty());
+            }
+            keyed.add(new Keyed<>(document, keys));
+        }
+
+        keyed.sort((a, b) -> {
+            for (int i = 0; i < orders.size(); i++) {
+                int result = compare(a.keys()[i], b.keys()[i], orders.get(i));
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        });
+        return keyed.stream().map(Keyed::document).toList();
+    }
+
+    /**
+     * Cuts the requested page out of sorted documents.
+     *
+     * @param sorted The documents, already in page order
+     * @param pageable The page to cut, unpaged returns every document
+     * @param <T> The document type
+     * @return The documents of the page
+     */
+    static <T> List<T> page(List<T> sorted, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return sorted;
+        }
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return sorted.subList(from, to);
+    }
+
+    /**
+     * Creates the predicate of a query by example.
+     *
+     * @param example The probe and its matcher
+     * @return A predicate accepting the documents the example matches
+     */
+    static Predicate<Object> matcher(Example<?> example) {
+        ExampleMatcher exampleMatcher = example.getMatcher();
+        List<Predicate<Object>> criteria = new ArrayList<>();
+        collectCriteria(example.getProbe(), "", new ExampleMatcherAccessor(exampleMatcher), criteria);
+
+        Class<?> probeType = example.getProbeType();
+        boolean typed = !(exampleMatcher instanceof UntypedExampleMatcher);
+        boolean any = exampleMatcher.isAnyMatching();
+        return document -> (!typed || probeType.isInstance(document))
+            && (criteria.isEmpty() || (any
+                ? criteria.stream().anyMatch(criterion -> criterion.test(document))
+                : criteria.stream().allMatch(criterion -> criterion.test(document))));
+    }
+
+    /**
+     * Copies the given top-level properties of a document into a new instance, leaving the others unset,
+     * like a MongoDB query with a field projection.
+     *
+     * @param document The document to project
+     * @param properties The property names or dotted paths to keep, only the first segment of a path is used
+     * @param <T> The document type
+     * @return The projected document
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T project(T document, Collection<String> properties) {
+        MongoPersistentEntity<?> entity = MAPPING_CONTEXT.getRequiredPersistentEntity(document.getClass());
+        PersistentPropertyAccessor<?> source = entity.getPropertyAccessor(document);
+        T projected = (T) BeanUtils.instantiateClass(document.getClass());
+        PersistentPropertyAccessor<?> target = entity.getPropertyAccessor(projected);
+
+        for (String property : properties) {
+            MongoPersistentProperty persistentProperty = entity.getPersistentProperty(property.split("\\.", 2)[0]);
+            if (persistentProperty != null) {
+                target.setProperty(persistentProperty, source.getProperty(persistentProperty));
+            }
+        }
+        return projected;
+    }
+
+    /**
+     * Reads the value at a property path of a document.
+     *
+     * @param document The document
+     * @param path The property names, separated by dots
+     * @return The value, null if it or any object on the way is missing
+     */
+    static Object valueAt(Object document, String path) {
+        Object current = document;
+        for (String segment : path.split("\\.")) {
+            if (current == null || current instanceof Collection || current instanceof Map) {
+                return null;
+            }
+            MongoPersistentEntity<?> entity = MAPPING_CONTEXT.getPersistentEntity(current.getClass());
+            MongoPersistentProperty property = entity != null ? entity.getPersistentProperty(segment) : null;
+            if (property == null) {
+                return null;
+            }
+            current = entity.getPropertyAccessor(current).getProperty(property);
+        }
+        return current;
+    }
+
+    /**
+     * Turns every set property of a probe into a criterion, descending into nested objects.
+     */
+    private static void collectCriteria(Object probe, String prefix, ExampleMatcherAccessor accessor,
+            List<Predicate<Object>> criteria) {
+        MongoPersistentEntity<?> entity = MAPPING_CONTEXT.getRequiredPersistentEntity(probe.getClass());
+        PersistentPropertyAccessor<?> properties = entity.getPropertyAccessor(probe);
+
+        for (MongoPersistentProperty property : entity) {
+            String path = prefix + property.getName();
+            if (accessor.isIgnoredPath(path)) {
+                continue;
+            }
+
+            Object value = accessor.getValueTransformerForPath(path)
+                .apply(Optional.ofNullable(properties.getProperty(property)))
+                .orElse(null);
+            if (value == null) {
+                if (accessor.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE) {
+                    criteria.add(document -> valueAt(document, path) == null);
+                }
+            } else if (property.isEntity() && !property.isCollectionLike() && !property.isMap()) {
+                collectCriteria(value, path + ".", accessor, criteria);
+            } else if (value instanceof String probeValue) {
+                criteria.add(stringCriterion(path, probeValue, accessor));
+            } else {
+                criteria.add(document -> deepEquals(valueAt(document, path), value));
+            }
+        }
+    }
+
+    private static Predicate<Object> stringCriterion(String path, String probe, ExampleMatcherAccessor accessor) {
+        ExampleMatcher.StringMatcher stringMatcher = accessor.getStringMatcherForPath(path);
+        boolean ignoreCase = accessor.isIgnoreCaseForPath(path);
+
+        if (stringMatcher == ExampleMatcher.StringMatcher.REGEX) {
+            // Unanchored, like a $regex condition
+            Pattern pattern = Pattern.compile(probe, ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0);
+            return document -> valueAt(document, path) instanceof String actual && pattern.matcher(actual).find();
+        }
+
+        String expected = ignoreCase ? probe.toLowerCase(Locale.ROOT) : probe;
+        return document -> {
+            if (!(valueAt(document, path) instanceof String actual)) {
+                return false;
+            }
+            String value = ignoreCase ? actual.toLowerCase(Locale.ROOT) : actual;
+            return switch (stringMatcher) {
+                case STARTING -> value.startsWith(expected);
+                case ENDING -> value.endsWith(expected);
+                case CONTAINING -> value.contains(expected);
+                default -> value.equals(expected);
+            };
+        };
+    }
+
+    /**
+     * Compares values like MongoDB compares embedded documents and arrays: numbers by value,
+     * collections element by element in order, maps and objects field by field.
+     */
+    private static boolean deepEquals(Object actual, Object expected) {
+        if (actual == null || expected == null) {
+            return actual == expected;
+        }
+        if (actual instanceof Number a && expected instanceof Number e) {
+            return compareNumbers(a, e) == 0;
+        }
+        if (expected instanceof Collection<?> e) {
+            if (!(actual instanceof Collection<?> a) || a.size() != e.size()) {
+                return false;
+            }
+            Iterator<?> actualElements = a.iterator();
+            for (Object element : e) {
+                if (!deepEquals(actualElements.next(), element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (expected instanceof Map<?, ?> e) {
+            return actual instanceof Map<?, ?> a && a.size() == e.size()
+                && e.entrySet().stream().allMatch(entry ->
+                    a.containsKey(entry.getKey()) && deepEquals(a.get(entry.getKey()), entry.getValue()));
+        }
+
+        MongoPersistentEntity<?> entity = MAPPING_CONTEXT.getPersistentEntity(expected.getClass());
+        if (entity == null || actual.getClass() != expected.getClass()) {
+            return Objects.equals(actual, expected);
+        }
+        PersistentPropertyAccessor<?> actualProperties = entity.getPropertyAccessor(actual);
+        PersistentPropertyAccessor<?> expectedProperties = entity.getPropertyAccessor(expected);
+        for (MongoPersistentProperty property : entity) {
+            if (!deepEquals(actualProperties.getProperty(property), expectedProperties.getProperty(property))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compare(Object a, Object b, Sort.Order order) {
+        if (a == null || b == null) {
+            if (a == b) {
+                return 0;
+            }
+            int nullFirst = a == null ? -1 : 1;
+            return switch (order.getNullHandling()) {
+                case NULLS_FIRST -> nullFirst;
+                case NULLS_LAST -> -nullFirst;
+                default -> order.isAscending() ? nullFirst : -nullFirst;
+            };
+        }
+
+        int result = compareValues(a, b, order.isIgnoreCase());
+        return order.isAscending() ? result : -result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object a, Object b, boolean ignoreCase) {
+        if (a instanceof String x && b instanceof String y) {
+            return ignoreCase ? String.CASE_INSENSITIVE_ORDER.compare(x, y) : x.compareTo(y);
+        }
+        if (a instanceof Number x && b instanceof Number y) {
+            return compareNumbers(x, y);
+        }
+        if (a instanceof Comparable<?> && a.getClass().isInstance(b)) {
+            return ((Comparable<Object>) a).compareTo(b);
+        }
+        return Comparator.<String>naturalOrder().compare(String.valueOf(a), String.valueOf(b));
+    }
+
+    private static int compareNumbers(Number a, Number b) {
+        boolean integral = isIntegral(a) && isIntegral(b);
+        return integral ? Long.compare(a.longValue(), b.longValue()) : Double.compare(a.doubleValue(), b.doubleValue());
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    /**
+     * A document with the values of its sort keys.
+     */
+    private record Keyed<T>(T document, Object[] keys) {}
+}
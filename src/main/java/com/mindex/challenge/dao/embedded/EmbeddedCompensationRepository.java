@@ -0,0 +1,71 @@
+package com.mindex.challenge.dao.embedded;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.mindex.challenge.dao.CompensationRepository;
+import com.mindex.challenge.data.Compensation;
+
+/**
+ * CompensationRepository of the embedded storage mode, keyed by id with a unique index on employeeId.
+ */
+public class EmbeddedCompensationRepository extends EmbeddedRepository<Compensation> implements CompensationRepository {
+    private final Map<String, String> idsByEmployeeId = new ConcurrentHashMap<>();
+
+    @Override
+    protected Class<?> repositoryInterface() {
+        return CompensationRepository.class;
+    }
+
+    @Override
+    protected String idOf(Compensation compensation) {
+        return compensation.getId();
+    }
+
+    @Override
+    protected void assignId(Compensation compensation) {
+        if (compensation.getId() == null) {
+            compensation.setId(new ObjectId().toHexString());
+        }
+    }
+
+    @Override
+    protected Compensation copyOf(Compensation compensation) {
+        Compensation copy = new Compensation();
+        copy.setId(compensation.getId());
+        copy.setEmployeeId(compensation.getEmployeeId());
+        if (compensation.getEmployee() != null) {
+            copy.setEmployee(EmbeddedEmployeeRepository.copy(compensation.getEmployee()));
+        }
+        copy.setSalary(compensation.getSalary());
+        copy.setEffectiveDate(compensation.getEffectiveDate());
+        return copy;
+    }
+
+    @Override
+    protected void checkUnique(Compensation compensation) {
+        String existingId = idsByEmployeeId.get(compensation.getEmployeeId());
+        if (existingId != null && !existingId.equals(compensation.getId())) {
+            throw new DuplicateKeyException("Duplicate employeeId: " + compensation.getEmployeeId());
+        }
+    }
+
+    @Override
+    protected void onWrite(Compensation previous, Compensation current) {
+        if (previous != null && previous.getEmployeeId() != null) {
+            idsByEmployeeId.remove(previous.getEmployeeId(), previous.getId());
+        }
+        if (current != null && current.getEmployeeId() != null) {
+            idsByEmployeeId.put(current.getEmployeeId(), current.getId());
+        }
+    }
+
+    @Override
+    public Compensation findByEmployeeId(String employeeId) {
+        String id = idsByEmployeeId.get(employeeId);
+        return id != null ? read(documents.get(id)) : null;
+    }
+}
@@ -0,0 +1,240 @@
+package com.mindex.challenge.dao.embedded;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataAccessException;
+
+import com.mindex.challenge.dao.EmployeeRepository;
+import com.mindex.challenge.data.Employee;
+
+/**
+ * EmployeeRepository of the embedded storage mode, keyed by employeeId.
+ *
+ * The subtree lookups are served by an index from every manager to the employees below it, at any level,
+ * kept in sync with the materialized ancestors like the ancestors index of IndexInitializer.
+ */
+public class EmbeddedEmployeeRepository extends EmbeddedRepository<Employee> implements EmployeeRepository {
+    private final Map<String, Set<String>> subtrees = new ConcurrentHashMap<>();
+
+    @Override
+    protected Class<?> repositoryInterface() {
+        return EmployeeRepository.class;
+    }
+
+    @Override
+    protected String idOf(Employee employee) {
+        return employee.getEmployeeId();
+    }
+
+    @Override
+    protected void assignId(Employee employee) {
+        if (employee.getEmployeeId() == null) {
+            throw new IllegalArgumentException("Employees must have an employeeId to be stored");
+        }
+    }
+
+    @Override
+    protected Long versionOf(Employee employee) {
+        return employee.getVersion();
+    }
+
+    @Override
+    protected void setVersion(Employee employee, long version) {
+        employee.setVersion(version);
+    }
+
+    @Override
+    protected boolean isVersioned() {
+        return true;
+    }
+
+    @Override
+    protected Employee copyOf(Employee employee) {
+        return copy(employee);
+    }
+
+    @Override
+    protected void onWrite(Employee previous, Employee current) {
+        if (previous != null && previous.getAncestors() != null) {
+            for (String ancestor : previous.getAncestors()) {
+                Set<String> subtree = subtrees.get(ancestor);
+                if (subtree != null) {
+                    subtree.remove(previous.getEmployeeId());
+                }
+            }
+        }
+        if (current != null && current.getAncestors() != null) {
+            for (String ancestor : current.getAncestors()) {
+                subtrees.computeIfAbsent(ancestor, key -> ConcurrentHashMap.newKeySet()).add(current.getEmployeeId());
+            }
+        }
+    }
+
+    @Override
+    public Employee findByEmployeeId(String employeeId) {
+        return read(documents.get(employeeId));
+    }
+
+    @Override
+    public List<Employee> findAllByEmployeeIdIn(Collection<String> employeeIds) {
+        return findAllById(employeeIds);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean updateFields(String employeeId, Long expectedVersion, Map<String, Object> fields) {
+        writeLock.lock();
+        try {
+            Employee stored = documents.get(employeeId);
+            if (stored == null || !Objects.equals(stored.getVersion(), expectedVersion)) {
+                return false;
+            }
+
+            Employee updated = copy(stored);
+            fields.forEach((field, value) -> {
+                switch (field) {
+                    case "firstName" -> updated.setFirstName((String) value);
+                    case "lastName" -> updated.setLastName((String) value);
+                    case "position" -> updated.setPosition((String) value);
+                    case "department" -> updated.setDepartment((String) value);
+                    case "directReports" -> updated.setDirectReports((List<Employee>) value);
+                    default -> throw new IllegalArgumentException("Field cannot be updated: " + field);
+                }
+            });
+            updated.setVersion(nextVersion(stored));
+            put(updated);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replaceDirectReports(String employeeId, Long expectedVersion, List<String> reportIds) {
+        return updateFields(employeeId, expectedVersion,
+            Map.of("directReports", reportIds.stream().map(EmbeddedEmployeeRepository::reference).toList()));
+    }
+
+    @Override
+    public List<Employee> findSubtree(String employeeId) {
+        return findSubtree(employeeId, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Employee> findSubtree(String employeeId, int maxDepth) {
+        List<Employee> subtree = new ArrayList<>();
+        for (String id : subtrees.getOrDefault(employeeId, Set.of())) {
+            Employee employee = documents.get(id);
+            if (employee != null && (employee.getDepth() == null || employee.getDepth() <= maxDepth)) {
+                subtree.add(copy(employee));
+            }
+        }
+        return subtree;
+    }
+
+    @Override
+    public long countSubtree(String employeeId) {
+        return subtrees.getOrDefault(employeeId, Set.of()).size();
+    }
+
+    @Override
+    public List<String> moveSubtree(String employeeId, List<String> ancestors) {
+        List<String> moved = new ArrayList<>();
+        moved.add(employeeId);
+
+        writeLock.lock();
+        try {
+            setPath(employeeId, ancestors);
+            for (String id : List.copyOf(subtrees.getOrDefault(employeeId, Set.of()))) {
+                // Keep the part of the path from the moved employee down, replace everything above it
+                List<String> oldPath = documents.get(id).getAncestors();
+                List<String> newPath = new ArrayList<>(ancestors);
+                newPath.addAll(oldPath.subList(oldPath.indexOf(employeeId), oldPath.size()));
+                setPath(id, newPath);
+                moved.add(id);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return moved;
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<Employee> employees) {
+        Map<Integer, String> failures = new HashMap<>();
+        for (int i = 0; i < employees.size(); i++) {
+            try {
+                insert(employees.get(i));
+            } catch (DataAccessException | IllegalArgumentException e) {
+                failures.put(i, e.getMessage());
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public void updatePaths(Map<String, List<String>> ancestorsById) {
+        writeLock.lock();
+        try {
+            ancestorsById.forEach(this::setPath);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void setPath(String employeeId, List<String> ancestors) {
+        Employee stored = documents.get(employeeId);
+        if (stored == null) {
+            return;
+        }
+        Employee updated = copy(stored);
+        updated.setAncestors(ancestors);
+        updated.setDepth(ancestors.size());
+        put(updated);
+    }
+
+    private static long nextVersion(Employee employee) {
+        return employee.getVersion() != null ? employee.getVersion() + 1 : 1;
+    }
+
+    /**
+     * Copies an employee and its direct reports, with no list shared with the original.
+     *
+     * @param employee The employee to copy
+     * @return The copy
+     */
+    static Employee copy(Employee employee) {
+        Employee copy = new Employee();
+        copy.setEmployeeId(employee.getEmployeeId());
+        copy.setFirstName(employee.getFirstName());
+        copy.setLastName(employee.getLastName());
+        copy.setPosition(employee.getPosition());
+        copy.setDepartment(employee.getDepartment());
+        copy.setDepth(employee.getDepth());
+        copy.setVersion(employee.getVersion());
+        if (employee.getAncestors() != null) {
+            copy.setAncestors(new ArrayList<>(employee.getAncestors()));
+        }
+        if (employee.getDirectReports() != null) {
+            List<Employee> directReports = new ArrayList<>(employee.getDirectReports().size());
+            for (Employee report : employee.getDirectReports()) {
+                directReports.add(report != null ? copy(report) : null);
+            }
+            copy.setDirectReports(directReports);
+        }
+        return copy;
+    }
+
+    private static Employee reference(String employeeId) {
+        Employee reference = new Employee();
+        reference.setEmployeeId(employeeId);
+        return reference;
+    }
+}
@@ -0,0 +1,148 @@
+package com.mindex.challenge.dao.embedded;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.util.Assert;
+
+/**
+ * The fluent query of findBy on the embedded store, evaluated over the documents an example matches.
+ *
+ * Key Features:
+ * - Immutable, every step returns a new query like the fluent queries of Spring Data MongoDB
+ * - Sorts, limits and pages the matching documents with the rules of DocumentQueries
+ * - Projected properties leave the others unset, as a field projection does
+ * - Interface result types become projection proxies, class result types are filled property by property
+ *
+ * @param <S> The document type
+ * @param <R> The result type
+ */
+final class EmbeddedFluentQuery<S, R> implements FluentQuery.FetchableFluentQuery<R> {
+    private static final SpelAwareProxyProjectionFactory PROJECTION_FACTORY = new SpelAwareProxyProjectionFactory();
+
+    private final Supplier<List<S>> matches;
+    private final Class<R> resultType;
+    private final Sort sort;
+    private final int limit;
+    private final Collection<String> properties;
+
+    /**
+     * Creates a query returning the documents themselves.
+     *
+     * @param matches Supplies copies of the documents the example matches
+     * @param documentType The document type
+     * @return The query
+     */
+    static <S> EmbeddedFluentQuery<S, S> of(Supplier<List<S>> matches, Class<S> documentType) {
+        return new EmbeddedFluentQuery<>(matches, documentType, Sort.unsorted(), 0, List.of());
+    }
+
+    private EmbeddedFluentQuery(Supplier<List<S>> matches, Class<R> resultType, Sort sort, int limit,
+            Collection<String> properties) {
+        this.matches = matches;
+        this.resultType = resultType;
+        this.sort = sort;
+        this.limit = limit;
+        this.properties = properties;
+    }
+
+    @Override
+    public FetchableFluentQuery<R> sortBy(Sort sort) {
+        Assert.notNull(sort, "Sort must not be null");
+        return new EmbeddedFluentQuery<>(matches, resultType, this.sort.and(sort), limit, properties);
+    }
+
+    public FetchableFluentQuery<R> limit(int limit) {
+        Assert.isTrue(limit >= 0, "Limit must not be negative");
+        return new EmbeddedFluentQuery<>(matches, resultType, sort, limit, properties);
+    }
+
+    @Override
+    public <N> FetchableFluentQuery<N> as(Class<N> resultType) {
+        Assert.notNull(resultType, "Result type must not be null");
+        return new EmbeddedFluentQuery<>(matches, resultType, sort, limit, properties);
+    }
+
+    @Override
+    public FetchableFluentQuery<R> project(Collection<String> properties) {
+        return new EmbeddedFluentQuery<>(matches, resultType, sort, limit, List.copyOf(properties));
+    }
+
+    @Override
+    public R oneValue() {
+        List<S> found = limited(2);
+        if (found.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1);
+        }
+        return found.isEmpty() ? null : convert(found.get(0));
+    }
+
+    @Override
+    public R firstValue() {
+        List<S> found = limited(1);
+        return found.isEmpty() ? null : convert(found.get(0));
+    }
+
+    @Override
+    public List<R> all() {
+        return limited(limit).stream().map(this::convert).toList();
+    }
+
+    @Override
+    public Page<R> page(Pageable pageable) {
+        List<S> sorted = DocumentQueries.sort(matches.get(), pageable.getSort().isSorted() ? pageable.getSort() : sort);
+        List<R> content = DocumentQueries.page(sorted, pageable).stream().map(this::convert).toList();
+        return pageable.isUnpaged() ? new PageImpl<>(content) : new PageImpl<>(content, pageable, sorted.size());
+    }
+
+    @Override
+    public Stream<R> stream() {
+        return all().stream();
+    }
+
+    @Override
+    public long count() {
+        return matches.get().size();
+    }
+
+    @Override
+    public boolean exists() {
+        return !matches.get().isEmpty();
+    }
+
+    /**
+     * Sorts the matching documents and keeps the first ones.
+     *
+     * @param max The number of documents to keep, 0 for all
+     * @return The documents
+     */
+    private List<S> limited(int max) {
+        List<S> sorted = DocumentQueries.sort(matches.get(), sort);
+        int keep = limit > 0 ? Math.min(limit, max > 0 ? max : limit) : max;
+        return keep > 0 && keep < sorted.size() ? sorted.subList(0, keep) : sorted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private R convert(S document) {
+        Object source = properties.isEmpty() ? document : DocumentQueries.project(document, properties);
+        if (resultType.isInstance(source)) {
+            return (R) source;
+        }
+        if (resultType.isInterface()) {
+            return PROJECTION_FACTORY.createProjection(resultType, source);
+        }
+        R result = BeanUtils.instantiateClass(resultType);
+        BeanUtils.copyProperties(source, result);
+        return result;
+    }
+}
@@ -0,0 +1,363 @@
+package com.mindex.challenge.dao.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+/**
+ * In-process document store behind the repository interfaces of the embedded storage mode.
+ *
+ * Key Features:
+ * - Documents are held in a ConcurrentHashMap keyed by ID, reads never lock
+ * - Writes are serialized per repository by a ReentrantLock, which does not pin a virtual thread, and
+ *   replace the stored document instead of changing it, so a reader always sees a complete document
+ * - Versioned documents follow the optimistic locking of MongoTemplate: inserts start at version 0, and
+ *   a save based on any other version than the stored one fails
+ * - Documents are copied on the way in and on the way out, like documents read from MongoDB,
+ *   so callers can change what they get without touching the store
+ * - Subclasses maintain their secondary indexes in onWrite
+ * - Sorted, paged and query by example lookups scan a snapshot of the documents, with the semantics of
+ *   Spring Data MongoDB described in DocumentQueries
+ *
+ * @param <T> The document type
+ */
+abstract class EmbeddedRepository<T> implements MongoRepository<T, String> {
+    protected final Map<String, T> documents = new ConcurrentHashMap<>();
+    protected final Lock writeLock = new ReentrantLock();
+
+    /**
+     * Gets the repository interface the store serves, under which its invocations are reported.
+     *
+     * @return The repository interface
+     */
+    protected abstract Class<?> repositoryInterface();
+
+    /**
+     * Gets the ID of a document.
+     *
+     * @param document The document
+     * @return The ID, null if the document has none yet
+     */
+    protected abstract String idOf(T document);
+
+    /**
+     * Gives a new document its ID when it has none, as MongoDB generates the _id of inserted documents.
+     *
+     * @param document The document about to be inserted
+     * @throws IllegalArgumentException if the document cannot be given an ID
+     */
+    protected abstract void assignId(T document);
+
+    /**
+     * Gets the version of a document, for the optimistic locking of versioned document types.
+     *
+     * @param document The document
+     * @return The version, null if the document has none yet or its type is not versioned
+     */
+    protected Long versionOf(T document) {
+        return null;
+    }
+
+    /**
+     * Sets the version of a document. Only called for versioned document types.
+     *
+     * @param document The document
+     * @param version The new version
+     */
+    protected void setVersion(T document, long version) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " documents are not versioned");
+    }
+
+    /**
+     * Checks whether the document type has a version field.
+     *
+     * @return true if the documents are versioned
+     */
+    protected boolean isVersioned() {
+        return false;
+    }
+
+    /**
+     * Copies a document, deep enough that no mutable state is shared with the original.
+     *
+     * @param document The document to copy
+     * @return The copy
+     */
+    protected abstract T copyOf(T document);
+
+    /**
+     * Updates the secondary indexes after a write. Called while holding the write lock.
+     *
+     * @param previous The document that was replaced or removed, null for an insert
+     * @param current The stored document, null for a removal
+     */
+    protected void onWrite(T previous, T current) {}
+
+    /**
+     * Enforces the unique indexes of the document type before a write. Called while holding the write lock.
+     *
+     * @param document The document about to be stored
+     * @throws DuplicateKeyException if another document has the same value of a unique field
+     */
+    protected void checkUnique(T document) {}
+
+    /**
+     * Stores a copy of a document, replacing the document with the same ID. Must hold the write lock.
+     *
+     * @param document The document to store
+     */
+    protected void put(T document) {
+        T stored = copyOf(document);
+        onWrite(documents.put(idOf(stored), stored), stored);
+    }
+
+    /**
+     * Copies a stored document for a caller.
+     *
+     * @param document The stored document, may be null
+     * @return The copy, null if the document is null
+     */
+    protected T read(T document) {
+        return document != null ? copyOf(document) : null;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        writeLock.lock();
+        try {
+            assignId(entity);
+            if (documents.containsKey(idOf(entity))) {
+                throw new DuplicateKeyException("Duplicate key: " + idOf(entity));
+            }
+            checkUnique(entity);
+            // Inserted documents start at version 0, like those inserted through MongoTemplate
+            if (isVersioned() && versionOf(entity) == null) {
+                setVersion(entity, 0);
+            }
+            put(entity);
+        } finally {
+            writeLock.unlock();
+        }
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        List<S> inserted = new ArrayList<>();
+        for (S entity : entities) {
+            inserted.add(insert(entity));
+        }
+        return inserted;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws OptimisticLockingFailureException if the document is versioned and the stored document is
+     *         missing or at another version than the given one
+     */
+    @Override
+    public <S extends T> S save(S entity) {
+        // A versioned document that was never stored is inserted, like MongoTemplate.save does
+        if (isVersioned() && versionOf(entity) == null) {
+            return insert(entity);
+        }
+
+        writeLock.lock();
+        try {
+            assignId(entity);
+            if (isVersioned()) {
+                T stored = documents.get(idOf(entity));
+                Long version = versionOf(entity);
+                if (stored == null || !Objects.equals(versionOf(stored), version)) {
+                    throw new OptimisticLockingFailureException(String.format(
+                        "Cannot save %s with version %d, it was modified or removed meanwhile",
+                        idOf(entity), version));
+                }
+                checkUnique(entity);
+                setVersion(entity, version + 1);
+            } else {
+                checkUnique(entity);
+            }
+            put(entity);
+        } finally {
+            writeLock.unlock();
+        }
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(read(documents.get(id)));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return documents.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return documents.values().stream().map(this::copyOf).toList();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        List<T> found = new ArrayList<>();
+        for (String id : ids) {
+            T document = documents.get(id);
+            if (document != null) {
+                found.add(copyOf(document));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public long count() {
+        return documents.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        writeLock.lock();
+        try {
+            T removed = documents.remove(id);
+            if (removed != null) {
+                onWrite(removed, null);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        writeLock.lock();
+        try {
+            documents.keySet().forEach(this::deleteById);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        return DocumentQueries.sort(documents.values(), sort).stream().map(this::copyOf).toList();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return page(List.copyOf(documents.values()), pageable);
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        // First match, like SimpleMongoRepository
+        Predicate<Object> matcher = DocumentQueries.matcher(example);
+        return documents.values().stream().filter(matcher).findFirst().map(this::copyAs);
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        return findAll(example, Sort.unsorted());
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        return DocumentQueries.sort(matching(example), sort).stream().map(this::copyAs).toList();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return page(matching(example), pageable);
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        return matching(example).size();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        return documents.values().stream().anyMatch(DocumentQueries.matcher(example));
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return queryFunction.apply(EmbeddedFluentQuery.of(
+            () -> matching(example).stream().map(this::<S>copyAs).toList(), example.getProbeType()));
+    }
+
+    /**
+     * Collects the stored documents an example matches.
+     *
+     * @param example The probe and its matcher
+     * @param <S> The probe type
+     * @return The stored documents, not copied
+     */
+    @SuppressWarnings("unchecked")
+    private <S extends T> List<S> matching(Example<S> example) {
+        Predicate<Object> matcher = DocumentQueries.matcher(example);
+        return documents.values().stream().filter(matcher).map(document -> (S) document).toList();
+    }
+
+    /**
+     * Sorts stored documents by the sort of a page request and copies the documents of the page.
+     *
+     * @param stored The stored documents
+     * @param pageable The page request
+     * @param <S> The document type
+     * @return The page, with the total number of documents
+     */
+    private <S extends T> Page<S> page(List<S> stored, Pageable pageable) {
+        List<S> sorted = DocumentQueries.sort(stored, pageable.getSort());
+        List<S> content = DocumentQueries.page(sorted, pageable).stream().map(this::<S>copyAs).toList();
+        return pageable.isUnpaged() ? new PageImpl<>(content) : new PageImpl<>(content, pageable, sorted.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S extends T> S copyAs(T document) {
+        return (S) copyOf(document);
+    }
+}
@@ -0,0 +1,101 @@
+package com.mindex.challenge.dao.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult;
+import org.springframework.stereotype.Component;
+
+import com.mindex.challenge.jfr.RepositoryEventsPostProcessor;
+import com.mindex.challenge.stats.RepositoryStatsPostProcessor;
+
+/**
+ * Instruments the stores of the embedded profile like Spring Data instruments the repositories it creates.
+ * RepositoryStatsPostProcessor, RepositoryEventsPostProcessor and the repository metrics of Spring Boot only
+ * customize repository factory beans, which the embedded stores are not.
+ *
+ * Key Features:
+ * - Every store is wrapped in a proxy of the interfaces it implements
+ * - Each invocation is reported to the RepositoryMethodInvocationListener beans, which includes the
+ *   spring.data.repository.invocations timers, and to the RequestStats of the current request
+ * - Each invocation is wrapped in a RepositoryCallEvent, named after the repository interface
+ */
+@Component
+@Profile("embedded")
+public class EmbeddedRepositoryPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<RepositoryMethodInvocationListener> listeners;
+    private volatile List<RepositoryMethodInvocationListener> resolvedListeners;
+
+    /**
+     * Constructs a new EmbeddedRepositoryPostProcessor.
+     *
+     * @param listeners The invocation listener beans, resolved on the first invocation
+     */
+    @Autowired
+    public EmbeddedRepositoryPostProcessor(ObjectProvider<RepositoryMethodInvocationListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof EmbeddedRepository<?> repository) {
+            Class<?> repositoryInterface = repository.repositoryInterface();
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.addAdvice(invocationListeners(repositoryInterface));
+            proxyFactory.addAdvice(RepositoryEventsPostProcessor.interceptor(repositoryInterface.getSimpleName()));
+            return proxyFactory.getProxy();
+        }
+        return bean;
+    }
+
+    private MethodInterceptor invocationListeners(Class<?> repositoryInterface) {
+        return invocation -> {
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                error = e;
+                throw e;
+            } finally {
+                RepositoryMethodInvocation repositoryInvocation = new RepositoryMethodInvocation(repositoryInterface,
+                    invocation.getMethod(), result(error), System.nanoTime() - start);
+                listeners().forEach(listener -> listener.afterInvocation(repositoryInvocation));
+            }
+        };
+    }
+
+    private List<RepositoryMethodInvocationListener> listeners() {
+        // Resolved lazily, the listener beans may depend on beans this post processor is applied to
+        List<RepositoryMethodInvocationListener> resolved = resolvedListeners;
+        if (resolved == null) {
+            List<RepositoryMethodInvocationListener> all = new ArrayList<>();
+            listeners.orderedStream().forEach(all::add);
+            all.add(RepositoryStatsPostProcessor.LISTENER);
+            resolved = resolvedListeners = List.copyOf(all);
+        }
+        return resolved;
+    }
+
+    private static RepositoryMethodInvocationResult result(Throwable error) {
+        return new RepositoryMethodInvocationResult() {
+            @Override
+            public State getState() {
+                return error == null ? State.SUCCESS : State.ERROR;
+            }
+
+            @Override
+            public Throwable getError() {
+                return error;
+            }
+        };
+    }
+}
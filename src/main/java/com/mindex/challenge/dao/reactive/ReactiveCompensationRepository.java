@@ -0,0 +1,22 @@
+package com.mindex.challenge.dao.reactive;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.mindex.challenge.data.Compensation;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of CompensationRepository for the reactive profile.
+ */
+@Repository
+public interface ReactiveCompensationRepository extends ReactiveMongoRepository<Compensation, String> {
+    /**
+     * Finds compensation by the referenced employee's ID.
+     *
+     * @param employeeId The ID of the employee to find compensation for
+     * @return The compensation, or empty if not found
+     */
+    Mono<Compensation> findByEmployeeId(String employeeId);
+}
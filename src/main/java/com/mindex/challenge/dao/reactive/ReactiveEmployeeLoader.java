@@ -0,0 +1,84 @@
+package com.mindex.challenge.dao.reactive;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.mindex.challenge.data.Employee;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Batching loader of employee records for the reactive profile, the non-blocking counterpart of EmployeeLoader.
+ *
+ * Key Features:
+ * - Batches of IDs are split into $in queries of challenge.fan-out.chunk-size IDs
+ * - At most challenge.fan-out.max-concurrency queries of one batch are in flight at a time
+ * - Queries are subscribed with backpressure, so a slow consumer does not buffer whole batches
+ *
+ * Reads go straight to the reactive repository, the EmployeeCache of the blocking stack is not shared.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveEmployeeLoader {
+    private final ReactiveEmployeeRepository employeeRepository;
+    private final int chunkSize;
+    private final int maxConcurrency;
+
+    /**
+     * Constructs a new ReactiveEmployeeLoader with required dependencies.
+     *
+     * @param employeeRepository The reactive repository to load employees from
+     * @param chunkSize The number of IDs per $in query
+     * @param maxConcurrency The maximum number of queries of one batch in flight
+     */
+    @Autowired
+    public ReactiveEmployeeLoader(ReactiveEmployeeRepository employeeRepository,
+            @Value("${challenge.fan-out.chunk-size:100}") int chunkSize,
+            @Value("${challenge.fan-out.max-concurrency:4}") int maxConcurrency) {
+        this.employeeRepository = employeeRepository;
+        this.chunkSize = chunkSize;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Loads a single employee.
+     *
+     * @param employeeId The ID of the employee to load
+     * @return The employee, or empty if it does not exist
+     */
+    public Mono<Employee> load(String employeeId) {
+        return employeeRepository.findByEmployeeId(employeeId);
+    }
+
+    /**
+     * Loads several employees.
+     *
+     * @param employeeIds The IDs of the employees to load
+     * @return The employees found, keyed by ID. Missing IDs are left out, an empty map if none were given
+     */
+    public Mono<Map<String, Employee>> loadAll(Collection<String> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(employeeIds));
+        List<List<String>> chunks = new ArrayList<>();
+        for (int start = 0; start < distinctIds.size(); start += chunkSize) {
+            chunks.add(distinctIds.subList(start, Math.min(start + chunkSize, distinctIds.size())));
+        }
+
+        return Flux.fromIterable(chunks)
+            .flatMap(employeeRepository::findAllByEmployeeIdIn, maxConcurrency)
+            .collectMap(Employee::getEmployeeId, employee -> employee, HashMap::new);
+    }
+}
@@ -0,0 +1,43 @@
+package com.mindex.challenge.dao.reactive;
+
+import java.util.Collection;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.mindex.challenge.data.Employee;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of EmployeeRepository for the reactive profile.
+ * Only the reads of the reactive controllers are mirrored, writes go through EmployeeService.
+ */
+@Repository
+public interface ReactiveEmployeeRepository extends ReactiveMongoRepository<Employee, String> {
+    /**
+     * Finds an employee by ID.
+     *
+     * @param employeeId The ID of the employee
+     * @return The employee, or empty if it does not exist
+     */
+    Mono<Employee> findByEmployeeId(String employeeId);
+
+    /**
+     * Finds every employee whose ID is in the given collection with a single $in query.
+     *
+     * @param employeeIds The IDs of the employees to find
+     * @return The employees that exist, in no particular order
+     */
+    Flux<Employee> findAllByEmployeeIdIn(Collection<String> employeeIds);
+
+    /**
+     * Counts every employee below the given one, at any level, with a single query on the
+     * materialized ancestors. The query is index-backed on MongoDB, see IndexInitializer.
+     *
+     * @param employeeId The ID of the employee at the top of the subtree
+     * @return The number of employees in the subtree, excluding the given employee
+     */
+    Mono<Long> countByAncestors(String employeeId);
+}
@@ -6,7 +6,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import org.springframework.data.annotation.Version;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.mindex.challenge.exception.InvalidEmployeeRequestException;
 
 public class Employee {
@@ -17,6 +20,20 @@ public class Employee {
     private String department;
     private List<Employee> directReports;
 
+    // Materialized path of manager IDs from the top of the hierarchy down to the direct manager.
+    // Maintained by EmployeeServiceImpl and DataBootstrap, not part of the API.
+    @JsonIgnore
+    private List<String> ancestors;
+
+    @JsonIgnore
+    private Integer depth;
+
+    // Incremented by every update. Clients may send back the version they read, so that the update
+    // is rejected with a 409 if the employee changed since. Null for employees never versioned
+    @Version
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
+
     public Employee() {}
 
     /**
@@ -105,6 +122,30 @@ public class Employee {
         this.directReports = directReports;
     }
 
+    public List<String> getAncestors() {
+        return ancestors;
+    }
+
+    public void setAncestors(List<String> ancestors) {
+        this.ancestors = ancestors;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Compares the current Employee with an updated version and finds which fields were changed.
      * Only fields that were directly set in the updated object are compared (null values in the update are ignored).
@@ -0,0 +1,102 @@
+package com.mindex.challenge.data;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one employee in a batch request, reported at the position of the employee in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeBatchResult {
+    /**
+     * Outcome of a single employee.
+     */
+    public enum Status {
+        /** The employee was stored */
+        CREATED,
+        /** The employee failed validation and was not written */
+        REJECTED,
+        /** The employee was valid but could not be written */
+        FAILED
+    }
+
+    private final int index;
+    private final Status status;
+    private final Employee employee;
+    private final String error;
+
+    private EmployeeBatchResult(int index, Status status, Employee employee, String error) {
+        this.index = index;
+        this.status = status;
+        this.employee = employee;
+        this.error = error;
+    }
+
+    /**
+     * Creates the result of a stored employee.
+     *
+     * @param index The position of the employee in the request
+     * @param employee The stored employee with its generated ID
+     * @return The result
+     */
+    public static EmployeeBatchResult created(int index, Employee employee) {
+        return new EmployeeBatchResult(index, Status.CREATED, employee, null);
+    }
+
+    /**
+     * Creates the result of an employee that failed validation.
+     *
+     * @param index The position of the employee in the request
+     * @param error The validation message
+     * @return The result
+     */
+    public static EmployeeBatchResult rejected(int index, String error) {
+        return new EmployeeBatchResult(index, Status.REJECTED, null, error);
+    }
+
+    /**
+     * Creates the result of a valid employee that could not be written.
+     *
+     * @param index The position of the employee in the request
+     * @param error The write error
+     * @return The result
+     */
+    public static EmployeeBatchResult failed(int index, String error) {
+        return new EmployeeBatchResult(index, Status.FAILED, null, error);
+    }
+
+    /**
+     * Gets the position of the employee in the request.
+     *
+     * @return The zero-based index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the outcome of the employee.
+     *
+     * @return The status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the stored employee.
+     *
+     * @return The employee with its generated ID, or null if it was not created
+     */
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    /**
+     * Gets the reason the employee was not created.
+     *
+     * @return The error message, or null if it was created
+     */
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,76 @@
+package com.mindex.challenge.data;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one requested ID in a bulk employee read, reported at the position of the ID in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeLookupResult {
+    /**
+     * Outcome of a single ID.
+     */
+    public enum Status {
+        /** An employee exists with the ID */
+        FOUND,
+        /** No employee exists with the ID */
+        NOT_FOUND
+    }
+
+    private final String employeeId;
+    private final Status status;
+    private final Employee employee;
+
+    private EmployeeLookupResult(String employeeId, Status status, Employee employee) {
+        this.employeeId = employeeId;
+        this.status = status;
+        this.employee = employee;
+    }
+
+    /**
+     * Creates the result of a found employee.
+     *
+     * @param employee The employee with its direct reports resolved
+     * @return The result
+     */
+    public static EmployeeLookupResult found(Employee employee) {
+        return new EmployeeLookupResult(employee.getEmployeeId(), Status.FOUND, employee);
+    }
+
+    /**
+     * Creates the marker of an ID that matches no employee.
+     *
+     * @param employeeId The requested ID
+     * @return The result
+     */
+    public static EmployeeLookupResult notFound(String employeeId) {
+        return new EmployeeLookupResult(employeeId, Status.NOT_FOUND, null);
+    }
+
+    /**
+     * Gets the requested ID.
+     *
+     * @return The employee ID
+     */
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * Gets whether an employee was found for the ID.
+     *
+     * @return The status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the found employee.
+     *
+     * @return The employee with its direct reports resolved, or null if it was not found
+     */
+    public Employee getEmployee() {
+        return employee;
+    }
+}
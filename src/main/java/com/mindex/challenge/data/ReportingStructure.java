@@ -1,5 +1,11 @@
 package com.mindex.challenge.data;
 
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 /**
  * Reporting Structure represents the reporting structure for an employee, including the employee details
  * and total number of reports under them in the hierarchy.
@@ -7,6 +13,7 @@ package com.mindex.challenge.data;
 public class ReportingStructure {
     private Employee employee;
     private int numberOfReports;
+    private List<String> truncatedBranches;
     
     /**
      * Constructs a new ReportingStructure with the specified employee and report count.
@@ -16,11 +23,27 @@ public class ReportingStructure {
      * @throws IllegalArgumentException if employee is null or report count is negative
      */
     public ReportingStructure(Employee employee, int numberOfReports) {
+        this(employee, numberOfReports, null);
+    }
+
+    /**
+     * Constructs a new ReportingStructure of a partially resolved hierarchy.
+     *
+     * @param employee The employee this structure refers to
+     * @param numberOfReports The total number of distinct reports in the hierarchy, including the ones left out
+     * @param truncatedBranches The IDs of the employees whose reports were left out (may be null)
+     * @throws IllegalArgumentException if employee is null or report count is negative
+     */
+    @JsonCreator
+    public ReportingStructure(@JsonProperty("employee") Employee employee,
+            @JsonProperty("numberOfReports") int numberOfReports,
+            @JsonProperty("truncatedBranches") List<String> truncatedBranches) {
         if (employee == null) {throw new IllegalArgumentException("Employee cannot be null");}
         if (numberOfReports < 0) {throw new IllegalArgumentException("Report count cannot be negative");}
 
         this.employee = employee;
         this.numberOfReports = numberOfReports;
+        this.truncatedBranches = truncatedBranches != null ? List.copyOf(truncatedBranches) : List.of();
     }
 
     /**
@@ -41,4 +64,15 @@ public class ReportingStructure {
     public int getNumberOfReports() {
         return numberOfReports;
     }
+
+    /**
+     * Gets the employees whose reports were left out of a depth or size limited structure.
+     * Each ID can be requested as the root of a new structure to expand that branch.
+     *
+     * @return The IDs of the truncated employees, empty if the hierarchy is complete
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<String> getTruncatedBranches() {
+        return truncatedBranches;
+    }
 }
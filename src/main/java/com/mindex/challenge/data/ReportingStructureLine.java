@@ -0,0 +1,33 @@
+package com.mindex.challenge.data;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * One employee of a reporting structure streamed as NDJSON, with the ID of its manager in the structure.
+ * Emitted by the reactive profile; the Spring MVC stream writes the same lines directly with a JsonGenerator.
+ *
+ * @param employeeId The ID of the employee
+ * @param firstName The employee's first name
+ * @param lastName The employee's last name
+ * @param position The employee's position
+ * @param department The employee's department
+ * @param managerId The ID of the employee's manager, null for the employee at the top of the structure
+ */
+@JsonPropertyOrder({"employeeId", "firstName", "lastName", "position", "department", "managerId"})
+@JsonInclude(JsonInclude.Include.ALWAYS)
+public record ReportingStructureLine(String employeeId, String firstName, String lastName, String position,
+        String department, String managerId) {
+
+    /**
+     * Creates the line of an employee.
+     *
+     * @param employee The employee
+     * @param managerId The ID of the employee's manager, null for the top of the structure
+     * @return The line
+     */
+    public static ReportingStructureLine of(Employee employee, String managerId) {
+        return new ReportingStructureLine(employee.getEmployeeId(), employee.getFirstName(), employee.getLastName(),
+            employee.getPosition(), employee.getDepartment(), managerId);
+    }
+}
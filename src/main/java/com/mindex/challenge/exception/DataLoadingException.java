@@ -0,0 +1,27 @@
+package com.mindex.challenge.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request needs seed data that is still being loaded in the background.
+ * Mapped to 503 Service Unavailable with a Retry-After header.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class DataLoadingException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public DataLoadingException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Gets how long clients should wait before retrying.
+     *
+     * @return The delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
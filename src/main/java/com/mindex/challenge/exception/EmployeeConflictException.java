@@ -0,0 +1,14 @@
+package com.mindex.challenge.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an employee was modified since the version an update is based on.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class EmployeeConflictException extends RuntimeException {
+    public EmployeeConflictException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.mindex.challenge.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -39,6 +40,33 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles EmployeeConflictException by returning the 409 Conflict response.
+     * 
+     * @param ex The caught exception
+     * @return ResponseEntity with an error message and the HTTP status
+     */
+    @ExceptionHandler(EmployeeConflictException.class)
+    public ResponseEntity<String> handleEmployeeConflictException(EmployeeConflictException ex) {
+        LOG.info("Employee update conflict: {}", ex.getMessage());
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles DataLoadingException by returning the 503 Service Unavailable response.
+     * The Retry-After header tells clients when the seed data is expected to be available.
+     * 
+     * @param ex The caught exception
+     * @return ResponseEntity with an error message, the Retry-After header and the HTTP status
+     */
+    @ExceptionHandler(DataLoadingException.class)
+    public ResponseEntity<String> handleDataLoadingException(DataLoadingException ex) {
+        LOG.info("Seed data still loading: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(ex.getMessage());
+    }
+
     /**
      * Handles all other exceptions by returning a 500 Internal Server Error response.
      * 
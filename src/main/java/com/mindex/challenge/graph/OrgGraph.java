@@ -0,0 +1,560 @@
+package com.mindex.challenge.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.mindex.challenge.SeedDataLoadedEvent;
+import com.mindex.challenge.dao.EmployeeRepository;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.exception.InvalidEmployeeRequestException;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory index of the reporting hierarchy.
+ *
+ * Every employee is assigned a dense int index the first time it is seen, and the hierarchy is kept
+ * as primitive arrays: a parent index per node and an int[] row of child indexes per node. This lets
+ * the reporting structure be walked without a single repository call.
+ *
+ * Key Features:
+ * - Built from the EmployeeRepository once the seed data is loaded, and rebuilt after an asynchronous load
+ * - Can be turned off with challenge.org-graph.enabled=false, services then read from storage
+ * - Kept in sync by EmployeeServiceImpl on create and update
+ * - Strict tree: an employee has at most one manager and reporting cycles are rejected
+ * - Subtree sizes are maintained incrementally, so report counts are O(1)
+ * - Direct reports that are referenced but not (yet) stored are kept as placeholder nodes and skipped
+ *
+ * Child rows are never mutated once published, they are replaced, so a row handed out to a reader
+ * stays consistent. Employee snapshots returned by {@link #employeeAt(int)} are shared and must be
+ * treated as read-only.
+ */
+@Component
+@DependsOn("dataBootstrap")
+@ConditionalOnProperty(name = "challenge.org-graph.enabled", havingValue = "true", matchIfMissing = true)
+public class OrgGraph {
+    private static final Logger LOG = LoggerFactory.getLogger(OrgGraph.class);
+
+    /**
+     * Index returned for employees that are not part of the graph.
+     */
+    public static final int NO_NODE = -1;
+
+    private static final int[] NO_CHILDREN = new int[0];
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final EmployeeRepository employeeRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private Employee[] employees = new Employee[INITIAL_CAPACITY];
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private int[][] children = new int[INITIAL_CAPACITY][];
+    private int[] subtreeSizes = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Constructs a new OrgGraph with required dependencies.
+     *
+     * @param employeeRepository The repository the graph is initially built from
+     */
+    @Autowired
+    public OrgGraph(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Builds the graph from every employee in the repository.
+     */
+    @PostConstruct
+    public void init() {
+        long startTime = System.currentTimeMillis();
+
+        rebuild(employeeRepository.findAll());
+
+        LOG.info("Built org graph with {} employees ({} ms)", size, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Rebuilds the graph once an asynchronous seed data load completes.
+     * The write lock is held while reading the repository, so no concurrent update is lost.
+     *
+     * @param event The completed load
+     */
+    @EventListener
+    public void onSeedDataLoaded(SeedDataLoadedEvent event) {
+        lock.writeLock().lock();
+        try {
+            init();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Discards the current graph and rebuilds it from the given employees.
+     * Edges that would give an employee a second manager or close a cycle are skipped.
+     *
+     * @param source The employees to build the graph from
+     */
+    public void rebuild(Iterable<Employee> source) {
+        lock.writeLock().lock();
+        try {
+            clear();
+
+            // First pass registers every node so that edge order does not matter
+            List<Employee> all = new ArrayList<>();
+            for (Employee employee : source) {
+                // indexOrAdd may grow the arrays, so the index is taken before the array is read
+                int index = indexOrAdd(employee.getEmployeeId());
+                employees[index] = snapshot(employee);
+                all.add(employee);
+            }
+
+            // Second pass links managers to their direct reports
+            for (Employee employee : all) {
+                if (employee.getDirectReports() == null) {
+                    continue;
+                }
+                int manager = indexById.get(employee.getEmployeeId());
+                List<Integer> accepted = new ArrayList<>();
+                for (String reportId : reportIds(employee)) {
+                    int report = indexOrAdd(reportId);
+                    if (parents[report] != NO_NODE || isAncestorOrSelf(report, manager)) {
+                        LOG.warn("Skipping reporting edge {} -> {}", employee.getEmployeeId(), reportId);
+                        continue;
+                    }
+                    parents[report] = manager;
+                    accepted.add(report);
+                }
+                children[manager] = accepted.stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            computeSubtreeSizes();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks that the given direct reports can be assigned to the manager without creating a cycle.
+     * Called before anything is persisted so that a rejected update leaves storage untouched.
+     *
+     * @param managerId The ID of the manager
+     * @param directReports The proposed direct reports (may be null)
+     * @throws InvalidEmployeeRequestException if a report is the manager itself or one of its managers
+     */
+    public void validateDirectReports(String managerId, List<Employee> directReports) {
+        if (directReports == null) {
+            return;
+        }
+
+        List<String> reportIds = directReports.stream()
+            .map(Employee::getEmployeeId)
+            .filter(Objects::nonNull)
+            .toList();
+
+        lock.readLock().lock();
+        try {
+            checkNoCycle(managerId, reportIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or updates an employee in the graph. When the employee carries direct reports they
+     * replace the current ones, and reports that belonged to another manager are moved.
+     *
+     * @param employee The stored employee
+     * @return The IDs of other managers that lost direct reports to this employee
+     * @throws InvalidEmployeeRequestException if the new direct reports would create a cycle
+     */
+    public List<String> upsert(Employee employee) {
+        List<String> reportIds = employee.getDirectReports() != null ? reportIds(employee) : null;
+
+        lock.writeLock().lock();
+        try {
+            // Validate before any array is touched, so a rejected update leaves the graph unchanged
+            if (reportIds != null) {
+                checkNoCycle(employee.getEmployeeId(), reportIds);
+            }
+
+            int manager = indexOrAdd(employee.getEmployeeId());
+            if (employees[manager] == null) {
+                // New employee, or a placeholder that is now stored
+                addToChain(manager, 1);
+            }
+            employees[manager] = snapshot(employee);
+
+            if (reportIds == null) {
+                return List.of();
+            }
+            return relink(manager, resolveReports(reportIds));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs the given action while holding the read lock, giving it a consistent view of the graph.
+     *
+     * @param action The action to run
+     * @return The action's result
+     */
+    public <T> T withReadLock(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs the given action while holding the write lock, so no other change to the hierarchy can
+     * interleave with it. The lock is reentrant, the action may read and upsert the graph itself.
+     *
+     * @param action The action to run
+     * @return The action's result
+     */
+    public <T> T withWriteLock(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the index of an employee.
+     *
+     * @param employeeId The employee ID to look up
+     * @return The node index, or {@link #NO_NODE} if the employee is not stored
+     */
+    public int indexOf(String employeeId) {
+        lock.readLock().lock();
+        try {
+            Integer index = indexById.get(employeeId);
+            return index != null && employees[index] != null ? index : NO_NODE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the employee ID of a node.
+     *
+     * @param index The node index
+     * @return The employee ID, also for placeholder nodes
+     */
+    public String idAt(int index) {
+        lock.readLock().lock();
+        try {
+            return ids[index];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the employee stored at a node.
+     *
+     * @param index The node index
+     * @return The shared employee snapshot without direct reports, or null for placeholder nodes
+     */
+    public Employee employeeAt(int index) {
+        lock.readLock().lock();
+        try {
+            return employees[index];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the manager of a node.
+     *
+     * @param index The node index
+     * @return The manager's node index, or {@link #NO_NODE} for top-level employees
+     */
+    public int parentOf(int index) {
+        lock.readLock().lock();
+        try {
+            return parents[index];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the direct reports of a node.
+     *
+     * @param index The node index
+     * @return The child indexes in reporting order. The array is shared and must not be modified
+     */
+    public int[] childrenOf(int index) {
+        lock.readLock().lock();
+        try {
+            return children[index];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the total number of reports under a node, at every level of the hierarchy.
+     * Maintained incrementally, so this neither traverses nor allocates.
+     *
+     * @param index The node index
+     * @return The number of stored employees below the node
+     */
+    public int reportCount(int index) {
+        lock.readLock().lock();
+        try {
+            return Math.max(subtreeSizes[index] - 1, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the IDs of an employee's direct reports that are currently known to the graph.
+     *
+     * @param employeeId The ID of the manager
+     * @return The direct report IDs in reporting order
+     */
+    public List<String> directReportIds(String employeeId) {
+        lock.readLock().lock();
+        try {
+            Integer manager = indexById.get(employeeId);
+            if (manager == null) {
+                return List.of();
+            }
+            List<String> reportIds = new ArrayList<>(children[manager].length);
+            for (int report : children[manager]) {
+                reportIds.add(ids[report]);
+            }
+            return reportIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of nodes in the graph, including placeholders.
+     *
+     * @return The node count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Maps report IDs to node indexes, registering placeholders and dropping duplicates.
+     * Must be called while holding the write lock.
+     */
+    private int[] resolveReports(List<String> reportIds) {
+        Set<Integer> resolved = new LinkedHashSet<>();
+        for (String reportId : reportIds) {
+            resolved.add(indexOrAdd(reportId));
+        }
+        return resolved.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Rejects direct reports that are the manager itself or one of its managers.
+     * Only reads the graph, so it must be called while holding either lock.
+     */
+    private void checkNoCycle(String managerId, List<String> reportIds) {
+        Integer manager = indexById.get(managerId);
+        for (String reportId : reportIds) {
+            Integer report = indexById.get(reportId);
+            boolean cycle = manager == null
+                ? reportId.equals(managerId)
+                : report != null && isAncestorOrSelf(report, manager);
+            if (cycle) {
+                throw new InvalidEmployeeRequestException(String.format(
+                    "Employee %s cannot report to %s: it would create a reporting cycle", reportId, managerId));
+            }
+        }
+    }
+
+    /**
+     * Replaces the children of a manager, detaching reports from any previous manager.
+     * Subtree sizes are only adjusted along the manager's chain and the chains of previous managers.
+     * Must be called while holding the write lock.
+     */
+    private List<String> relink(int manager, int[] newChildren) {
+        Set<String> previousManagers = new LinkedHashSet<>();
+        int delta = 0;
+
+        // Old reports become top-level unless they are re-attached below
+        for (int child : children[manager]) {
+            parents[child] = NO_NODE;
+            delta -= subtreeSizes[child];
+        }
+
+        for (int child : newChildren) {
+            int previous = parents[child];
+            if (previous != NO_NODE) {
+                children[previous] = without(children[previous], child);
+                addToChain(previous, -subtreeSizes[child]);
+                previousManagers.add(ids[previous]);
+            }
+            parents[child] = manager;
+            delta += subtreeSizes[child];
+        }
+        children[manager] = newChildren;
+        addToChain(manager, delta);
+
+        return new ArrayList<>(previousManagers);
+    }
+
+    /**
+     * Adds a delta to the subtree size of a node and every manager above it.
+     * Must be called while holding the write lock.
+     */
+    private void addToChain(int node, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        for (int current = node; current != NO_NODE; current = parents[current]) {
+            subtreeSizes[current] += delta;
+        }
+    }
+
+    /**
+     * Computes every subtree size from scratch, children before their managers.
+     * Must be called while holding the write lock.
+     */
+    private void computeSubtreeSizes() {
+        // Breadth-first order from the top-level employees puts every manager before its reports
+        int[] order = new int[size];
+        int count = 0;
+        for (int index = 0; index < size; index++) {
+            if (parents[index] == NO_NODE) {
+                order[count++] = index;
+            }
+        }
+        for (int position = 0; position < count; position++) {
+            for (int child : children[order[position]]) {
+                order[count++] = child;
+            }
+        }
+
+        for (int position = count - 1; position >= 0; position--) {
+            int index = order[position];
+            subtreeSizes[index] += employees[index] != null ? 1 : 0;
+            if (parents[index] != NO_NODE) {
+                subtreeSizes[parents[index]] += subtreeSizes[index];
+            }
+        }
+    }
+
+    /**
+     * Walks up from a node and checks whether the candidate is on the management chain.
+     * Must be called while holding a lock.
+     */
+    private boolean isAncestorOrSelf(int candidate, int node) {
+        for (int current = node; current != NO_NODE; current = parents[current]) {
+            if (current == candidate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the index of an employee, registering a placeholder node if it is unknown.
+     * Must be called while holding the write lock.
+     */
+    private int indexOrAdd(String employeeId) {
+        Integer existing = indexById.get(employeeId);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            employees = Arrays.copyOf(employees, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            children = Arrays.copyOf(children, capacity);
+            subtreeSizes = Arrays.copyOf(subtreeSizes, capacity);
+        }
+
+        int index = size++;
+        ids[index] = employeeId;
+        parents[index] = NO_NODE;
+        children[index] = NO_CHILDREN;
+        subtreeSizes[index] = 0;
+        indexById.put(employeeId, index);
+        return index;
+    }
+
+    private void clear() {
+        indexById.clear();
+        ids = new String[INITIAL_CAPACITY];
+        employees = new Employee[INITIAL_CAPACITY];
+        parents = new int[INITIAL_CAPACITY];
+        children = new int[INITIAL_CAPACITY][];
+        subtreeSizes = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    private static int[] without(int[] row, int value) {
+        int[] result = new int[row.length - 1];
+        int position = 0;
+        for (int element : row) {
+            if (element != value) {
+                result[position++] = element;
+            }
+        }
+        return result;
+    }
+
+    private static List<String> reportIds(Employee employee) {
+        return employee.getDirectReports().stream()
+            .map(Employee::getEmployeeId)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    /**
+     * Copies the basic fields of an employee, leaving out the direct reports.
+     */
+    private static Employee snapshot(Employee employee) {
+        Employee snapshot = new Employee();
+        snapshot.setEmployeeId(employee.getEmployeeId());
+        snapshot.setFirstName(employee.getFirstName());
+        snapshot.setLastName(employee.getLastName());
+        snapshot.setPosition(employee.getPosition());
+        snapshot.setDepartment(employee.getDepartment());
+        return snapshot;
+    }
+}
@@ -0,0 +1,36 @@
+package com.mindex.challenge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning the load of the keys missing from a cache.
+ */
+@Name("com.mindex.challenge.CacheMiss")
+@Label("Cache Miss")
+@Category({"Challenge", "Cache"})
+@Description("Load of entries missing from the employee or reporting structure cache")
+@StackTrace(false)
+public class CacheMissEvent extends Event {
+    @Label("Cache")
+    private String cache;
+
+    @Label("Key Count")
+    @Description("Number of keys loaded")
+    private int keyCount;
+
+    /**
+     * Constructs a new CacheMissEvent.
+     *
+     * @param cache The name of the cache, employee or reporting-structure
+     * @param keyCount The number of keys loaded
+     */
+    public CacheMissEvent(String cache, int keyCount) {
+        this.cache = cache;
+        this.keyCount = keyCount;
+    }
+}
@@ -0,0 +1,60 @@
+package com.mindex.challenge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning the build of one reporting structure, from the org graph or from storage.
+ * Cache hits build nothing and emit no event.
+ */
+@Name("com.mindex.challenge.ReportingStructureBuild")
+@Label("Reporting Structure Build")
+@Category({"Challenge", "Reporting Structure"})
+@Description("Build of a reporting structure, with the employees visited and the depth reached")
+public class ReportingStructureBuildEvent extends Event {
+    @Label("Root Employee ID")
+    private String rootId;
+
+    @Label("Source")
+    @Description("graph or storage")
+    private String source;
+
+    @Label("Nodes")
+    @Description("Employees visited, including the root")
+    private int nodes;
+
+    @Label("Depth")
+    @Description("Levels resolved below the root")
+    private int depth;
+
+    @Label("Truncated")
+    @Description("Whether depth or node limits left reports out")
+    private boolean truncated;
+
+    /**
+     * Constructs a new ReportingStructureBuildEvent.
+     *
+     * @param rootId The ID of the employee at the top of the structure
+     * @param source Where the hierarchy is read from, graph or storage
+     */
+    public ReportingStructureBuildEvent(String rootId, String source) {
+        this.rootId = rootId;
+        this.source = source;
+    }
+
+    /**
+     * Sets the outcome of the traversal.
+     *
+     * @param nodes The number of employees visited, including the root
+     * @param depth The number of levels resolved below the root
+     * @param truncated Whether limits left reports out
+     */
+    public void setTraversal(int nodes, int depth, boolean truncated) {
+        this.nodes = nodes;
+        this.depth = depth;
+        this.truncated = truncated;
+    }
+}
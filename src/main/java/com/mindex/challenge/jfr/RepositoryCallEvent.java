@@ -0,0 +1,42 @@
+package com.mindex.challenge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning one repository method invocation, that is one round trip to storage.
+ * Emitted for every repository by RepositoryEventsPostProcessor.
+ */
+@Name("com.mindex.challenge.RepositoryCall")
+@Label("Repository Call")
+@Category({"Challenge", "Storage"})
+@Description("Invocation of a Spring Data repository method")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    @Label("ID Count")
+    @Description("Number of IDs or records passed to the method, 0 if none")
+    private int idCount;
+
+    /**
+     * Constructs a new RepositoryCallEvent.
+     *
+     * @param repository The simple name of the repository interface
+     * @param method The name of the invoked method
+     * @param idCount The number of IDs or records passed to the method
+     */
+    public RepositoryCallEvent(String repository, String method, int idCount) {
+        this.repository = repository;
+        this.method = method;
+        this.idCount = idCount;
+    }
+}
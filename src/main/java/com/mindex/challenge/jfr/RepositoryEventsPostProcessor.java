@@ -0,0 +1,68 @@
+package com.mindex.challenge.jfr;
+
+import java.util.Collection;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps every repository method invocation, including custom fragment methods, in a RepositoryCallEvent.
+ * When no recording has the event enabled, the interceptor only checks isEnabled.
+ * Reactive repositories are skipped, their methods return before the query runs.
+ */
+@Component
+public class RepositoryEventsPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                (proxyFactory, repositoryInformation) -> {
+                    if (!repositoryInformation.isReactiveRepository()) {
+                        proxyFactory.addAdvice(interceptor(repositoryInformation.getRepositoryInterface().getSimpleName()));
+                    }
+                }));
+        }
+        return bean;
+    }
+
+    /**
+     * Creates the interceptor emitting a RepositoryCallEvent per invocation. Also applied by the embedded store.
+     *
+     * @param repository The simple name of the repository interface
+     * @return The interceptor
+     */
+    public static MethodInterceptor interceptor(String repository) {
+        return invocation -> {
+            RepositoryCallEvent event = new RepositoryCallEvent(repository, invocation.getMethod().getName(),
+                idCount(invocation.getArguments()));
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+            event.begin();
+            try {
+                return invocation.proceed();
+            } finally {
+                event.commit();
+            }
+        };
+    }
+
+    /**
+     * Counts the IDs or records passed to a repository method: the size of a collection argument,
+     * or 1 for the first scalar argument.
+     *
+     * @param arguments The method arguments
+     * @return The count, 0 for methods without arguments
+     */
+    private static int idCount(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof Collection<?> collection) {
+                return collection.size();
+            }
+        }
+        return arguments.length > 0 && arguments[0] != null ? 1 : 0;
+    }
+}
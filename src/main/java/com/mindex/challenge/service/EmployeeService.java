@@ -1,6 +1,11 @@
 package com.mindex.challenge.service;
 
+import java.util.List;
+
 import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.data.EmployeeBatchResult;
+import com.mindex.challenge.data.EmployeeLookupResult;
+import com.mindex.challenge.exception.EmployeeConflictException;
 import com.mindex.challenge.exception.EmployeeNotFoundException;
 
 /**
@@ -19,6 +24,16 @@ public interface EmployeeService {
      */
     Employee create(Employee employee);
 
+    /**
+     * Creates many employee records at once.
+     * Each employee is validated like a single create; invalid ones are reported and the rest are still created.
+     *
+     * @param employees The employee data to create. Must not be null.
+     * @return One result per requested employee, in request order
+     * @implNote Employees are written with unordered bulk inserts in chunks, not one insert per employee
+     */
+    List<EmployeeBatchResult> createAll(List<Employee> employees);
+
     /**
      * Retrieves an employee by their unique id.
      * 
@@ -30,14 +45,25 @@ public interface EmployeeService {
      */
     Employee read(String id) throws EmployeeNotFoundException;
 
+    /**
+     * Retrieves many employees by their unique ids, each with its direct reports resolved like {@link #read(String)}.
+     *
+     * @param ids The employee IDs to search for, duplicates allowed. Must not be null.
+     * @return One result per requested ID in request order, marking IDs that match no employee as not found
+     * @implNote The employees and their direct reports are loaded with set-based queries, each document once
+     */
+    List<EmployeeLookupResult> readAll(List<String> ids);
+
     /**
      * Updates an existing employee record.
      *
      * @param employee The employee data to update. Must not be null.
      * @return The updated employee
      * @throws EmployeeNotFoundException if no employee exists with the given ID
+     * @throws EmployeeConflictException if the employee changed since the given version, or during the update
      * @throws IllegalArgumentException if the employee data is invalid
-     * @implNote The employeeID in the object must match an existing one
+     * @implNote The employeeID in the object must match an existing one. Only changed fields are written,
+     *           with a single atomic update guarded by the version. An update that changes nothing is not written
      * @see #read(String) 
      */
     Employee update(Employee employee) throws EmployeeNotFoundException;
@@ -0,0 +1,33 @@
+package com.mindex.challenge.service;
+
+import java.util.Date;
+
+import com.mindex.challenge.data.Compensation;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of CompensationService for the reactive profile.
+ * Results and errors are the same as those of CompensationService, signalled through the returned publishers.
+ */
+public interface ReactiveCompensationService {
+    /**
+     * Creates a compensation record for an employee.
+     *
+     * @param employeeId The ID of the employee
+     * @param salary The annual salary
+     * @param effectiveDate The date the compensation becomes effective
+     * @return The created compensation, or an EmployeeNotFoundException error
+     * @see CompensationService#create(String, double, Date)
+     */
+    Mono<Compensation> create(String employeeId, double salary, Date effectiveDate);
+
+    /**
+     * Retrieves the compensation record of an employee, with the employee resolved.
+     *
+     * @param employeeId The ID of the employee
+     * @return The compensation, or an EmployeeNotFoundException or CompensationNotFoundException error
+     * @see CompensationService#read(String)
+     */
+    Mono<Compensation> read(String employeeId);
+}
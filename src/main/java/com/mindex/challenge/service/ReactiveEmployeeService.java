@@ -0,0 +1,60 @@
+package com.mindex.challenge.service;
+
+import java.util.List;
+
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.data.EmployeeBatchResult;
+import com.mindex.challenge.data.EmployeeLookupResult;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of EmployeeService for the reactive profile.
+ * Results and errors are the same as those of EmployeeService, signalled through the returned publishers.
+ */
+public interface ReactiveEmployeeService {
+    /**
+     * Creates a new employee record in the system.
+     *
+     * @param employee The employee data to create
+     * @return The created employee with generated ID
+     * @see EmployeeService#create(Employee)
+     */
+    Mono<Employee> create(Employee employee);
+
+    /**
+     * Creates many employee records at once.
+     *
+     * @param employees The employee data to create
+     * @return One result per requested employee, in request order
+     * @see EmployeeService#createAll(List)
+     */
+    Mono<List<EmployeeBatchResult>> createAll(List<Employee> employees);
+
+    /**
+     * Retrieves an employee by their unique id, with the direct reports resolved one level deep.
+     *
+     * @param id The employee ID to search for
+     * @return The found employee, or an EmployeeNotFoundException error
+     * @see EmployeeService#read(String)
+     */
+    Mono<Employee> read(String id);
+
+    /**
+     * Retrieves many employees by ID, each with its direct reports resolved one level deep.
+     *
+     * @param ids The employee IDs to search for
+     * @return One result per requested ID in request order, with not found markers for unknown IDs
+     * @see EmployeeService#readAll(List)
+     */
+    Mono<List<EmployeeLookupResult>> readAll(List<String> ids);
+
+    /**
+     * Updates an existing employee record.
+     *
+     * @param employee The employee with the ID to update and the fields to change
+     * @return The updated employee, or an EmployeeNotFoundException error
+     * @see EmployeeService#update(Employee)
+     */
+    Mono<Employee> update(Employee employee);
+}
@@ -0,0 +1,42 @@
+package com.mindex.challenge.service;
+
+import com.mindex.challenge.data.ReportingStructure;
+import com.mindex.challenge.data.ReportingStructureLine;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of ReportingStructureService for the reactive profile.
+ * Results and errors are the same as those of ReportingStructureService, signalled through the returned publishers.
+ */
+public interface ReactiveReportingStructureService {
+    /**
+     * Generates the reporting structure for a given employee, optionally limited.
+     *
+     * @param employeeId The ID of the employee to generate the structure for
+     * @param depth The number of levels below the employee to resolve, or {@link ReportingStructureService#UNLIMITED}
+     * @param maxNodes The maximum number of reports to resolve, or {@link ReportingStructureService#UNLIMITED}
+     * @return The reporting structure, or an EmployeeNotFoundException error
+     * @see ReportingStructureService#getReportingStructure(String, int, int)
+     */
+    Mono<ReportingStructure> getReportingStructure(String employeeId, int depth, int maxNodes);
+
+    /**
+     * Counts the reports of an employee without resolving them.
+     *
+     * @param employeeId The ID of the employee to count the reports of
+     * @return The employee without direct reports and the number of reports, or an EmployeeNotFoundException error
+     * @see ReportingStructureService#getReportCount(String)
+     */
+    Mono<ReportingStructure> getReportCount(String employeeId);
+
+    /**
+     * Streams the complete reporting structure of an employee, one employee per element with the ID of its manager,
+     * the employee itself first. Employees are emitted level by level as they are fetched, at the pace of the subscriber.
+     *
+     * @param employeeId The ID of the employee at the top of the structure
+     * @return The employees of the structure, or an EmployeeNotFoundException error
+     */
+    Flux<ReportingStructureLine> streamReportingStructure(String employeeId);
+}
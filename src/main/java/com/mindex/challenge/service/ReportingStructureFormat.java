@@ -0,0 +1,35 @@
+package com.mindex.challenge.service;
+
+import java.util.Locale;
+
+import com.mindex.challenge.exception.InvalidEmployeeRequestException;
+
+/**
+ * Output formats of a streamed reporting structure.
+ */
+public enum ReportingStructureFormat {
+    /**
+     * One JSON document shaped like ReportingStructure, with the hierarchy nested in directReports.
+     */
+    JSON,
+
+    /**
+     * One JSON object per line (NDJSON), each employee carrying the ID of its manager in managerId.
+     */
+    NDJSON;
+
+    /**
+     * Parses a format name, ignoring case.
+     *
+     * @param name The format name, e.g. "json" or "ndjson"
+     * @return The format
+     * @throws InvalidEmployeeRequestException if the name is not a known format
+     */
+    public static ReportingStructureFormat from(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEmployeeRequestException("Unknown reporting structure format: " + name);
+        }
+    }
+}
@@ -8,6 +8,11 @@ import com.mindex.challenge.exception.EmployeeNotFoundException;
  * Provides methods to get complete reporting hierarchies for employees.
  */
 public interface ReportingStructureService {
+    /**
+     * Limit value that resolves every level or every report.
+     */
+    int UNLIMITED = Integer.MAX_VALUE;
+
     /**
      * Generate the complete reporting structure for a given employee.
      * 
@@ -16,4 +21,40 @@ public interface ReportingStructureService {
      * @throws EmployeeNotFoundException if no employee exists with the given ID
      */
     ReportingStructure getReportingStructure(String employeeID) throws EmployeeNotFoundException;
+
+    /**
+     * Generate a partial reporting structure for a given employee, resolving levels closest to the employee first.
+     * Managers whose reports were left out have empty direct reports and are listed in the truncated branches,
+     * each of which can be requested as the root of a new structure to continue.
+     *
+     * @param employeeID The ID of the employee to generate the structure for
+     * @param depth The number of levels below the employee to resolve, or {@link #UNLIMITED}
+     * @param maxNodes The maximum number of reports to resolve, or {@link #UNLIMITED}.
+     *                 The employee's direct reports are always resolved
+     * @return ReportingStructure with the resolved part of the hierarchy and the total number of reports
+     * @throws EmployeeNotFoundException if no employee exists with the given ID
+     */
+    ReportingStructure getReportingStructure(String employeeID, int depth, int maxNodes)
+        throws EmployeeNotFoundException;
+
+    /**
+     * Get the total number of reports for a given employee without resolving the hierarchy.
+     *
+     * @param employeeID The ID of the employee to count reports for
+     * @return ReportingStructure with the employee's own details (no direct reports) and total reports
+     * @throws EmployeeNotFoundException if no employee exists with the given ID
+     */
+    ReportingStructure getReportCount(String employeeID) throws EmployeeNotFoundException;
+
+    /**
+     * Stream the complete reporting structure for a given employee without materializing the hierarchy.
+     * The employee is looked up right away; the hierarchy is traversed and written by the returned writer.
+     *
+     * @param employeeID The ID of the employee to stream the structure for
+     * @param format The output format
+     * @return Writer that traverses the hierarchy while writing it
+     * @throws EmployeeNotFoundException if no employee exists with the given ID
+     */
+    ReportingStructureWriter streamReportingStructure(String employeeID, ReportingStructureFormat format)
+        throws EmployeeNotFoundException;
 }
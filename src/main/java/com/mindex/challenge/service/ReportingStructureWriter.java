@@ -0,0 +1,19 @@
+package com.mindex.challenge.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a reporting structure to a stream while it is being traversed.
+ * Obtained from ReportingStructureService once the employee is known to exist.
+ */
+@FunctionalInterface
+public interface ReportingStructureWriter {
+    /**
+     * Writes the reporting structure. The stream is flushed but not closed.
+     *
+     * @param output The stream to write to
+     * @throws IOException if writing to the stream fails
+     */
+    void writeTo(OutputStream output) throws IOException;
+}
@@ -1,12 +1,11 @@
 package com.mindex.challenge.service.impl;
 
-import java.util.Collections;
 import java.util.Date;
-import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import com.mindex.challenge.dao.CompensationRepository;
@@ -45,21 +44,20 @@ public class CompensationServiceImpl implements CompensationService {
     public Compensation create(String employeeId, double salary, Date effectiveDate) throws EmployeeNotFoundException {
         LOG.debug("Creating compensation for employee ID: {}", employeeId);
 
-        // Get and fully resolve the employee hierarchy
+        // Get the employee, already resolved with its direct reports
         Employee employee = employeeService.read(employeeId);
-        Employee resolvedEmployee = resolveEmployeeHierarchy(employee);
 
-        // Check if compensation already exists
-        Compensation existing = compensationRepository.findByEmployeeId(employeeId);
-        if (existing != null) {
+        // Create new compensation with resolved employee. The unique employeeId index rejects a second
+        // compensation, so concurrent creates cannot both succeed
+        Compensation compensation = new Compensation(employee, salary, effectiveDate);
+        Compensation created;
+        try {
+            created = compensationRepository.insert(compensation);
+        } catch (DuplicateKeyException e) {
             LOG.warn("Compensation already exists for employee ID: {}", employeeId);
             throw new IllegalArgumentException("Compensation already exists for this employee");
         }
 
-        // Create new compensation with resolved employee
-        Compensation compensation = new Compensation(resolvedEmployee, salary, effectiveDate);
-        Compensation created = compensationRepository.insert(compensation);
-
         LOG.info("Created compensation for employee {} {} - Salary: {}, Effective: {}",
                 employee.getFirstName(),
                 employee.getLastName(),
@@ -73,9 +71,8 @@ public class CompensationServiceImpl implements CompensationService {
     public Compensation read(String employeeId) throws EmployeeNotFoundException, CompensationNotFoundException {
         LOG.debug("Retrieving compensation for employee ID: {}", employeeId);
 
-        // Get and fully resolve the employee hierarchy
+        // Get the employee, already resolved with its direct reports
         Employee employee = employeeService.read(employeeId);
-        Employee resolvedEmployee = resolveEmployeeHierarchy(employee);
 
         // Find compensation
         Compensation compensation = compensationRepository.findByEmployeeId(employeeId);
@@ -85,7 +82,7 @@ public class CompensationServiceImpl implements CompensationService {
         }
 
         // Set the fully resolved employee
-        compensation.setEmployee(resolvedEmployee);
+        compensation.setEmployee(employee);
 
         LOG.debug("Found compensation for employee ID: {} - Salary: {}, Effective: {}",
                 employeeId,
@@ -94,62 +91,4 @@ public class CompensationServiceImpl implements CompensationService {
 
         return compensation;
     }
-
-    /**
-     * Recursively resolves the complete employee hierarchy starting from the given employee.
-     * Uses the same logic as ReportingStructureService for consistent employee resolution.
-     *
-     * @param employee The root employee to start resolution from
-     * @return The fully resolved employee with complete direct reports hierarchy
-     * @throws EmployeeNotFoundException if any employee in the hierarchy cannot be found
-     */
-    private Employee resolveEmployeeHierarchy(Employee employee) throws EmployeeNotFoundException {
-        // Create new employee instance to hold resolved data
-        Employee resolved = new Employee();
-
-        // Copy all basic fields
-        resolved.setEmployeeId(employee.getEmployeeId());
-        resolved.setFirstName(employee.getFirstName());
-        resolved.setLastName(employee.getLastName());
-        resolved.setPosition(employee.getPosition());
-        resolved.setDepartment(employee.getDepartment());
-
-        // Resolve only the direct reports recursively if they exist
-        if (employee.getDirectReports() != null) {
-            resolved.setDirectReports(
-                employee.getDirectReports().stream()
-                    .map(report -> {
-                        try {
-                            Employee directReport = employeeService.read(report.getEmployeeId());
-                            // Create a simplified version without nested reports
-                            // The reporting structure is not needed here, just the basic info
-                            // Hide the direct reports of any direct report
-                            Employee simplified = new Employee();
-                            simplified.setEmployeeId(directReport.getEmployeeId());
-                            simplified.setFirstName(directReport.getFirstName());
-                            simplified.setLastName(directReport.getLastName());
-                            simplified.setPosition(directReport.getPosition());
-                            simplified.setDepartment(directReport.getDepartment());
-                            
-                            // Match reporting structure behavior:
-                            // - [] if employee has reports (doesn't actually show them because the reporting structure is not needed)
-                            // - null if no reports
-                            if (directReport.getDirectReports() != null && !directReport.getDirectReports().isEmpty()) {
-                                simplified.setDirectReports(Collections.emptyList());
-                            }
-                            // else remains null
-                            
-                            return simplified;
-                        } catch (EmployeeNotFoundException e) {
-                            LOG.warn("Missing direct report: {}", report.getEmployeeId());
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .toList()
-            );
-        }
-
-        return resolved;
-    }
 }
\ No newline at end of file
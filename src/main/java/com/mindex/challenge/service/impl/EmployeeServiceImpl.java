@@ -1,20 +1,39 @@
 package com.mindex.challenge.service.impl;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.mindex.challenge.BootstrapStatus;
+import com.mindex.challenge.cache.EmployeeCache;
+import com.mindex.challenge.cache.ReportingStructureCache;
+import com.mindex.challenge.dao.EmployeeLoader;
+import com.mindex.challenge.dao.EmployeeLoaderProvider;
 import com.mindex.challenge.dao.EmployeeRepository;
 import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.data.EmployeeBatchResult;
+import com.mindex.challenge.data.EmployeeLookupResult;
+import com.mindex.challenge.exception.EmployeeConflictException;
 import com.mindex.challenge.exception.EmployeeNotFoundException;
+import com.mindex.challenge.exception.InvalidEmployeeRequestException;
+import com.mindex.challenge.graph.OrgGraph;
 import com.mindex.challenge.service.EmployeeService;
+import com.mindex.challenge.stats.RequestStats;
 
 /**
  * Implementation of the EmployeeService interface.
@@ -28,6 +47,29 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeLoaderProvider employeeLoaderProvider;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private ReportingStructureCache reportingStructureCache;
+
+    @Autowired
+    private BootstrapStatus bootstrapStatus;
+
+    // Absent when challenge.org-graph.enabled=false
+    @Autowired(required = false)
+    private OrgGraph orgGraph;
+
+    // Serializes changes to the hierarchy when there is no org graph to lock
+    private final ReentrantLock hierarchyLock = new ReentrantLock();
+
+    // Number of employees written per bulk insert in createAll
+    @Value("${challenge.batch.chunk-size:1000}")
+    private int batchChunkSize;
+
     /**
      * {@inheritDoc}
      */
@@ -39,8 +81,16 @@ public class EmployeeServiceImpl implements EmployeeService {
         // Set the employee ID to a randomly generated UUID
         employee.setEmployeeId(UUID.randomUUID().toString());
 
-        // Insert the employee into the repository
-        Employee createdEmployee = employeeRepository.insert(employee);
+        // New employees start at the top of the hierarchy until a manager lists them
+        employee.setAncestors(new ArrayList<>());
+        employee.setDepth(0);
+
+        // A new employee that takes direct reports from other managers changes the hierarchy like an update
+        Set<String> affectedStructures = new LinkedHashSet<>();
+        Employee createdEmployee = employee.getDirectReports() != null && !employee.getDirectReports().isEmpty()
+            ? withHierarchyLock(() -> insert(employee, affectedStructures))
+            : insert(employee, affectedStructures);
+        reportingStructureCache.invalidateAll(affectedStructures);
         
         // LOG the assigned employee ID
         LOG.info("Assigned employee ID: {}", createdEmployee.getEmployeeId());
@@ -49,6 +99,113 @@ public class EmployeeServiceImpl implements EmployeeService {
         return createdEmployee;
     }
 
+    /**
+     * Inserts a new employee, moves any direct reports below it and adds it to the org graph.
+     *
+     * @param employee The employee to insert, with its ID assigned
+     * @param affectedStructures Receives the IDs of the employees whose reporting structures lose the direct reports
+     * @return The stored employee
+     */
+    private Employee insert(Employee employee, Set<String> affectedStructures) {
+        // Capture the reporting structures that lose the new employee's direct reports
+        affectedStructures.addAll(affectedStructures(null, employee.getDirectReports()));
+
+        // Insert the employee into the repository
+        Employee createdEmployee = employeeRepository.insert(employee);
+
+        // Move any direct reports below the new employee and add it to the org graph
+        updateAncestors(createdEmployee, List.of());
+        syncOrgGraph(createdEmployee);
+        return createdEmployee;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<EmployeeBatchResult> createAll(List<Employee> employees) {
+        // LOG that the employees are being created
+        LOG.debug("Generating {} employee records in chunks of {}...", employees.size(), batchChunkSize);
+
+        EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+        List<Employee> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        Set<String> affectedStructures = new LinkedHashSet<>();
+
+        // Validate every employee with the constructor rules and assign the IDs up front
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee;
+            try {
+                employee = validated(employees.get(i));
+            } catch (InvalidEmployeeRequestException e) {
+                results[i] = EmployeeBatchResult.rejected(i, e.getMessage());
+                continue;
+            }
+
+            employee.setEmployeeId(UUID.randomUUID().toString());
+            employee.setAncestors(new ArrayList<>());
+            employee.setDepth(0);
+            affectedStructures.addAll(affectedStructures(null, employee.getDirectReports()));
+
+            valid.add(employee);
+            validIndexes.add(i);
+        }
+
+        // Insert in chunks with unordered bulk writes, so one failure does not stop the rest
+        List<Employee> created = new ArrayList<>();
+        for (int start = 0; start < valid.size(); start += batchChunkSize) {
+            List<Employee> chunk = valid.subList(start, Math.min(start + batchChunkSize, valid.size()));
+            Map<Integer, String> failures = employeeRepository.insertUnordered(chunk);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = validIndexes.get(start + i);
+                if (failures.containsKey(i)) {
+                    results[index] = EmployeeBatchResult.failed(index, failures.get(i));
+                } else {
+                    results[index] = EmployeeBatchResult.created(index, chunk.get(i));
+                    created.add(chunk.get(i));
+                }
+            }
+        }
+
+        // Move any direct reports below their new managers and add everyone to the org graph, as in create
+        withHierarchyLock(() -> {
+            for (Employee employee : created) {
+                if (employee.getDirectReports() != null && !employee.getDirectReports().isEmpty()) {
+                    updateAncestors(employee, List.of());
+                }
+                syncOrgGraph(employee);
+            }
+            return null;
+        });
+        reportingStructureCache.invalidateAll(affectedStructures);
+
+        // LOG the outcome of the batch
+        LOG.info("Created {} of {} employees in {} chunks",
+            created.size(), employees.size(), (valid.size() + batchChunkSize - 1) / batchChunkSize);
+
+        return List.of(results);
+    }
+
+    /**
+     * Builds an employee from request data with the validating Employee constructors.
+     *
+     * @param request The requested employee data
+     * @return A new employee holding the requested fields and direct reports
+     * @throws InvalidEmployeeRequestException if any required field is null or empty
+     */
+    private static Employee validated(Employee request) {
+        if (request == null) {
+            throw new InvalidEmployeeRequestException("Employee cannot be null");
+        }
+        if (request.getDirectReports() != null && !request.getDirectReports().isEmpty()) {
+            return new Employee(request.getFirstName(), request.getLastName(),
+                request.getPosition(), request.getDepartment(), request.getDirectReports());
+        }
+        return new Employee(request.getFirstName(), request.getLastName(),
+            request.getPosition(), request.getDepartment());
+    }
+
     /**
      * {@inheritDoc}
      * @throws EmployeeNotFoundException if no employee exists with the given ID
@@ -58,8 +215,18 @@ public class EmployeeServiceImpl implements EmployeeService {
         // LOG that the employee is being fetched
         LOG.debug("Fetching employee record - ID: {}", id);
 
-        // Try to fetch the employee from the repository by their employee ID
-        Employee fetchedEmployee = employeeRepository.findByEmployeeId(id);
+        // Try to fetch the employee through the request's loader by their employee ID
+        EmployeeLoader loader = employeeLoaderProvider.current();
+        Employee fetchedEmployee = loader.load(id);
+
+        // The employee may still be pending in an asynchronous seed data load
+        if (fetchedEmployee == null && bootstrapStatus.awaitIfLoading()) {
+            loader.invalidate(id);
+            fetchedEmployee = loader.load(id);
+        }
+        if (fetchedEmployee == null) {
+            throw new EmployeeNotFoundException("No employee found with ID: " + id);
+        }
         
         // LOG the retrieved employee details
         LOG.info("Retrieved employee - ID: {}, Position: {}, Department: {}",
@@ -68,75 +235,366 @@ public class EmployeeServiceImpl implements EmployeeService {
             fetchedEmployee.getDepartment());
 
         // Return the retrieved employee
-        return resolveEmployeeHierarchy(fetchedEmployee);
+        return resolveEmployeeHierarchy(fetchedEmployee, loader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<EmployeeLookupResult> readAll(List<String> ids) {
+        // LOG that the employees are being fetched
+        LOG.debug("Fetching {} employee records", ids.size());
+
+        // Load every requested employee with one batched query through the request's loader
+        EmployeeLoader loader = employeeLoaderProvider.current();
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        Map<String, Employee> fetched = loader.loadAll(distinctIds);
+
+        // Some employees may still be pending in an asynchronous seed data load
+        if (fetched.size() < distinctIds.size() && bootstrapStatus.awaitIfLoading()) {
+            distinctIds.forEach(loader::invalidate);
+            fetched = loader.loadAll(distinctIds);
+        }
+
+        // Load the direct reports of all of them with a second batched query; anything already loaded is reused
+        Set<String> reportIds = new LinkedHashSet<>();
+        for (Employee employee : fetched.values()) {
+            reportIds.addAll(reportIds(employee.getDirectReports()));
+        }
+        loader.loadAll(reportIds);
+
+        List<EmployeeLookupResult> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Employee employee = fetched.get(id);
+            results.add(employee != null
+                ? EmployeeLookupResult.found(resolveEmployeeHierarchy(employee, loader))
+                : EmployeeLookupResult.notFound(id));
+        }
+
+        // LOG how many of the employees were found
+        LOG.info("Retrieved {} of {} requested employees", fetched.size(), distinctIds.size());
+
+        return results;
     }
 
     /**
      * {@inheritDoc}
      * @throws EmployeeNotFoundException if no employee exists with the given ID
+     * @throws EmployeeConflictException if the employee changed since the given version, or during the update
      */
     @Override
     public Employee update(Employee updatedEmployee) throws EmployeeNotFoundException {
-        boolean changed = false;
-
         // Get the existing employee record
         Employee existing = employeeRepository.findByEmployeeId(updatedEmployee.getEmployeeId());
+        if (existing == null && bootstrapStatus.awaitIfLoading()) {
+            existing = employeeRepository.findByEmployeeId(updatedEmployee.getEmployeeId());
+        }
+        if (existing == null) {
+            throw new EmployeeNotFoundException("No employee found with ID: " + updatedEmployee.getEmployeeId());
+        }
+
+        Set<String> affectedStructures = new LinkedHashSet<>();
+        Employee updated;
+        if (updatedEmployee.getDirectReports() == null) {
+            updated = applyUpdate(existing, updatedEmployee, affectedStructures);
+        } else {
+            // Direct reports are validated, written and applied to the org graph as one step, so two
+            // concurrent updates cannot each pass the cycle check and together store a cycle.
+            // The employee is read again, the paths it was validated against may have moved meanwhile
+            String employeeId = existing.getEmployeeId();
+            updated = withHierarchyLock(() -> applyUpdate(
+                employeeRepository.findByEmployeeId(employeeId), updatedEmployee, affectedStructures));
+        }
+
+        // Invalidated outside the lock, a structure being built holds its cache entry while it waits to read the graph
+        reportingStructureCache.invalidateAll(affectedStructures);
+        return updated;
+    }
+
+    /**
+     * Writes the changes of an update to the stored employee and applies them to the ancestor paths and the org graph.
+     *
+     * @param existing The stored employee
+     * @param updatedEmployee The requested changes
+     * @param affectedStructures Receives the IDs of the employees whose reporting structures the write changed
+     * @return The stored employee with the changes applied
+     * @throws EmployeeConflictException if the employee changed since the given version, or during the update
+     */
+    private Employee applyUpdate(Employee existing, Employee updatedEmployee, Set<String> affectedStructures) {
+        // A client that sends the version it read expects the employee to be unchanged since
+        if (updatedEmployee.getVersion() != null && !updatedEmployee.getVersion().equals(existing.getVersion())) {
+            throw new EmployeeConflictException(String.format(
+                "Employee %s is at version %s, not %s", existing.getEmployeeId(), existing.getVersion(),
+                updatedEmployee.getVersion()));
+        }
+
+        // Reject direct reports that would create a reporting cycle before anything is saved
+        validateDirectReports(existing, updatedEmployee.getDirectReports());
+        List<String> previousReportIds = reportIds(existing.getDirectReports());
+
+        // Capture the reporting structures the write can change while the old management chains are known
+        affectedStructures.addAll(affectedStructures(existing, updatedEmployee.getDirectReports()));
 
         // Detect any changes with the getChangedFields method
         Map<String, String> changes = existing.getChangedFields(updatedEmployee);
+        List<String> reportIds = reportIds(updatedEmployee.getDirectReports());
+        boolean reportsChanged = updatedEmployee.getDirectReports() != null && !reportIds.equals(previousReportIds);
+        if (reportsChanged) {
+            changes.put("directReports", previousReportIds + " -> " + reportIds);
+        }
+
+        // Nothing to write, the stored record is returned as is
+        if (changes.isEmpty()) {
+            LOG.warn("No changes detected for employee: {}", updatedEmployee.getEmployeeId());
+            return existing;
+        }
+
+        LOG.debug("Updating employee: {}. Changes: {}",
+            updatedEmployee.getEmployeeId(),
+            changes.entrySet().stream()
+                .map(e -> e.getKey() + ": " + e.getValue())
+                .collect(Collectors.joining(", "))
+        );
 
-        // Merge changes from updatedEmployee into existing employee
-        if (updatedEmployee.getFirstName() != null) {
+        // Merge the changes into the existing employee, collecting only the changed fields to write
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (changes.containsKey("firstName")) {
             existing.setFirstName(updatedEmployee.getFirstName());
+            fields.put("firstName", existing.getFirstName());
         }
-        if (updatedEmployee.getLastName() != null) {
+        if (changes.containsKey("lastName")) {
             existing.setLastName(updatedEmployee.getLastName());
+            fields.put("lastName", existing.getLastName());
         }
-        if (updatedEmployee.getPosition() != null) {
+        if (changes.containsKey("position")) {
             existing.setPosition(updatedEmployee.getPosition());
+            fields.put("position", existing.getPosition());
         }
-        if (updatedEmployee.getDepartment() != null) {
+        if (changes.containsKey("department")) {
             existing.setDepartment(updatedEmployee.getDepartment());
+            fields.put("department", existing.getDepartment());
         }
-        if (updatedEmployee.getDirectReports() != null) {
-            existing.setDirectReports(updatedEmployee.getDirectReports());
+        if (reportsChanged) {
+            // Direct reports are stored as references holding only the employeeId
+            existing.setDirectReports(reportIds.stream().map(EmployeeServiceImpl::reference).toList());
+            fields.put("directReports", existing.getDirectReports());
         }
 
-        // Log based on what was changed
-        if (!changes.isEmpty()) {
-            changed = true;
-            LOG.debug("Updating employee: {}. Changes: {}",
-                updatedEmployee.getEmployeeId(),
-                changes.entrySet().stream()
-                    .map(e -> e.getKey() + ": " + e.getValue())
-                    .collect(Collectors.joining(", "))
-            );
-        } else {
-            LOG.warn("No changes detected for employee: {}", updatedEmployee.getEmployeeId());
+        // Write the changed fields with one atomic update, which fails if another update got there first
+        if (!employeeRepository.updateFields(existing.getEmployeeId(), existing.getVersion(), fields)) {
+            throw new EmployeeConflictException(String.format(
+                "Employee %s was modified by a concurrent update, read it again and retry", existing.getEmployeeId()));
+        }
+        existing.setVersion(existing.getVersion() != null ? existing.getVersion() + 1 : 1);
+
+        // Keep the ancestor paths, the org graph and the cached copies in sync with the saved record
+        evict(List.of(existing.getEmployeeId()));
+        if (reportsChanged) {
+            updateAncestors(existing, previousReportIds);
         }
+        syncOrgGraph(existing);
 
-        // Save the merged employee
-        Employee saved = employeeRepository.save(existing);
+        LOG.info("Employee {} updated to version {}. Modified fields: {}",
+            existing.getEmployeeId(),
+            existing.getVersion(),
+            String.join(", ", changes.keySet()));
 
-        // Log the updated employee details if there were changes
-        if(changed) {
-            LOG.info("Employee {} updated. Modified fields: {}", 
-                saved.getEmployeeId(), 
-                String.join(", ", changes.keySet()));
+        return existing;
+    }
+
+    /**
+     * Checks that the proposed direct reports do not include the manager or anyone above it.
+     * Uses the org graph when available, otherwise the manager's materialized ancestors.
+     *
+     * @param manager The stored manager
+     * @param directReports The proposed direct reports (may be null)
+     * @throws InvalidEmployeeRequestException if the direct reports would create a reporting cycle
+     */
+    private void validateDirectReports(Employee manager, List<Employee> directReports) {
+        if (orgGraph != null) {
+            orgGraph.validateDirectReports(manager.getEmployeeId(), directReports);
+            return;
         }
-        
-        return saved;
+
+        List<String> chain = pathBelow(manager);
+        for (String reportId : reportIds(directReports)) {
+            if (chain.contains(reportId)) {
+                throw new InvalidEmployeeRequestException(String.format(
+                    "Employee %s cannot report to %s: it would create a reporting cycle",
+                    reportId, manager.getEmployeeId()));
+            }
+        }
+    }
+
+    /**
+     * Collects the reporting structures a write can change: the structures of the written employee
+     * and its management chain, and of the managers above any report that joins it from elsewhere.
+     * Structures of unrelated subtrees are left out.
+     *
+     * @param existing The stored employee, or null if it is being created
+     * @param directReports The proposed direct reports (may be null)
+     * @return The IDs of the employees whose reporting structures must be invalidated
+     */
+    private Set<String> affectedStructures(Employee existing, List<Employee> directReports) {
+        Set<String> affected = new LinkedHashSet<>();
+        List<String> previousReportIds = List.of();
+        if (existing != null) {
+            affected.addAll(reportingStructureCache.managementChain(existing.getEmployeeId()));
+            previousReportIds = reportIds(existing.getDirectReports());
+        }
+
+        for (String reportId : reportIds(directReports)) {
+            if (!previousReportIds.contains(reportId)) {
+                // The report's own subtree is unchanged, only the managers it leaves are affected
+                Set<String> previousChain = reportingStructureCache.managementChain(reportId);
+                previousChain.remove(reportId);
+                affected.addAll(previousChain);
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Rewrites the materialized ancestors of every report that joined or left the manager,
+     * together with everyone below them.
+     *
+     * @param manager The stored manager with its new direct reports
+     * @param previousReportIds The manager's direct reports before the change
+     */
+    private void updateAncestors(Employee manager, List<String> previousReportIds) {
+        List<String> currentReportIds = reportIds(manager.getDirectReports());
+        List<String> managerPath = pathBelow(manager);
+
+        for (String reportId : currentReportIds) {
+            if (!previousReportIds.contains(reportId)) {
+                evict(employeeRepository.moveSubtree(reportId, managerPath));
+            }
+        }
+
+        // Reports that were dropped become top-level employees
+        for (String reportId : previousReportIds) {
+            if (!currentReportIds.contains(reportId)) {
+                evict(employeeRepository.moveSubtree(reportId, List.of()));
+            }
+        }
+    }
+
+    /**
+     * Gets the materialized path for the direct reports of an employee: its ancestors followed by itself.
+     *
+     * @param employee The stored employee
+     * @return The path, top-level manager first
+     */
+    private static List<String> pathBelow(Employee employee) {
+        List<String> path = employee.getAncestors() != null
+            ? new ArrayList<>(employee.getAncestors())
+            : new ArrayList<>();
+        path.add(employee.getEmployeeId());
+        return path;
     }
 
     /**
-     * Recursively resolves the complete employee hierarchy starting from the given employee.
-     * Uses the same logic as ReportingStructureService for consistent employee resolution.
+     * Gets the IDs of the given direct report references.
+     *
+     * @param directReports The direct report references (may be null)
+     * @return The IDs in order, empty if there are no direct reports
+     */
+    private static List<String> reportIds(List<Employee> directReports) {
+        if (directReports == null) {
+            return List.of();
+        }
+        return directReports.stream()
+            .map(Employee::getEmployeeId)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    private static Employee reference(String employeeId) {
+        Employee reference = new Employee();
+        reference.setEmployeeId(employeeId);
+        return reference;
+    }
+
+    /**
+     * Applies a stored employee to the org graph. Direct reports that were moved away from
+     * another manager are also removed from that manager's stored record.
+     *
+     * @param employee The employee as stored in the repository
+     */
+    private void syncOrgGraph(Employee employee) {
+        if (orgGraph == null) {
+            return;
+        }
+
+        for (String previousManagerId : orgGraph.upsert(employee)) {
+            LOG.debug("Direct reports moved from {} to {}", previousManagerId, employee.getEmployeeId());
+            replaceDirectReports(previousManagerId, orgGraph.directReportIds(previousManagerId));
+            evict(List.of(previousManagerId));
+        }
+    }
+
+    /**
+     * Stores the remaining direct reports of a manager that lost reports to another one.
+     * The write is version checked like an update, so a concurrent change to the manager's other
+     * fields is kept: the manager is read again and the write retried. The direct reports themselves
+     * cannot change meanwhile, they are only written under the hierarchy lock.
+     *
+     * @param managerId The ID of the manager
+     * @param reportIds The IDs of its remaining direct reports, in order
+     */
+    private void replaceDirectReports(String managerId, List<String> reportIds) {
+        while (true) {
+            Employee manager = employeeRepository.findByEmployeeId(managerId);
+            if (manager == null
+                    || employeeRepository.replaceDirectReports(managerId, manager.getVersion(), reportIds)) {
+                return;
+            }
+            LOG.debug("Employee {} was modified by a concurrent update, replacing its direct reports again", managerId);
+        }
+    }
+
+    /**
+     * Runs a change to the hierarchy so that it cannot interleave with another one: under the
+     * org graph's write lock, or under a lock of this service when there is no org graph.
+     * Reporting structures must be invalidated after it returns, never from within the action.
+     *
+     * @param action The change, from validation through the storage writes to the org graph update
+     * @return The action's result
+     */
+    private <T> T withHierarchyLock(Supplier<T> action) {
+        if (orgGraph != null) {
+            return orgGraph.withWriteLock(action);
+        }
+
+        hierarchyLock.lock();
+        try {
+            return action.get();
+        } finally {
+            hierarchyLock.unlock();
+        }
+    }
+
+    /**
+     * Drops written employees from the shared cache and from the request's loader.
+     *
+     * @param employeeIds The IDs of the employees whose records were written
+     */
+    private void evict(List<String> employeeIds) {
+        EmployeeLoader loader = employeeLoaderProvider.current();
+        employeeIds.forEach(loader::invalidate);
+        employeeCache.invalidateAll(employeeIds);
+    }
+
+    /**
+     * Resolves the direct reports of the given employee.
+     * All direct reports are loaded with a single batched query through the request's loader.
      *
      * @param employee The root employee to start resolution from
-     * @return The fully resolved employee with complete direct reports hierarchy
-     * @throws EmployeeNotFoundException if any employee in the hierarchy cannot be found
+     * @param loader The request's employee loader
+     * @return The employee with its direct reports resolved one level deep
      */
-    private Employee resolveEmployeeHierarchy(Employee employee) throws EmployeeNotFoundException {
+    private Employee resolveEmployeeHierarchy(Employee employee, EmployeeLoader loader) {
         // Create new employee instance to hold resolved data
         Employee resolved = new Employee();
 
@@ -146,46 +604,46 @@ public class EmployeeServiceImpl implements EmployeeService {
         resolved.setLastName(employee.getLastName());
         resolved.setPosition(employee.getPosition());
         resolved.setDepartment(employee.getDepartment());
+        resolved.setVersion(employee.getVersion());
 
-        // Resolve only the direct reports recursively if they exist
+        // Resolve only the direct reports if they exist
         if (employee.getDirectReports() != null) {
+            List<String> reportIds = reportIds(employee.getDirectReports());
+            Map<String, Employee> directReports = loader.loadAll(reportIds);
+
             resolved.setDirectReports(
-                employee.getDirectReports().stream()
-                    .map(report -> {
-                        try {
-                            Employee directReport = employeeRepository.findByEmployeeId(report.getEmployeeId());
-                            if (directReport == null) {
-                                LOG.warn("Missing direct report: {}", report.getEmployeeId());
-                                return null;
-                            }
-                            Employee simplified = new Employee();
-                            simplified.setEmployeeId(directReport.getEmployeeId());
-                            simplified.setFirstName(directReport.getFirstName());
-                            simplified.setLastName(directReport.getLastName());
-                            simplified.setPosition(directReport.getPosition());
-                            simplified.setDepartment(directReport.getDepartment());
-                            
-                            // Match reporting structure behavior:
-                            // - [] if employee has reports (doesn't actually show them because the reporting structure is not needed)
-                            // - null if no reports
-                            if (directReport.getDirectReports() != null && !directReport.getDirectReports().isEmpty()) {
-                                simplified.setDirectReports(Collections.emptyList());
-                            }
-                            // else remains null
-
-                            return simplified;
-                        } catch (Exception e) {
-                            LOG.warn("Error resolving direct report: {}", report.getEmployeeId(), e);
+                reportIds.stream()
+                    .map(reportId -> {
+                        Employee directReport = directReports.get(reportId);
+                        if (directReport == null) {
+                            LOG.warn("Missing direct report: {}", reportId);
                             return null;
                         }
+                        Employee simplified = new Employee();
+                        simplified.setEmployeeId(directReport.getEmployeeId());
+                        simplified.setFirstName(directReport.getFirstName());
+                        simplified.setLastName(directReport.getLastName());
+                        simplified.setPosition(directReport.getPosition());
+                        simplified.setDepartment(directReport.getDepartment());
+
+                        // Match reporting structure behavior:
+                        // - [] if employee has reports (doesn't actually show them because the reporting structure is not needed)
+                        // - null if no reports
+                        if (directReport.getDirectReports() != null && !directReport.getDirectReports().isEmpty()) {
+                            simplified.setDirectReports(Collections.emptyList());
+                        }
+                        // else remains null
+
+                        return simplified;
                     })
                     .filter(Objects::nonNull)
                     .toList()
             );
+            RequestStats.current().recordTraversal(1 + resolved.getDirectReports().size(), 1);
         } else {
+            RequestStats.current().recordTraversal(1, 0);
             resolved.setDirectReports(null);
         }
-        
 
         return resolved;
     }
@@ -0,0 +1,70 @@
+package com.mindex.challenge.service.impl;
+
+import java.util.Date;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.mindex.challenge.dao.reactive.ReactiveCompensationRepository;
+import com.mindex.challenge.data.Compensation;
+import com.mindex.challenge.exception.CompensationNotFoundException;
+import com.mindex.challenge.service.CompensationService;
+import com.mindex.challenge.service.ReactiveCompensationService;
+import com.mindex.challenge.service.ReactiveEmployeeService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive compensation service of the reactive profile.
+ * Reads are non-blocking, creates are delegated to CompensationService on the bounded elastic scheduler
+ * so the uniqueness check stays in one place.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveCompensationServiceImpl implements ReactiveCompensationService {
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveCompensationServiceImpl.class);
+
+    private final ReactiveCompensationRepository compensationRepository;
+    private final ReactiveEmployeeService employeeService;
+    private final CompensationService compensationService;
+
+    /**
+     * Constructs a new ReactiveCompensationServiceImpl with required dependencies.
+     *
+     * @param compensationRepository The reactive repository for compensation data access
+     * @param employeeService The reactive service to resolve employees with
+     * @param compensationService The blocking service that performs writes
+     */
+    @Autowired
+    public ReactiveCompensationServiceImpl(ReactiveCompensationRepository compensationRepository,
+            ReactiveEmployeeService employeeService, CompensationService compensationService) {
+        this.compensationRepository = compensationRepository;
+        this.employeeService = employeeService;
+        this.compensationService = compensationService;
+    }
+
+    @Override
+    public Mono<Compensation> create(String employeeId, double salary, Date effectiveDate) {
+        return Mono.fromCallable(() -> compensationService.create(employeeId, salary, effectiveDate))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Compensation> read(String employeeId) {
+        LOG.debug("Retrieving compensation for employee ID: {}", employeeId);
+
+        // The employee is resolved first, so an unknown employee is reported before a missing compensation
+        return employeeService.read(employeeId)
+            .flatMap(employee -> compensationRepository.findByEmployeeId(employeeId)
+                .switchIfEmpty(Mono.error(() -> new CompensationNotFoundException(
+                    "No compensation found for employee: " + employeeId)))
+                .map(compensation -> {
+                    compensation.setEmployee(employee);
+                    return compensation;
+                }));
+    }
+}
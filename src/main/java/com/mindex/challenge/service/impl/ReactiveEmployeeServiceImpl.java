@@ -0,0 +1,187 @@
+package com.mindex.challenge.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.mindex.challenge.BootstrapStatus;
+import com.mindex.challenge.dao.reactive.ReactiveEmployeeLoader;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.data.EmployeeBatchResult;
+import com.mindex.challenge.data.EmployeeLookupResult;
+import com.mindex.challenge.exception.EmployeeNotFoundException;
+import com.mindex.challenge.service.EmployeeService;
+import com.mindex.challenge.service.ReactiveEmployeeService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive employee service of the reactive profile.
+ *
+ * Key Features:
+ * - Reads are non-blocking, through the ReactiveEmployeeLoader
+ * - Writes are delegated to EmployeeService on the bounded elastic scheduler, so the validation, materialized
+ *   paths, org graph and cache invalidation of writes stay in one place and never block an event loop thread
+ * - Lookups that miss while the seed data is loading fail right away with a retryable 503 instead of waiting
+ */
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveEmployeeServiceImpl.class);
+
+    private final ReactiveEmployeeLoader employeeLoader;
+    private final EmployeeService employeeService;
+    private final BootstrapStatus bootstrapStatus;
+
+    /**
+     * Constructs a new ReactiveEmployeeServiceImpl with required dependencies.
+     *
+     * @param employeeLoader The non-blocking loader to read employees with
+     * @param employeeService The blocking service that performs writes
+     * @param bootstrapStatus The progress of the seed data load
+     */
+    @Autowired
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeLoader employeeLoader, EmployeeService employeeService,
+            BootstrapStatus bootstrapStatus) {
+        this.employeeLoader = employeeLoader;
+        this.employeeService = employeeService;
+        this.bootstrapStatus = bootstrapStatus;
+    }
+
+    @Override
+    public Mono<Employee> create(Employee employee) {
+        return blocking(() -> employeeService.create(employee));
+    }
+
+    @Override
+    public Mono<List<EmployeeBatchResult>> createAll(List<Employee> employees) {
+        return blocking(() -> employeeService.createAll(employees));
+    }
+
+    @Override
+    public Mono<Employee> update(Employee employee) {
+        return blocking(() -> employeeService.update(employee));
+    }
+
+    @Override
+    public Mono<Employee> read(String id) {
+        LOG.debug("Fetching employee record - ID: {}", id);
+
+        return employeeLoader.load(id)
+            .switchIfEmpty(Mono.defer(() -> {
+                bootstrapStatus.checkNotLoading();
+                return Mono.error(new EmployeeNotFoundException("No employee found with ID: " + id));
+            }))
+            .flatMap(employee -> employeeLoader.loadAll(reportIds(employee.getDirectReports()))
+                .map(directReports -> resolveEmployeeHierarchy(employee, directReports)));
+    }
+
+    @Override
+    public Mono<List<EmployeeLookupResult>> readAll(List<String> ids) {
+        LOG.debug("Fetching {} employee records", ids.size());
+
+        // One batched load for the employees, and one for the direct reports of all of them
+        return employeeLoader.loadAll(ids)
+            .flatMap(fetched -> {
+                if (fetched.size() < new LinkedHashSet<>(ids).size()) {
+                    bootstrapStatus.checkNotLoading();
+                }
+
+                Set<String> reportIds = new LinkedHashSet<>();
+                for (Employee employee : fetched.values()) {
+                    reportIds.addAll(reportIds(employee.getDirectReports()));
+                }
+                return employeeLoader.loadAll(reportIds).map(directReports -> {
+                    List<EmployeeLookupResult> results = new ArrayList<>(ids.size());
+                    for (String id : ids) {
+                        Employee employee = fetched.get(id);
+                        results.add(employee != null
+                            ? EmployeeLookupResult.found(resolveEmployeeHierarchy(employee, directReports))
+                            : EmployeeLookupResult.notFound(id));
+                    }
+                    return results;
+                });
+            });
+    }
+
+    /**
+     * Runs a blocking call of the EmployeeService on the bounded elastic scheduler.
+     *
+     * @param call The blocking call
+     * @param <T> The result type
+     * @return The result of the call
+     */
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Gets the IDs of a list of direct reports, skipping references without an ID.
+     *
+     * @param directReports The direct reports, may be null
+     * @return The IDs, in order
+     */
+    private static List<String> reportIds(List<Employee> directReports) {
+        if (directReports == null) {
+            return List.of();
+        }
+        return directReports.stream()
+            .map(Employee::getEmployeeId)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    /**
+     * Resolves the direct reports of an employee one level deep, like EmployeeServiceImpl.
+     * Reports with reports of their own have an empty list, others null.
+     *
+     * @param employee The employee to resolve
+     * @param loaded The loaded employees, including the direct reports
+     * @return The employee with its direct reports resolved one level deep
+     */
+    private static Employee resolveEmployeeHierarchy(Employee employee, Map<String, Employee> loaded) {
+        Employee resolved = copyOf(employee);
+        resolved.setVersion(employee.getVersion());
+        if (employee.getDirectReports() == null) {
+            return resolved;
+        }
+
+        List<Employee> directReports = new ArrayList<>();
+        for (String reportId : reportIds(employee.getDirectReports())) {
+            Employee directReport = loaded.get(reportId);
+            if (directReport == null) {
+                LOG.warn("Missing direct report: {}", reportId);
+                continue;
+            }
+            Employee simplified = copyOf(directReport);
+            if (directReport.getDirectReports() != null && !directReport.getDirectReports().isEmpty()) {
+                simplified.setDirectReports(Collections.emptyList());
+            }
+            directReports.add(simplified);
+        }
+        resolved.setDirectReports(directReports);
+        return resolved;
+    }
+
+    private static Employee copyOf(Employee employee) {
+        Employee copy = new Employee();
+        copy.setEmployeeId(employee.getEmployeeId());
+        copy.setFirstName(employee.getFirstName());
+        copy.setLastName(employee.getLastName());
+        copy.setPosition(employee.getPosition());
+        copy.setDepartment(employee.getDepartment());
+        return copy;
+    }
+}
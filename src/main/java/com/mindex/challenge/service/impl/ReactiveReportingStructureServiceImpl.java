@@ -0,0 +1,265 @@
+package com.mindex.challenge.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.mindex.challenge.BootstrapStatus;
+import com.mindex.challenge.dao.reactive.ReactiveEmployeeLoader;
+import com.mindex.challenge.dao.reactive.ReactiveEmployeeRepository;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.data.ReportingStructure;
+import com.mindex.challenge.data.ReportingStructureLine;
+import com.mindex.challenge.exception.EmployeeNotFoundException;
+import com.mindex.challenge.service.ReactiveReportingStructureService;
+import com.mindex.challenge.service.ReportingStructureService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive reporting structure service of the reactive profile.
+ *
+ * Hierarchies are expanded level by level: the direct reports of every employee on a level are fetched together
+ * by the ReactiveEmployeeLoader, as $in queries with bounded concurrency, before the next level is expanded.
+ * Round trips grow with the depth of the hierarchy rather than with its size, and no thread waits on storage.
+ * Depth and node limits follow ReportingStructureServiceImpl, as does the handling of missing or stale reports.
+ * Structures are not cached and do not use the org graph, both belong to the blocking stack.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveReportingStructureServiceImpl implements ReactiveReportingStructureService {
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveReportingStructureServiceImpl.class);
+
+    private final ReactiveEmployeeRepository employeeRepository;
+    private final ReactiveEmployeeLoader employeeLoader;
+    private final BootstrapStatus bootstrapStatus;
+
+    /**
+     * Constructs a new ReactiveReportingStructureServiceImpl with required dependencies.
+     *
+     * @param employeeRepository The repository to count subtrees with
+     * @param employeeLoader The non-blocking loader to fetch the levels of a hierarchy with
+     * @param bootstrapStatus The progress of the seed data load
+     */
+    @Autowired
+    public ReactiveReportingStructureServiceImpl(ReactiveEmployeeRepository employeeRepository,
+            ReactiveEmployeeLoader employeeLoader, BootstrapStatus bootstrapStatus) {
+        this.employeeRepository = employeeRepository;
+        this.employeeLoader = employeeLoader;
+        this.bootstrapStatus = bootstrapStatus;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote The reports of a truncated structure are counted with a separate count query on the ancestors
+     */
+    @Override
+    public Mono<ReportingStructure> getReportingStructure(String employeeId, int depth, int maxNodes) {
+        LOG.debug("Building reporting structure for employee ID: {} (depth: {}, maxNodes: {})",
+            employeeId, depth, maxNodes);
+
+        return loadRoot(employeeId).flatMap(root -> {
+            Traversal traversal = new Traversal(root, depth, maxNodes, true);
+            return expand(traversal).then(Mono.defer(() -> {
+                if (traversal.truncatedBranches.isEmpty()) {
+                    return Mono.just(new ReportingStructure(traversal.resolvedRoot, traversal.numberOfReports,
+                        traversal.truncatedBranches));
+                }
+                return employeeRepository.countByAncestors(employeeId)
+                    .map(count -> new ReportingStructure(traversal.resolvedRoot, count.intValue(),
+                        traversal.truncatedBranches));
+            }));
+        });
+    }
+
+    @Override
+    public Mono<ReportingStructure> getReportCount(String employeeId) {
+        LOG.debug("Counting reports for employee ID: {}", employeeId);
+
+        return loadRoot(employeeId)
+            .zipWith(employeeRepository.countByAncestors(employeeId),
+                (root, count) -> new ReportingStructure(copyOf(root), count.intValue()));
+    }
+
+    @Override
+    public Flux<ReportingStructureLine> streamReportingStructure(String employeeId) {
+        LOG.debug("Streaming reporting structure for employee ID: {}", employeeId);
+
+        return loadRoot(employeeId).flatMapMany(root -> {
+            Traversal traversal = new Traversal(root, ReportingStructureService.UNLIMITED,
+                ReportingStructureService.UNLIMITED, false);
+            return expand(traversal).concatMapIterable(level -> level.stream()
+                .map(pending -> ReportingStructureLine.of(pending.stored(), pending.managerId()))
+                .toList());
+        });
+    }
+
+    /**
+     * Loads the employee at the top of a structure. While the seed data is loading, fails with a retryable
+     * DataLoadingException instead, as a structure needs the whole hierarchy.
+     *
+     * @param employeeId The ID of the employee
+     * @return The stored employee, or an EmployeeNotFoundException error
+     */
+    private Mono<Employee> loadRoot(String employeeId) {
+        return Mono.fromRunnable(bootstrapStatus::checkNotLoading)
+            .then(employeeLoader.load(employeeId))
+            .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException("No employee found with ID: " + employeeId)));
+    }
+
+    /**
+     * Expands a hierarchy level by level. The next level is only fetched once the subscriber requested it.
+     *
+     * @param traversal The traversal to expand
+     * @return Every level of the hierarchy, the root level first
+     */
+    private Flux<List<Pending>> expand(Traversal traversal) {
+        return Mono.just(traversal.rootLevel())
+            .expand(level -> level.isEmpty()
+                ? Mono.empty()
+                : employeeLoader.loadAll(traversal.reportIdsOf(level)).map(found -> traversal.nextLevel(level, found)))
+            .filter(level -> !level.isEmpty());
+    }
+
+    /**
+     * An employee whose direct reports are resolved with the next level.
+     *
+     * @param stored The stored employee
+     * @param resolved The resolved copy of the employee, null when the structure is not materialized
+     * @param managerId The ID of the manager the employee was attached to, null for the root
+     * @param level The number of levels below the root
+     */
+    private record Pending(Employee stored, Employee resolved, String managerId, int level) {}
+
+    /**
+     * State of one level-by-level expansion. Levels are processed one after the other, never concurrently.
+     */
+    private static final class Traversal {
+        private final Employee root;
+        private final int depth;
+        private final int maxNodes;
+        private final boolean materialize;
+
+        private final Employee resolvedRoot;
+        private final Set<String> attached = new HashSet<>();
+        private final List<String> truncatedBranches = new ArrayList<>();
+        private int numberOfReports;
+        private boolean exhausted;
+
+        Traversal(Employee root, int depth, int maxNodes, boolean materialize) {
+            this.root = root;
+            this.depth = depth;
+            this.maxNodes = maxNodes;
+            this.materialize = materialize;
+            this.resolvedRoot = materialize ? copyOf(root) : null;
+            attached.add(root.getEmployeeId());
+        }
+
+        List<Pending> rootLevel() {
+            return List.of(new Pending(root, resolvedRoot, null, 0));
+        }
+
+        /**
+         * Gets the IDs of the direct reports to fetch for a level. The whole level is fetched at once,
+         * so a node limit can read more employees than it resolves.
+         */
+        Set<String> reportIdsOf(List<Pending> level) {
+            Set<String> reportIds = new LinkedHashSet<>();
+            if (exhausted) {
+                return reportIds;
+            }
+            for (Pending manager : level) {
+                if (manager.level() < depth && manager.stored().getDirectReports() != null) {
+                    for (Employee report : manager.stored().getDirectReports()) {
+                        if (report.getEmployeeId() != null && !attached.contains(report.getEmployeeId())) {
+                            reportIds.add(report.getEmployeeId());
+                        }
+                    }
+                }
+            }
+            return reportIds;
+        }
+
+        /**
+         * Attaches the fetched direct reports of a level, with the limits of ReportingStructureServiceImpl:
+         * the reports of a manager are resolved all or none, those of the root always, and once a manager's
+         * reports do not fit every remaining manager is truncated.
+         */
+        List<Pending> nextLevel(List<Pending> level, Map<String, Employee> found) {
+            List<Pending> next = new ArrayList<>();
+            for (Pending manager : level) {
+                List<Employee> reports = manager.stored().getDirectReports();
+                if (reports == null || reports.isEmpty()) {
+                    continue;
+                }
+
+                if (!exhausted && manager.level() > 0 && numberOfReports + reports.size() > maxNodes) {
+                    exhausted = true;
+                }
+                if (exhausted || manager.level() >= depth) {
+                    if (materialize) {
+                        manager.resolved().setDirectReports(new ArrayList<>());
+                    }
+                    truncatedBranches.add(manager.stored().getEmployeeId());
+                    continue;
+                }
+
+                for (Employee report : reports) {
+                    Employee stored = found.get(report.getEmployeeId());
+                    if (stored == null || !isDirectManager(manager.stored().getEmployeeId(), stored)
+                            || !attached.add(stored.getEmployeeId())) {
+                        LOG.warn("Missing employee in reporting chain: {}", report.getEmployeeId());
+                        continue;
+                    }
+
+                    Employee resolvedReport = null;
+                    if (materialize) {
+                        resolvedReport = copyOf(stored);
+                        if (manager.resolved().getDirectReports() == null) {
+                            manager.resolved().setDirectReports(new ArrayList<>());
+                        }
+                        manager.resolved().getDirectReports().add(resolvedReport);
+                    }
+                    numberOfReports++;
+                    next.add(new Pending(stored, resolvedReport, manager.stored().getEmployeeId(), manager.level() + 1));
+                }
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Checks the materialized path of a report against the manager listing it, so that
+     * stale listings are not attached to the wrong manager.
+     *
+     * @param managerId The ID of the manager listing the report
+     * @param report The stored report
+     * @return true if the manager is the last entry of the report's ancestors
+     */
+    private static boolean isDirectManager(String managerId, Employee report) {
+        List<String> ancestors = report.getAncestors();
+        return ancestors != null
+            && !ancestors.isEmpty()
+            && ancestors.get(ancestors.size() - 1).equals(managerId);
+    }
+
+    private static Employee copyOf(Employee employee) {
+        Employee copy = new Employee();
+        copy.setEmployeeId(employee.getEmployeeId());
+        copy.setFirstName(employee.getFirstName());
+        copy.setLastName(employee.getLastName());
+        copy.setPosition(employee.getPosition());
+        copy.setDepartment(employee.getDepartment());
+        return copy;
+    }
+}
@@ -1,39 +1,99 @@
 package com.mindex.challenge.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindex.challenge.BootstrapStatus;
+import com.mindex.challenge.cache.ReportingStructureCache;
+import com.mindex.challenge.dao.EmployeeLoaderProvider;
+import com.mindex.challenge.dao.EmployeeRepository;
 import com.mindex.challenge.data.Employee;
 import com.mindex.challenge.data.ReportingStructure;
 import com.mindex.challenge.exception.EmployeeNotFoundException;
-import com.mindex.challenge.service.EmployeeService;
+import com.mindex.challenge.graph.OrgGraph;
+import com.mindex.challenge.jfr.ReportingStructureBuildEvent;
+import com.mindex.challenge.service.ReportingStructureFormat;
 import com.mindex.challenge.service.ReportingStructureService;
+import com.mindex.challenge.service.ReportingStructureWriter;
+import com.mindex.challenge.service.impl.ReportingStructureStreamer.Node;
+import com.mindex.challenge.stats.RequestStats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Service implementation for generating employee reporting structures.
- * Uses EmployeeService to properly retrieve employees while keeping track of
- * service layer abstraction and business logic consistency.
+ * Walks the in-memory OrgGraph, so building a structure does not make any repository calls.
+ * When the graph is disabled, the whole hierarchy is fetched with one query on the materialized ancestors.
+ * Built structures are kept in the ReportingStructureCache until a write touches their management chain.
+ * While an asynchronous seed data load is running, structures wait briefly for it, as they need the whole hierarchy.
+ * The number of employees visited by every traversal is recorded in the reporting.structure.nodes histogram,
+ * and together with the depth reached in the RequestStats of the current request.
+ * Every build is also recorded as a ReportingStructureBuildEvent for Flight Recorder.
  */
 @Service
 public class ReportingStructureServiceImpl implements ReportingStructureService {
     private static final Logger LOG = LoggerFactory.getLogger(ReportingStructureServiceImpl.class);
 
-    private final EmployeeService employeeService;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeLoaderProvider employeeLoaderProvider;
+    private final OrgGraph orgGraph;
+    private final ReportingStructureCache reportingStructureCache;
+    private final ObjectMapper objectMapper;
+    private final BootstrapStatus bootstrapStatus;
+    private final DistributionSummary nodesVisited;
+    private final DistributionSummary streamedNodesVisited;
 
     /**
      * Constructs a new ReportingStructureServiceImpl with required dependencies.
      *
-     * @param employeeService The employee service to use for employee retrieval
+     * @param employeeRepository The repository to fetch subtrees from when the graph is disabled
+     * @param employeeLoaderProvider The provider of request-scoped employee loaders
+     * @param orgGraph The org graph to walk the reporting hierarchy with, absent when disabled
+     * @param reportingStructureCache The cache of built reporting structures
+     * @param objectMapper The object mapper whose factory creates the generators of streamed structures
+     * @param bootstrapStatus The progress of the seed data load
+     * @param meterRegistry The registry of the visited nodes histogram
      */
     @Autowired
-    public ReportingStructureServiceImpl(EmployeeService employeeService) {
-        this.employeeService = employeeService;
+    public ReportingStructureServiceImpl(EmployeeRepository employeeRepository,
+            EmployeeLoaderProvider employeeLoaderProvider, Optional<OrgGraph> orgGraph,
+            ReportingStructureCache reportingStructureCache, ObjectMapper objectMapper,
+            BootstrapStatus bootstrapStatus, MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.employeeLoaderProvider = employeeLoaderProvider;
+        this.orgGraph = orgGraph.orElse(null);
+        this.reportingStructureCache = reportingStructureCache;
+        this.objectMapper = objectMapper;
+        this.bootstrapStatus = bootstrapStatus;
+        this.nodesVisited = nodesVisited(meterRegistry, "built");
+        this.streamedNodesVisited = nodesVisited(meterRegistry, "streamed");
+    }
+
+    private static DistributionSummary nodesVisited(MeterRegistry meterRegistry, String mode) {
+        return DistributionSummary.builder("reporting.structure.nodes")
+            .description("Employees visited to build or stream a reporting structure, cache hits visit none")
+            .baseUnit("employees")
+            .tag("mode", mode)
+            .register(meterRegistry);
     }
 
     /**
@@ -47,127 +107,530 @@ public class ReportingStructureServiceImpl implements ReportingStructureService
 
         // added for looks
         long startTime = System.currentTimeMillis();
-        
-        // get the employee from the EmployeeService
-        Employee employee = employeeService.read(employeeId);
 
-        Employee resolvedEmployee = resolveEmployeeHierarchy(employee);
-        int numberOfReports = calculateTotalReports(resolvedEmployee);
-        
+        bootstrapStatus.awaitIfLoading();
+        ReportingStructure structure = reportingStructureCache.get(employeeId, this::build);
+
         // Performance metrics
-        LOG.debug("Completed structure for {} {} - Total Reports: {} ({} ms)", 
-            employee.getFirstName(),
-            employee.getLastName(),
-            numberOfReports,
+        LOG.debug("Completed structure for {} {} - Total Reports: {} ({} ms)",
+            structure.getEmployee().getFirstName(),
+            structure.getEmployee().getLastName(),
+            structure.getNumberOfReports(),
             System.currentTimeMillis() - startTime);
-        
-        return new ReportingStructure(resolvedEmployee, numberOfReports);
+
+        return structure;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws EmployeeNotFoundException if no employee exists with the given ID
+     * @implNote Only complete structures are cached. Without the org graph, only the requested levels are
+     *           fetched and the reports of a truncated structure are counted with a separate count query
+     */
+    @Override
+    public ReportingStructure getReportingStructure(String employeeId, int depth, int maxNodes)
+            throws EmployeeNotFoundException {
+        if (depth == UNLIMITED && maxNodes == UNLIMITED) {
+            return getReportingStructure(employeeId);
+        }
+
+        LOG.debug("Building reporting structure for employee ID: {} (depth: {}, maxNodes: {})",
+            employeeId, depth, maxNodes);
+
+        bootstrapStatus.awaitIfLoading();
+        ReportingStructure structure = build(employeeId, depth, maxNodes);
+
+        LOG.debug("Completed structure for {} - Total Reports: {}, Truncated Branches: {}",
+            employeeId, structure.getNumberOfReports(), structure.getTruncatedBranches().size());
+
+        return structure;
     }
 
     /**
-     * Recursively resolves the complete employee hierarchy starting from the given employee.
-     * Uses EmployeeService to properly retrieve each employee in the hierarchy.
+     * {@inheritDoc}
+     * @throws EmployeeNotFoundException if no employee exists with the given ID
+     * @implNote Reads the subtree size maintained by the OrgGraph, so nothing is traversed. Without the
+     *           graph the employee is loaded and its subtree counted on the materialized ancestors
+     */
+    @Override
+    public ReportingStructure getReportCount(String employeeId) throws EmployeeNotFoundException {
+        LOG.debug("Counting reports for employee ID: {}", employeeId);
+        bootstrapStatus.awaitIfLoading();
+
+        // Without the graph the subtree is counted by storage, without building the structure
+        if (orgGraph == null) {
+            Employee employee = employeeLoaderProvider.current().load(employeeId);
+            if (employee == null) {
+                throw new EmployeeNotFoundException("No employee found with ID: " + employeeId);
+            }
+            return new ReportingStructure(copyOf(employee), (int) employeeRepository.countSubtree(employeeId));
+        }
+
+        return orgGraph.withReadLock(() -> {
+            int root = orgGraph.indexOf(employeeId);
+            if (root == OrgGraph.NO_NODE) {
+                throw new EmployeeNotFoundException("No employee found with ID: " + employeeId);
+            }
+
+            // The shared snapshot carries no direct reports and is only serialized
+            return new ReportingStructure(orgGraph.employeeAt(root), orgGraph.reportCount(root));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws EmployeeNotFoundException if no employee exists with the given ID
+     * @implNote With the org graph, each employee is read under its own short read lock while writing,
+     *           so a slow client never holds the lock for the whole hierarchy and the output is weakly
+     *           consistent with concurrent updates. Without the graph the hierarchy is read from storage
+     *           while writing, the direct reports of each manager with one findAllByEmployeeIdIn query,
+     *           so only the reports of the managers on the current path are held in memory.
+     */
+    @Override
+    public ReportingStructureWriter streamReportingStructure(String employeeId, ReportingStructureFormat format)
+            throws EmployeeNotFoundException {
+        LOG.debug("Streaming reporting structure for employee ID: {} as {}", employeeId, format);
+        bootstrapStatus.awaitIfLoading();
+
+        if (orgGraph == null) {
+            Employee root = employeeLoaderProvider.current().load(employeeId);
+            if (root == null) {
+                throw new EmployeeNotFoundException("No employee found with ID: " + employeeId);
+            }
+            return output -> write(output, employeeId, format, root, this::openStoredManager);
+        }
+
+        int root = orgGraph.indexOf(employeeId);
+        if (root == OrgGraph.NO_NODE) {
+            throw new EmployeeNotFoundException("No employee found with ID: " + employeeId);
+        }
+        return output -> write(output, employeeId, format, root, this::openGraphNode);
+    }
+
+    /**
+     * Writes a reporting structure in the given format while traversing it.
      *
-     * @param employee The root employee to start resolution from
-     * @return The fully resolved employee with complete direct reports hierarchy
-     * @throws EmployeeNotFoundException if any employee in the hierarchy cannot be found
-     * @implNote This method performs a depth-first traversal of the reporting structure
+     * @param output The stream to write to, left open
+     * @param employeeId The ID of the employee at the top of the structure
+     * @param format The output format
+     * @param root The node of the employee at the top of the structure
+     * @param open Resolves a node into its employee and direct reports
+     * @param <N> The node type
+     * @throws IOException if writing to the stream fails
      */
-    private Employee resolveEmployeeHierarchy(Employee employee) throws EmployeeNotFoundException {
-        // Empty employee to set the given employee attributes
-        Employee resolved = new Employee();
+    private <N> void write(OutputStream output, String employeeId, ReportingStructureFormat format,
+            N root, Function<N, Node<N>> open) throws IOException {
+        long startTime = System.currentTimeMillis();
 
-        // Copy all of the basic fields
-        resolved.setEmployeeId(employee.getEmployeeId());
-        resolved.setFirstName(employee.getFirstName());
-        resolved.setLastName(employee.getLastName());
-        resolved.setPosition(employee.getPosition());
-        resolved.setDepartment(employee.getDepartment());
+        int numberOfReports;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            numberOfReports = format == ReportingStructureFormat.NDJSON
+                ? ReportingStructureStreamer.writeFlat(generator, root, open)
+                : ReportingStructureStreamer.writeNested(generator, root, open);
+        }
+        streamedNodesVisited.record(numberOfReports + 1);
+
+        LOG.debug("Streamed structure for {} - Total Reports: {} ({} ms)",
+            employeeId, numberOfReports, System.currentTimeMillis() - startTime);
+    }
 
-        // Resolve direct reports recursively
-        if (employee.getDirectReports() != null) {
-            if (employee.getDirectReports().isEmpty()) {
-                // Employee has no reports (set null)
-                resolved.setDirectReports(null);
+    /**
+     * Reads an employee and its direct reports from the org graph under one short read lock.
+     * Placeholders for missing employees are left out.
+     *
+     * @param index The graph index of the employee
+     * @return The employee and the graph indices of its direct reports
+     */
+    private Node<Integer> openGraphNode(Integer index) {
+        return orgGraph.withReadLock(() -> {
+            List<Integer> reports = new ArrayList<>();
+            for (int report : orgGraph.childrenOf(index)) {
+                if (orgGraph.employeeAt(report) != null) {
+                    reports.add(report);
+                } else {
+                    LOG.warn("Missing employee in reporting chain: {}", orgGraph.idAt(report));
+                }
+            }
+            return new Node<>(orgGraph.employeeAt(index), reports);
+        });
+    }
+
+    /**
+     * Fetches the direct reports of a stored employee with a single findAllByEmployeeIdIn query.
+     * Reports are kept in listing order, missing reports and stale listings are left out.
+     * Reads the repository directly rather than through the request's EmployeeLoader, whose identity map
+     * would end up holding the whole subtree.
+     *
+     * @param stored The stored employee
+     * @return The employee and its stored direct reports
+     */
+    private Node<Employee> openStoredManager(Employee stored) {
+        if (stored.getDirectReports() == null || stored.getDirectReports().isEmpty()) {
+            return new Node<>(stored, List.of());
+        }
+
+        List<String> reportIds = stored.getDirectReports().stream()
+            .map(Employee::getEmployeeId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        Map<String, Employee> found = new HashMap<>();
+        for (Employee report : employeeRepository.findAllByEmployeeIdIn(reportIds)) {
+            found.put(report.getEmployeeId(), report);
+        }
+
+        List<Employee> reports = new ArrayList<>(reportIds.size());
+        for (String reportId : reportIds) {
+            Employee report = found.get(reportId);
+            if (report != null && isDirectManager(stored.getEmployeeId(), report)) {
+                reports.add(report);
             } else {
-                // Employee has reports - resolve them
-                resolved.setDirectReports(
-                    employee.getDirectReports().stream()
-                        .map(report -> {
-                            try {
-                                Employee fullReport = employeeService.read(report.getEmployeeId());
-                                Employee resolvedReport = new Employee();
-                                resolvedReport.setEmployeeId(fullReport.getEmployeeId());
-                                resolvedReport.setFirstName(fullReport.getFirstName());
-                                resolvedReport.setLastName(fullReport.getLastName());
-                                resolvedReport.setPosition(fullReport.getPosition());
-                                resolvedReport.setDepartment(fullReport.getDepartment());
-                                
-                                // Only resolve deeper if reports exist
-                                if (fullReport.getDirectReports() != null) {
-                                    if (fullReport.getDirectReports().isEmpty()) {
-                                        resolvedReport.setDirectReports(null); // No reports
-                                    } else {
-                                        resolvedReport.setDirectReports(
-                                            fullReport.getDirectReports().stream()
-                                                .map(r -> {
-                                                    try {
-                                                        return resolveEmployeeHierarchy(employeeService.read(r.getEmployeeId()));
-                                                    } catch (EmployeeNotFoundException e) {
-                                                        LOG.warn("Missing nested report: {}", r.getEmployeeId());
-                                                        return null;
-                                                    }
-                                                })
-                                                .filter(Objects::nonNull)
-                                                .toList()
-                                        );
-                                    }
-                                }
-                                return resolvedReport;
-                            } catch (EmployeeNotFoundException e) {
-                                LOG.warn("Missing employee in reporting chain: {}", report.getEmployeeId());
-                                return null;
-                            }
-                        })
-                        .filter(Objects::nonNull)
-                        .toList()
-                );
-            }
-        }
-
-        return resolved;
-    }
-
-    /**
-     * Calculates the total number of reports under an employee.
-     *
-     * @param employee The employee to calculate reports for
-     * @return Total count of reports in the hierarchy
-     * @implNote Uses a Set to ensure each employee is only counted once
-     */
-    private int calculateTotalReports(Employee employee) {
-        Set<String> distinctReportIds = new HashSet<>();
-        collectReportIds(employee, distinctReportIds);
-        return distinctReportIds.size();
-    }
-
-    /**
-     * Recursively collects all of the unique report IDs in the hierarchy.
-     *
-     * @param employee The current employee in the hierarchy
-     * @param collectedIds Set containing all of the collected report IDs
-     * @implNote Uses depth-first to go through the reporting structure
-     */
-    private void collectReportIds(Employee employee, Set<String> collectedIds) {
-        if (employee.getDirectReports() == null || employee.getDirectReports().isEmpty()) {
-            return;
-        }
-
-        for (Employee report : employee.getDirectReports()) {
-            if (!collectedIds.contains(report.getEmployeeId())) {
-                collectedIds.add(report.getEmployeeId());
-                collectReportIds(report, collectedIds);
-            }
-        }
-    }
-}
\ No newline at end of file
+                LOG.warn("Missing employee in reporting chain: {}", reportId);
+            }
+        }
+        return new Node<>(stored, reports);
+    }
+
+    /**
+     * Builds the complete reporting structure from the org graph, or from storage when the graph is disabled.
+     *
+     * @param employeeId The ID of the employee to build the structure for
+     * @return The reporting structure
+     * @throws EmployeeNotFoundException if no employee exists with the given ID
+     */
+    private ReportingStructure build(String employeeId) throws EmployeeNotFoundException {
+        return build(employeeId, UNLIMITED, UNLIMITED);
+    }
+
+    /**
+     * Builds the reporting structure from the org graph, or from storage when the graph is disabled.
+     *
+     * @param employeeId The ID of the employee to build the structure for
+     * @param depth The number of levels below the employee to resolve
+     * @param maxNodes The maximum number of reports to resolve
+     * @return The reporting structure
+     * @throws EmployeeNotFoundException if no employee exists with the given ID
+     */
+    private ReportingStructure build(String employeeId, int depth, int maxNodes) throws EmployeeNotFoundException {
+        ReportingStructureBuildEvent event = new ReportingStructureBuildEvent(employeeId,
+            orgGraph != null ? "graph" : "storage");
+        event.begin();
+
+        ReportingStructure structure = orgGraph != null
+            ? buildFromGraph(employeeId, depth, maxNodes, event)
+            : buildFromStorage(employeeId, depth, maxNodes, event);
+
+        event.commit();
+        return structure;
+    }
+
+    /**
+     * Builds the reporting structure by walking the org graph.
+     * The total number of reports is the subtree size maintained by the graph, whatever the limits.
+     *
+     * @param employeeId The ID of the employee to build the structure for
+     * @param depth The number of levels below the employee to resolve
+     * @param maxNodes The maximum number of reports to resolve
+     * @param event The Flight Recorder event of the build
+     * @return The reporting structure
+     * @throws EmployeeNotFoundException if no employee exists with the given ID
+     */
+    private ReportingStructure buildFromGraph(String employeeId, int depth, int maxNodes,
+            ReportingStructureBuildEvent event) throws EmployeeNotFoundException {
+        // Walk the graph under one read lock so the structure is a consistent snapshot
+        return orgGraph.withReadLock(() -> {
+            int root = orgGraph.indexOf(employeeId);
+            if (root == OrgGraph.NO_NODE) {
+                throw new EmployeeNotFoundException("No employee found with ID: " + employeeId);
+            }
+
+            Resolution resolution = resolveEmployeeHierarchy(root, this::openGraphNode, depth, maxNodes);
+            recordTraversal(resolution, event);
+            return new ReportingStructure(resolution.root(), orgGraph.reportCount(root), resolution.truncatedBranches());
+        });
+    }
+
+    /**
+     * Builds the reporting structure from storage.
+     * Without a node limit the subtree is fetched with a single query on the materialized ancestors, limited to
+     * the requested depth, and assembled in memory, so the cost in round trips does not depend on the depth of
+     * the hierarchy. With a node limit the employees are fetched level by level as they are resolved, see
+     * BudgetedSubtree, so a small structure of a large subtree does not read the whole subtree.
+     *
+     * @param employeeId The ID of the employee to build the structure for
+     * @param depth The number of levels below the employee to resolve
+     * @param maxNodes The maximum number of reports to resolve
+     * @param event The Flight Recorder event of the build
+     * @return The reporting structure
+     * @throws EmployeeNotFoundException if no employee exists with the given ID
+     */
+    private ReportingStructure buildFromStorage(String employeeId, int depth, int maxNodes,
+            ReportingStructureBuildEvent event) throws EmployeeNotFoundException {
+        Employee stored = employeeLoaderProvider.current().load(employeeId);
+        if (stored == null) {
+            throw new EmployeeNotFoundException("No employee found with ID: " + employeeId);
+        }
+
+        Resolution resolution;
+        if (maxNodes == UNLIMITED) {
+            int rootDepth = stored.getAncestors() != null ? stored.getAncestors().size() : 0;
+            List<Employee> found = depth == UNLIMITED
+                ? employeeRepository.findSubtree(employeeId)
+                : employeeRepository.findSubtree(employeeId, rootDepth + depth);
+
+            Map<String, Employee> subtree = new HashMap<>();
+            subtree.put(employeeId, stored);
+            for (Employee employee : found) {
+                subtree.put(employee.getEmployeeId(), employee);
+            }
+
+            resolution = resolveEmployeeHierarchy(new StoredReport(null, employeeId),
+                report -> openStored(report, subtree), depth, maxNodes);
+        } else {
+            resolution = resolveEmployeeHierarchy(new StoredReport(null, employeeId),
+                new BudgetedSubtree(stored, maxNodes), depth, maxNodes);
+        }
+        recordTraversal(resolution, event);
+
+        // A truncated structure does not hold every report, so they are counted separately
+        int numberOfReports = resolution.truncatedBranches().isEmpty()
+            ? resolution.numberOfReports()
+            : (int) employeeRepository.countSubtree(employeeId);
+        return new ReportingStructure(resolution.root(), numberOfReports, resolution.truncatedBranches());
+    }
+
+    /**
+     * Records the employees visited by a traversal and the depth it reached.
+     *
+     * @param resolution The resolved hierarchy
+     * @param event The Flight Recorder event of the build
+     */
+    private void recordTraversal(Resolution resolution, ReportingStructureBuildEvent event) {
+        int nodes = resolution.numberOfReports() + 1;
+        nodesVisited.record(nodes);
+        RequestStats.current().recordTraversal(nodes, resolution.depth());
+        event.setTraversal(nodes, resolution.depth(), !resolution.truncatedBranches().isEmpty());
+    }
+
+    /**
+     * Reference from a manager to one of its direct reports in a hierarchy fetched from storage.
+     *
+     * @param managerId The ID of the manager listing the report, null for the root
+     * @param employeeId The ID of the report
+     */
+    private record StoredReport(String managerId, String employeeId) {}
+
+    /**
+     * Resolves a report of a hierarchy fetched from storage. Removing it from the subtree attaches
+     * every employee at most once, and stale listings are not attached to the wrong manager.
+     *
+     * @param report The reference to resolve
+     * @param subtree The fetched employees by ID, including the root
+     * @return The employee and references to its direct reports, or null if it is missing or listed by the wrong manager
+     */
+    private static Node<StoredReport> openStored(StoredReport report, Map<String, Employee> subtree) {
+        Employee stored = subtree.get(report.employeeId());
+        if (stored == null || (report.managerId() != null && !isDirectManager(report.managerId(), stored))) {
+            LOG.warn("Missing employee in reporting chain: {}", report.employeeId());
+            return null;
+        }
+        subtree.remove(report.employeeId());
+
+        List<StoredReport> reports = new ArrayList<>();
+        if (stored.getDirectReports() != null) {
+            for (Employee directReport : stored.getDirectReports()) {
+                reports.add(new StoredReport(stored.getEmployeeId(), directReport.getEmployeeId()));
+            }
+        }
+        return new Node<>(stored, reports);
+    }
+
+    /**
+     * Fetches a hierarchy from storage while it is resolved, for structures limited to a number of reports.
+     * The direct reports of every opened employee are queued, manager by manager, in the breadth first order
+     * the resolution reaches them. Opening the first report that was not fetched yet fetches, with one
+     * findAllByEmployeeIdIn query, the reports of its manager and of the managers after it, as many as fit
+     * in the remaining budget. A level then costs one round trip, and the employees read are the ones the
+     * budget lets the resolution attach, give or take the reports of one manager.
+     */
+    private final class BudgetedSubtree implements Function<StoredReport, Node<StoredReport>> {
+        private final int maxNodes;
+        private final Map<String, Employee> fetched = new HashMap<>();
+        private final Set<String> requested = new HashSet<>();
+        private final Deque<List<String>> queued = new ArrayDeque<>();
+        // The root is opened first and is not a report
+        private int resolved = -1;
+
+        /**
+         * Constructs a new BudgetedSubtree.
+         *
+         * @param root The stored employee at the top of the hierarchy
+         * @param maxNodes The maximum number of reports to resolve
+         */
+        BudgetedSubtree(Employee root, int maxNodes) {
+            this.maxNodes = maxNodes;
+            fetched.put(root.getEmployeeId(), root);
+            requested.add(root.getEmployeeId());
+        }
+
+        @Override
+        public Node<StoredReport> apply(StoredReport report) {
+            if (!requested.contains(report.employeeId())) {
+                fetchFrom(report.employeeId());
+            }
+
+            Node<StoredReport> node = openStored(report, fetched);
+            if (node != null) {
+                resolved++;
+                List<String> reportIds = node.directReports().stream().map(StoredReport::employeeId).toList();
+                if (!reportIds.isEmpty()) {
+                    queued.offer(reportIds);
+                }
+            }
+            return node;
+        }
+
+        /**
+         * Fetches the queued reports starting with those of the manager listing the given employee.
+         *
+         * @param employeeId The ID of the report being opened
+         */
+        private void fetchFrom(String employeeId) {
+            // Managers queued before it were truncated by the resolution, their reports are never opened
+            while (!queued.isEmpty() && !queued.peek().contains(employeeId)) {
+                queued.poll();
+            }
+
+            // The reports of a manager are resolved all or none, so they are fetched all or none as well
+            List<String> batch = new ArrayList<>();
+            while (!queued.isEmpty()
+                    && (batch.isEmpty() || batch.size() + queued.peek().size() <= maxNodes - resolved)) {
+                batch.addAll(queued.poll());
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            requested.addAll(batch);
+            for (Employee employee : employeeRepository.findAllByEmployeeIdIn(batch)) {
+                fetched.putIfAbsent(employee.getEmployeeId(), employee);
+            }
+        }
+    }
+
+    /**
+     * Checks the materialized path of a report against the manager listing it, so that
+     * stale listings are not attached to the wrong manager.
+     *
+     * @param managerId The ID of the manager listing the report
+     * @param report The stored report
+     * @return true if the manager is the last entry of the report's ancestors
+     */
+    private static boolean isDirectManager(String managerId, Employee report) {
+        List<String> ancestors = report.getAncestors();
+        return ancestors != null
+            && !ancestors.isEmpty()
+            && ancestors.get(ancestors.size() - 1).equals(managerId);
+    }
+
+    /**
+     * A resolved hierarchy.
+     *
+     * @param root The resolved employee at the top of the hierarchy
+     * @param numberOfReports The number of reports resolved below the root
+     * @param truncatedBranches The IDs of the resolved employees whose reports were left out
+     * @param depth The number of levels resolved below the root
+     */
+    private record Resolution(Employee root, int numberOfReports, List<String> truncatedBranches, int depth) {}
+
+    /**
+     * A node waiting to have its direct reports resolved.
+     *
+     * @param node The node and its direct reports
+     * @param resolved The resolved copy of the node's employee
+     * @param level The number of levels below the root
+     */
+    private record Pending<N>(Node<N> node, Employee resolved, int level) {}
+
+    /**
+     * Resolves the employee hierarchy below the given node, level by level.
+     * Each resolved employee has its direct reports filled in, null if it has none,
+     * or an empty list if it has reports that were left out by the limits.
+     *
+     * @param root The node of the employee to start resolution from
+     * @param open Resolves a node into its employee and direct reports, or null if it is missing
+     * @param depth The number of levels below the root to resolve
+     * @param maxNodes The maximum number of reports to resolve
+     * @param <N> The node type
+     * @return The resolved hierarchy
+     * @implNote Walks breadth first with an explicit queue, so deep chains cannot overflow the call stack and
+     *           limits keep the levels closest to the root. The direct reports of a manager are resolved all
+     *           or none, except those of the root which are always resolved so that expanding a truncated
+     *           branch makes progress. Once a manager's reports do not fit, every remaining manager is truncated.
+     */
+    private static <N> Resolution resolveEmployeeHierarchy(N root, Function<N, Node<N>> open, int depth, int maxNodes) {
+        Node<N> rootNode = open.apply(root);
+        Employee resolvedRoot = copyOf(rootNode.employee());
+        int numberOfReports = 0;
+        int depthReached = 0;
+        boolean exhausted = false;
+        List<String> truncatedBranches = new ArrayList<>();
+
+        Deque<Pending<N>> pending = new ArrayDeque<>();
+        pending.offer(new Pending<>(rootNode, resolvedRoot, 0));
+
+        while (!pending.isEmpty()) {
+            Pending<N> manager = pending.poll();
+            List<N> reports = manager.node().directReports();
+            if (reports.isEmpty()) {
+                continue;
+            }
+
+            if (!exhausted && manager.level() > 0 && numberOfReports + reports.size() > maxNodes) {
+                exhausted = true;
+            }
+            if (exhausted || manager.level() >= depth) {
+                manager.resolved().setDirectReports(new ArrayList<>());
+                truncatedBranches.add(manager.resolved().getEmployeeId());
+                continue;
+            }
+
+            for (N report : reports) {
+                Node<N> reportNode = open.apply(report);
+                if (reportNode == null) {
+                    continue;
+                }
+
+                Employee resolvedReport = copyOf(reportNode.employee());
+                if (manager.resolved().getDirectReports() == null) {
+                    manager.resolved().setDirectReports(new ArrayList<>());
+                }
+                manager.resolved().getDirectReports().add(resolvedReport);
+                numberOfReports++;
+                depthReached = Math.max(depthReached, manager.level() + 1);
+
+                pending.offer(new Pending<>(reportNode, resolvedReport, manager.level() + 1));
+            }
+        }
+
+        return new Resolution(resolvedRoot, numberOfReports, truncatedBranches, depthReached);
+    }
+
+    /**
+     * Copies the basic fields of an employee into a new instance without direct reports.
+     *
+     * @param employee The employee to copy
+     * @return The copy
+     */
+    private static Employee copyOf(Employee employee) {
+        Employee copy = new Employee();
+        copy.setEmployeeId(employee.getEmployeeId());
+        copy.setFirstName(employee.getFirstName());
+        copy.setLastName(employee.getLastName());
+        copy.setPosition(employee.getPosition());
+        copy.setDepartment(employee.getDepartment());
+        return copy;
+    }
+}
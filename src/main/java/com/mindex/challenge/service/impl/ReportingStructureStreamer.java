@@ -0,0 +1,158 @@
+package com.mindex.challenge.service.impl;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.mindex.challenge.data.Employee;
+
+/**
+ * Writes reporting structures with a JsonGenerator while walking them.
+ *
+ * Only the path from the root to the current employee is held, as one iterator per level,
+ * so memory per request depends on the depth of the hierarchy and not on the size of the subtree.
+ * The walk is generic over the node type, so the same writer serves the org graph and resolved employee trees.
+ */
+final class ReportingStructureStreamer {
+
+    /**
+     * An employee together with the nodes of its direct reports.
+     *
+     * @param employee The employee
+     * @param directReports The nodes of the employee's direct reports, empty if it has none
+     * @param <N> The node type
+     */
+    record Node<N>(Employee employee, List<N> directReports) {}
+
+    private ReportingStructureStreamer() {}
+
+    /**
+     * Writes the structure as one JSON document shaped like ReportingStructure.
+     * The number of reports is counted while writing and written after the hierarchy.
+     *
+     * @param generator The generator to write with
+     * @param root The node of the employee at the top of the structure
+     * @param open Resolves a node into its employee and direct reports
+     * @param <N> The node type
+     * @return The number of reports written below the root
+     * @throws IOException if writing fails
+     */
+    static <N> int writeNested(JsonGenerator generator, N root, Function<N, Node<N>> open) throws IOException {
+        int numberOfReports = 0;
+        Deque<Iterator<N>> pending = new ArrayDeque<>();
+
+        generator.writeStartObject();
+        generator.writeFieldName("employee");
+        startEmployee(generator, open.apply(root), pending);
+
+        while (!pending.isEmpty()) {
+            Iterator<N> reports = pending.peek();
+            if (!reports.hasNext()) {
+                // Close the directReports array and the manager that owns it
+                generator.writeEndArray();
+                generator.writeEndObject();
+                pending.pop();
+                continue;
+            }
+
+            startEmployee(generator, open.apply(reports.next()), pending);
+            numberOfReports++;
+        }
+
+        generator.writeNumberField("numberOfReports", numberOfReports);
+        generator.writeEndObject();
+        generator.flush();
+        return numberOfReports;
+    }
+
+    /**
+     * Writes the structure as NDJSON, one employee per line in depth-first order,
+     * each carrying the ID of its manager in managerId (null for the root).
+     *
+     * @param generator The generator to write with
+     * @param root The node of the employee at the top of the structure
+     * @param open Resolves a node into its employee and direct reports
+     * @param <N> The node type
+     * @return The number of reports written below the root
+     * @throws IOException if writing fails
+     */
+    static <N> int writeFlat(JsonGenerator generator, N root, Function<N, Node<N>> open) throws IOException {
+        int numberOfReports = 0;
+        Deque<Iterator<N>> pending = new ArrayDeque<>();
+        Deque<String> managerIds = new ArrayDeque<>();
+
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        Node<N> rootNode = open.apply(root);
+        writeLine(generator, rootNode.employee(), null);
+        pending.push(rootNode.directReports().iterator());
+        managerIds.push(rootNode.employee().getEmployeeId());
+
+        while (!pending.isEmpty()) {
+            Iterator<N> reports = pending.peek();
+            if (!reports.hasNext()) {
+                pending.pop();
+                managerIds.pop();
+                continue;
+            }
+
+            Node<N> report = open.apply(reports.next());
+            writeLine(generator, report.employee(), managerIds.peek());
+            numberOfReports++;
+
+            if (!report.directReports().isEmpty()) {
+                pending.push(report.directReports().iterator());
+                managerIds.push(report.employee().getEmployeeId());
+            }
+        }
+
+        generator.writeRaw('\n');
+        generator.flush();
+        return numberOfReports;
+    }
+
+    /**
+     * Writes the fields of an employee. Leaves are closed right away with null direct reports,
+     * matching the materialized structure; managers are left open with their directReports array started.
+     *
+     * @param generator The generator to write with
+     * @param node The employee and its direct reports
+     * @param pending The iterators of the open managers, the employee's reports are pushed if it has any
+     * @param <N> The node type
+     * @throws IOException if writing fails
+     */
+    private static <N> void startEmployee(JsonGenerator generator, Node<N> node, Deque<Iterator<N>> pending)
+            throws IOException {
+        generator.writeStartObject();
+        writeFields(generator, node.employee());
+
+        if (node.directReports().isEmpty()) {
+            generator.writeNullField("directReports");
+            generator.writeEndObject();
+            return;
+        }
+
+        generator.writeArrayFieldStart("directReports");
+        pending.push(node.directReports().iterator());
+    }
+
+    private static void writeLine(JsonGenerator generator, Employee employee, String managerId) throws IOException {
+        generator.writeStartObject();
+        writeFields(generator, employee);
+        generator.writeStringField("managerId", managerId);
+        generator.writeEndObject();
+    }
+
+    private static void writeFields(JsonGenerator generator, Employee employee) throws IOException {
+        generator.writeStringField("employeeId", employee.getEmployeeId());
+        generator.writeStringField("firstName", employee.getFirstName());
+        generator.writeStringField("lastName", employee.getLastName());
+        generator.writeStringField("position", employee.getPosition());
+        generator.writeStringField("department", employee.getDepartment());
+    }
+}
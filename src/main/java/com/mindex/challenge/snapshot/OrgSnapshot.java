@@ -0,0 +1,197 @@
+package com.mindex.challenge.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.mindex.challenge.data.Employee;
+
+/**
+ * Read-only view of a binary org snapshot, memory-mapped through a FileChannel.
+ *
+ * Nothing is copied onto the heap when the snapshot is opened: records and strings are decoded from the
+ * mapped file only when they are read, so a lookup touches a handful of pages whatever the size of the org.
+ *
+ * File layout (big-endian):
+ * - Header: magic, version, employee count, string count, and the positions of the sections below
+ * - String table: (string count + 1) int offsets into the UTF-8 string data that follows them.
+ *   Employee IDs, names, positions and departments are stored once each
+ * - Records: one fixed-width record per employee, sorted by employee ID, holding string indexes for the
+ *   fields, the record index of the manager, the depth, and the slice of the adjacency list with the reports
+ * - Adjacency: the string indexes of the direct report IDs of every employee, in record order.
+ *   Reports are stored by ID so references to employees missing from the snapshot are kept
+ *
+ * A single mapping is limited to 2 GB, far above the size of a multi-million employee snapshot.
+ */
+public class OrgSnapshot implements Closeable {
+    static final int MAGIC = 0x4F524753;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 40;
+    static final int RECORD_SIZE = 36;
+    static final int NO_VALUE = -1;
+
+    // Field positions within a record
+    static final int ID = 0;
+    static final int FIRST_NAME = 4;
+    static final int LAST_NAME = 8;
+    static final int POSITION = 12;
+    static final int DEPARTMENT = 16;
+    static final int PARENT = 20;
+    static final int DEPTH = 24;
+    static final int REPORTS_START = 28;
+    static final int REPORT_COUNT = 32;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int stringCount;
+    private final int stringOffsetsPosition;
+    private final int stringDataPosition;
+    private final int recordsPosition;
+    private final int adjacencyPosition;
+
+    private OrgSnapshot(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a version " + VERSION + " org snapshot");
+        }
+        this.size = buffer.getInt(8);
+        this.stringCount = buffer.getInt(12);
+        this.stringOffsetsPosition = Math.toIntExact(buffer.getLong(16));
+        this.recordsPosition = Math.toIntExact(buffer.getLong(24));
+        this.adjacencyPosition = Math.toIntExact(buffer.getLong(32));
+        this.stringDataPosition = stringOffsetsPosition + (stringCount + 1) * Integer.BYTES;
+    }
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param path The snapshot file
+     * @return The snapshot, to be closed when no longer read
+     * @throws IOException if the file cannot be mapped or is not a snapshot
+     */
+    public static OrgSnapshot open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new OrgSnapshot(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of employees in the snapshot.
+     *
+     * @return The employee count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the record of an employee with a binary search over the sorted records.
+     *
+     * @param employeeId The employee ID to look up
+     * @return The record index, or -1 if the employee is not in the snapshot
+     */
+    public int indexOf(String employeeId) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = field(middle, ID).compareTo(employeeId);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Decodes the employee stored in a record, with its direct reports as ID-only references
+     * and its materialized ancestors and depth.
+     *
+     * @param index The record index
+     * @return A new employee instance
+     */
+    public Employee employeeAt(int index) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(field(index, ID));
+        employee.setFirstName(field(index, FIRST_NAME));
+        employee.setLastName(field(index, LAST_NAME));
+        employee.setPosition(field(index, POSITION));
+        employee.setDepartment(field(index, DEPARTMENT));
+        employee.setAncestors(ancestorsOf(index));
+        employee.setDepth(intAt(index, DEPTH));
+
+        int reportCount = intAt(index, REPORT_COUNT);
+        if (reportCount > 0) {
+            int reportsStart = intAt(index, REPORTS_START);
+            List<Employee> directReports = new ArrayList<>(reportCount);
+            for (int i = 0; i < reportCount; i++) {
+                Employee reference = new Employee();
+                reference.setEmployeeId(string(buffer.getInt(adjacencyPosition + (reportsStart + i) * Integer.BYTES)));
+                directReports.add(reference);
+            }
+            employee.setDirectReports(directReports);
+        }
+        return employee;
+    }
+
+    /**
+     * Gets the management chain of an employee by following the manager records.
+     *
+     * @param index The record index
+     * @return The IDs of the managers, top-level manager first
+     */
+    public List<String> ancestorsOf(int index) {
+        List<String> ancestors = new ArrayList<>();
+        // Bounded by the record count in case a corrupt file loops back
+        for (int parent = intAt(index, PARENT); parent != NO_VALUE && ancestors.size() < size;
+                parent = intAt(parent, PARENT)) {
+            ancestors.add(field(parent, ID));
+        }
+        Collections.reverse(ancestors);
+        return ancestors;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int intAt(int index, int field) {
+        return buffer.getInt(recordsPosition + index * RECORD_SIZE + field);
+    }
+
+    private String field(int index, int field) {
+        return string(intAt(index, field));
+    }
+
+    private String string(int stringIndex) {
+        if (stringIndex == NO_VALUE) {
+            return null;
+        }
+        int start = buffer.getInt(stringOffsetsPosition + stringIndex * Integer.BYTES);
+        int end = buffer.getInt(stringOffsetsPosition + (stringIndex + 1) * Integer.BYTES);
+
+        byte[] bytes = new byte[end - start];
+        buffer.get(stringDataPosition + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,134 @@
+package com.mindex.challenge.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.mindex.challenge.BootstrapStatus;
+import com.mindex.challenge.dao.EmployeeRepository;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.exception.DataLoadingException;
+
+/**
+ * Writes and locates the binary org snapshot used for fast startup.
+ *
+ * Key Features:
+ * - Snapshots the employee directory on demand, and on shutdown with challenge.snapshot.write-on-shutdown=true
+ * - When the file at challenge.snapshot.path exists at startup, DataBootstrap loads it instead of the JSON seed file
+ * - Snapshots are disabled when no path is configured
+ */
+@Component
+public class OrgSnapshotService {
+    private static final Logger LOG = LoggerFactory.getLogger(OrgSnapshotService.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final BootstrapStatus bootstrapStatus;
+    private final Path path;
+    private final boolean writeOnShutdown;
+
+    /**
+     * Constructs a new OrgSnapshotService with required dependencies.
+     *
+     * @param employeeRepository The repository to snapshot
+     * @param bootstrapStatus The progress of the seed data load, partial loads are never snapshotted
+     * @param path The snapshot file, blank to disable snapshots
+     * @param writeOnShutdown Whether a snapshot is written when the application context closes
+     */
+    @Autowired
+    public OrgSnapshotService(EmployeeRepository employeeRepository, BootstrapStatus bootstrapStatus,
+            @Value("${challenge.snapshot.path:}") String path,
+            @Value("${challenge.snapshot.write-on-shutdown:false}") boolean writeOnShutdown) {
+        this.employeeRepository = employeeRepository;
+        this.bootstrapStatus = bootstrapStatus;
+        this.path = path.isBlank() ? null : Path.of(path);
+        this.writeOnShutdown = writeOnShutdown;
+    }
+
+    /**
+     * Checks whether a snapshot path is configured.
+     *
+     * @return true if snapshots can be written and loaded
+     */
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Gets the snapshot to load at startup.
+     *
+     * @return The snapshot file, or empty if snapshots are disabled or none was written yet
+     */
+    public Optional<Path> existingSnapshot() {
+        return isEnabled() && Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Writes a snapshot of every stored employee, replacing the previous one.
+     *
+     * @return The number of employees and bytes written, and the time taken
+     * @throws IllegalStateException if snapshots are disabled
+     * @throws DataLoadingException if the seed data is still loading
+     */
+    public SnapshotInfo write() {
+        if (!isEnabled()) {
+            throw new IllegalStateException("No snapshot path configured (challenge.snapshot.path)");
+        }
+        if (bootstrapStatus.isLoading()) {
+            throw new DataLoadingException("Seed data is still loading, please retry", 1);
+        }
+
+        long startTime = System.currentTimeMillis();
+        List<Employee> employees = employeeRepository.findAll();
+        try {
+            long bytes = OrgSnapshotWriter.write(path, employees);
+            SnapshotInfo info = new SnapshotInfo(path.toString(), employees.size(), bytes,
+                System.currentTimeMillis() - startTime);
+            LOG.info("Wrote org snapshot {}", info);
+            return info;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Writing org snapshot " + path + " failed", e);
+        }
+    }
+
+    /**
+     * Writes the snapshot before the repository is shut down, if configured to.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onShutdown() {
+        if (!writeOnShutdown || !isEnabled()) {
+            return;
+        }
+        if (bootstrapStatus.isLoading()) {
+            LOG.warn("Seed data still loading, org snapshot not written on shutdown");
+            return;
+        }
+
+        try {
+            write();
+        } catch (RuntimeException e) {
+            LOG.error("Writing org snapshot on shutdown failed", e);
+        }
+    }
+
+    /**
+     * Outcome of a snapshot write.
+     *
+     * @param path The snapshot file
+     * @param employees The number of employees written
+     * @param bytes The size of the file
+     * @param elapsedMs The time taken to read the repository and write the file
+     */
+    public record SnapshotInfo(String path, int employees, long bytes, long elapsedMs) {
+    }
+}
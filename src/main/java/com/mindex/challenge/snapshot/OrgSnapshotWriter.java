@@ -0,0 +1,139 @@
+package com.mindex.challenge.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mindex.challenge.data.Employee;
+
+/**
+ * Writes employees in the binary layout read by OrgSnapshot.
+ *
+ * The file is written next to its destination and moved into place once complete,
+ * so a reader never maps a partially written snapshot.
+ */
+public final class OrgSnapshotWriter {
+
+    private OrgSnapshotWriter() {
+    }
+
+    /**
+     * Writes a snapshot of the given employees. Managers are taken from the materialized ancestors.
+     *
+     * @param path The snapshot file, replaced if it exists
+     * @param employees The employees to write, with their direct reports and ancestors
+     * @return The size of the written file in bytes
+     * @throws IOException if the file cannot be written
+     */
+    public static long write(Path path, List<Employee> employees) throws IOException {
+        List<Employee> records = new ArrayList<>(employees);
+        records.sort(Comparator.comparing(Employee::getEmployeeId));
+
+        Map<String, Integer> recordIndex = new HashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            recordIndex.put(records.get(i).getEmployeeId(), i);
+        }
+
+        // Intern every string, then lay out the record fields and adjacency as string indexes
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        int[] fields = new int[records.size() * OrgSnapshot.RECORD_SIZE / Integer.BYTES];
+        List<Integer> adjacency = new ArrayList<>();
+
+        for (int i = 0; i < records.size(); i++) {
+            Employee employee = records.get(i);
+            int base = i * OrgSnapshot.RECORD_SIZE / Integer.BYTES;
+
+            fields[base + OrgSnapshot.ID / Integer.BYTES] = intern(strings, employee.getEmployeeId());
+            fields[base + OrgSnapshot.FIRST_NAME / Integer.BYTES] = intern(strings, employee.getFirstName());
+            fields[base + OrgSnapshot.LAST_NAME / Integer.BYTES] = intern(strings, employee.getLastName());
+            fields[base + OrgSnapshot.POSITION / Integer.BYTES] = intern(strings, employee.getPosition());
+            fields[base + OrgSnapshot.DEPARTMENT / Integer.BYTES] = intern(strings, employee.getDepartment());
+            fields[base + OrgSnapshot.PARENT / Integer.BYTES] = parentIndex(employee, recordIndex);
+            fields[base + OrgSnapshot.DEPTH / Integer.BYTES] = employee.getDepth() == null ? 0 : employee.getDepth();
+            fields[base + OrgSnapshot.REPORTS_START / Integer.BYTES] = adjacency.size();
+
+            int reportCount = 0;
+            if (employee.getDirectReports() != null) {
+                for (Employee report : employee.getDirectReports()) {
+                    if (report.getEmployeeId() != null) {
+                        adjacency.add(intern(strings, report.getEmployeeId()));
+                        reportCount++;
+                    }
+                }
+            }
+            fields[base + OrgSnapshot.REPORT_COUNT / Integer.BYTES] = reportCount;
+        }
+
+        List<byte[]> encoded = new ArrayList<>(strings.size());
+        long stringBytes = 0;
+        for (String value : strings.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            stringBytes += bytes.length;
+        }
+
+        long stringOffsetsPosition = OrgSnapshot.HEADER_SIZE;
+        long recordsPosition = stringOffsetsPosition + (long) (strings.size() + 1) * Integer.BYTES + stringBytes;
+        long adjacencyPosition = recordsPosition + (long) records.size() * OrgSnapshot.RECORD_SIZE;
+        long fileSize = adjacencyPosition + (long) adjacency.size() * Integer.BYTES;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + fileSize + " bytes exceeds the 2 GB mapping limit");
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(OrgSnapshot.MAGIC);
+            out.writeInt(OrgSnapshot.VERSION);
+            out.writeInt(records.size());
+            out.writeInt(strings.size());
+            out.writeLong(stringOffsetsPosition);
+            out.writeLong(recordsPosition);
+            out.writeLong(adjacencyPosition);
+
+            int offset = 0;
+            out.writeInt(offset);
+            for (byte[] bytes : encoded) {
+                offset += bytes.length;
+                out.writeInt(offset);
+            }
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+
+            for (int field : fields) {
+                out.writeInt(field);
+            }
+            for (int report : adjacency) {
+                out.writeInt(report);
+            }
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return fileSize;
+    }
+
+    private static int parentIndex(Employee employee, Map<String, Integer> recordIndex) {
+        List<String> ancestors = employee.getAncestors();
+        if (ancestors == null || ancestors.isEmpty()) {
+            return OrgSnapshot.NO_VALUE;
+        }
+        return recordIndex.getOrDefault(ancestors.get(ancestors.size() - 1), OrgSnapshot.NO_VALUE);
+    }
+
+    private static int intern(Map<String, Integer> strings, String value) {
+        if (value == null) {
+            return OrgSnapshot.NO_VALUE;
+        }
+        return strings.computeIfAbsent(value, key -> strings.size());
+    }
+}
@@ -0,0 +1,29 @@
+package com.mindex.challenge.stats;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records every repository method invocation, including custom fragment methods, in the RequestStats
+ * of the current request, as one round trip to storage.
+ */
+@Component
+public class RepositoryStatsPostProcessor implements BeanPostProcessor {
+    /**
+     * Records an invocation in the RequestStats of the current request. Also notified by the embedded store.
+     */
+    public static final RepositoryMethodInvocationListener LISTENER =
+        invocation -> RequestStats.current().recordRepositoryCall(invocation.getDuration(TimeUnit.NANOSECONDS));
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(LISTENER));
+        }
+        return bean;
+    }
+}
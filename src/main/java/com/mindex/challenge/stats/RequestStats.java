@@ -0,0 +1,182 @@
+package com.mindex.challenge.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Cost of the current HTTP request: employees traversed, repository round trips, cache lookups,
+ * and the time spent in storage, assembly and serialization.
+ *
+ * An instance is stored as a request attribute by RequestStatsFilter and reported in the Server-Timing header.
+ * Outside of a request (startup, benchmarks, streamed responses) recording is a no-op.
+ */
+public final class RequestStats {
+    static final String ATTRIBUTE = RequestStats.class.getName();
+
+    private static final RequestStats DETACHED = new RequestStats(false);
+
+    private final boolean active;
+    private final LongAdder nodesVisited = new LongAdder();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final LongAdder repositoryCalls = new LongAdder();
+    // Start and end of every repository call, from System.nanoTime
+    private final Queue<long[]> storageIntervals = new ConcurrentLinkedQueue<>();
+    private final LongAdder cacheLookups = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private volatile long handlerReturnedAt;
+
+    RequestStats() {
+        this(true);
+    }
+
+    private RequestStats(boolean active) {
+        this.active = active;
+    }
+
+    /**
+     * Gets the stats of the current request.
+     *
+     * @return The request's stats, or an instance that records nothing when called outside of a measured request
+     */
+    public static RequestStats current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return DETACHED;
+        }
+        Object stats = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return stats instanceof RequestStats requestStats ? requestStats : DETACHED;
+    }
+
+    /**
+     * Records a traversal of the reporting hierarchy.
+     *
+     * @param nodes The number of employees visited, including the root
+     * @param depth The number of levels below the root that were reached
+     */
+    public void recordTraversal(int nodes, int depth) {
+        if (active) {
+            nodesVisited.add(nodes);
+            maxDepth.accumulateAndGet(depth, Math::max);
+        }
+    }
+
+    /**
+     * Records a repository method invocation that just returned.
+     *
+     * @param nanos The duration of the invocation
+     */
+    public void recordRepositoryCall(long nanos) {
+        if (active) {
+            long endedAt = System.nanoTime();
+            repositoryCalls.increment();
+            storageIntervals.add(new long[] {endedAt - nanos, endedAt});
+        }
+    }
+
+    /**
+     * Records cache lookups, a lookup that is not a miss is a hit.
+     *
+     * @param lookups The number of keys looked up
+     */
+    public void recordCacheLookups(int lookups) {
+        if (active) {
+            cacheLookups.add(lookups);
+        }
+    }
+
+    /**
+     * Records cache misses for keys whose lookups were already recorded.
+     *
+     * @param misses The number of keys that had to be loaded
+     */
+    public void recordCacheMisses(int misses) {
+        if (active) {
+            cacheMisses.add(misses);
+        }
+    }
+
+    /**
+     * Marks the end of the handler, the response body is serialized from now on.
+     */
+    void markHandlerReturned() {
+        handlerReturnedAt = System.nanoTime();
+    }
+
+    /**
+     * Formats the stats as a Server-Timing header value. Durations are in milliseconds.
+     *
+     * @param startedAt When the request started, from System.nanoTime
+     * @param endedAt When the response was complete, or its headers were committed, from System.nanoTime
+     * @param complete Whether the body was complete, otherwise serialization and the total are left out
+     * @return The header value
+     */
+    String serverTiming(long startedAt, long endedAt, boolean complete) {
+        long handlerEnd = handlerReturnedAt != 0 ? handlerReturnedAt : endedAt;
+        long storage = storageWallNanos();
+        long cacheHits = cacheLookups.sum() - cacheMisses.sum();
+
+        StringBuilder header = new StringBuilder();
+        header.append(String.format(Locale.ROOT, "storage;desc=\"%d round trips\";dur=%.3f",
+            repositoryCalls.sum(), millis(storage)));
+        header.append(String.format(Locale.ROOT, ", cache;desc=\"%d hits, %d misses\"",
+            cacheHits, cacheMisses.sum()));
+        header.append(String.format(Locale.ROOT, ", assembly;desc=\"%d nodes, depth %d\";dur=%.3f",
+            nodesVisited.sum(), maxDepth.get(), millis(Math.max(handlerEnd - startedAt - storage, 0))));
+        if (!complete) {
+            return header.toString();
+        }
+        if (handlerReturnedAt != 0) {
+            header.append(String.format(Locale.ROOT, ", serialization;dur=%.3f", millis(endedAt - handlerReturnedAt)));
+        }
+        header.append(String.format(Locale.ROOT, ", total;dur=%.3f", millis(endedAt - startedAt)));
+        return header.toString();
+    }
+
+    /**
+     * Gets the wall-clock time during which at least one repository call was running. Calls made in
+     * parallel overlap and are counted once, so storage never exceeds the time of the request.
+     *
+     * @return The union of the repository call intervals, in nanoseconds
+     */
+    private long storageWallNanos() {
+        List<long[]> intervals = new ArrayList<>(storageIntervals);
+        intervals.sort(Comparator.comparingLong(interval -> interval[0]));
+
+        long total = 0;
+        long coveredUntil = Long.MIN_VALUE;
+        for (long[] interval : intervals) {
+            long start = Math.max(interval[0], coveredUntil);
+            if (interval[1] > start) {
+                total += interval[1] - start;
+                coveredUntil = interval[1];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Formats the counters as an X-Traversal-Stats header value.
+     *
+     * @return The header value
+     */
+    String traversalStats() {
+        return "nodes=" + nodesVisited.sum()
+            + "; depth=" + maxDepth.get()
+            + "; repositoryCalls=" + repositoryCalls.sum()
+            + "; cacheHits=" + (cacheLookups.sum() - cacheMisses.sum())
+            + "; cacheMisses=" + cacheMisses.sum();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,253 @@
+package com.mindex.challenge.stats;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Measures every request to the employee API and reports its cost in a Server-Timing header, and
+ * optionally its counters in an X-Traversal-Stats header (challenge.server-timing.traversal-header).
+ *
+ * Bodies up to challenge.server-timing.buffer-limit bytes are buffered so the headers can include the
+ * serialization time. A larger body is written through once it exceeds the limit, with headers that
+ * leave out serialization and the total, which are not known when the response is committed.
+ * Streamed reporting structures and requests outside of /employee, like the actuator endpoints, are
+ * not measured. Toggled with challenge.server-timing.enabled.
+ */
+@Component
+public class RequestStatsFilter extends OncePerRequestFilter {
+    private static final String MEASURED_PREFIX = "/employee";
+    private static final String STREAM_SUFFIX = "/stream";
+
+    private final boolean enabled;
+    private final boolean traversalHeader;
+    private final int bufferLimit;
+
+    /**
+     * Constructs a new RequestStatsFilter.
+     *
+     * @param enabled Whether requests are measured at all
+     * @param traversalHeader Whether the X-Traversal-Stats header is added
+     * @param bufferLimit The largest body, in bytes, that is buffered to measure its serialization
+     */
+    public RequestStatsFilter(@Value("${challenge.server-timing.enabled:true}") boolean enabled,
+            @Value("${challenge.server-timing.traversal-header:false}") boolean traversalHeader,
+            @Value("${challenge.server-timing.buffer-limit:65536}") int bufferLimit) {
+        this.enabled = enabled;
+        this.traversalHeader = traversalHeader;
+        this.bufferLimit = bufferLimit;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !path.startsWith(MEASURED_PREFIX) || path.endsWith(STREAM_SUFFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStats stats = new RequestStats();
+        request.setAttribute(RequestStats.ATTRIBUTE, stats);
+
+        long startedAt = System.nanoTime();
+        BoundedBufferResponse bufferedResponse = new BoundedBufferResponse(response, bufferLimit,
+            () -> setHeaders(response, stats.serverTiming(startedAt, System.nanoTime(), false), stats));
+        try {
+            filterChain.doFilter(request, bufferedResponse);
+        } finally {
+            if (bufferedResponse.isBuffering()) {
+                setHeaders(response, stats.serverTiming(startedAt, System.nanoTime(), true), stats);
+            }
+            bufferedResponse.writeBufferedBody();
+        }
+    }
+
+    private void setHeaders(HttpServletResponse response, String serverTiming, RequestStats stats) {
+        response.setHeader("Server-Timing", serverTiming);
+        if (traversalHeader) {
+            response.setHeader("X-Traversal-Stats", stats.traversalStats());
+        }
+    }
+
+    /**
+     * Holds back the body, and with it the commit of the headers, until the body is complete or exceeds
+     * the limit. Once over the limit the headers are set by the overflow action and the buffered bytes
+     * are written through, followed by everything after them.
+     */
+    private static final class BoundedBufferResponse extends HttpServletResponseWrapper {
+        private final int limit;
+        private final Runnable overflow;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+        private boolean buffering = true;
+        private long contentLength = -1;
+
+        BoundedBufferResponse(HttpServletResponse response, int limit, Runnable overflow) {
+            super(response);
+            this.limit = limit;
+            this.overflow = overflow;
+        }
+
+        boolean isBuffering() {
+            return buffering;
+        }
+
+        /**
+         * Writes the buffered body to the response, with its actual length, and stops buffering.
+         */
+        void writeBufferedBody() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (buffering && !getResponse().isCommitted()) {
+                if (buffer.size() > 0) {
+                    getResponse().setContentLength(buffer.size());
+                } else if (contentLength >= 0) {
+                    getResponse().setContentLengthLong(contentLength);
+                }
+            }
+            release();
+        }
+
+        private void release() throws IOException {
+            if (!buffering) {
+                return;
+            }
+            buffering = false;
+            if (buffer.size() > 0) {
+                buffer.writeTo(getResponse().getOutputStream());
+                buffer.reset();
+            }
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (buffering && buffer.size() + length > limit) {
+                overflow.run();
+                if (contentLength >= 0) {
+                    getResponse().setContentLengthLong(contentLength);
+                }
+                release();
+            }
+            if (buffering) {
+                buffer.write(bytes, offset, length);
+            } else {
+                getResponse().getOutputStream().write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        BoundedBufferResponse.this.write(new byte[] {(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) throws IOException {
+                        BoundedBufferResponse.this.write(bytes, offset, length);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        // Flushing would commit the headers, a buffered body is only flushed when complete
+                        if (!buffering) {
+                            BoundedBufferResponse.this.getResponse().getOutputStream().flush();
+                        }
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        throw new UnsupportedOperationException("Measured responses are written blocking");
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            // Set from the buffer once the body is complete, setting it now could commit the response early
+            if (buffering) {
+                contentLength = len;
+            } else {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (!buffering) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            buffer.reset();
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            buffer.reset();
+            contentLength = -1;
+            super.reset();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            buffer.reset();
+            buffering = false;
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            buffer.reset();
+            buffering = false;
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            buffer.reset();
+            buffering = false;
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -13,6 +13,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.mindex.challenge.data.Compensation;
@@ -29,6 +31,9 @@ public class ChallengeApplicationTests {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private ApplicationContext applicationContext;
+
     private String employeeUrl;
     private String reportingStructureUrl;
     private String compensationUrl;
@@ -128,4 +133,12 @@ public class ChallengeApplicationTests {
         assertNotNull(employee);
         assertNull(employee.getDirectReports());
 	}
+
+    @Test
+    public void testNoReactiveMongoBeansOutsideReactiveProfile() {
+        // The reactive client and template are only created by the reactive profile
+        assertEquals(0, applicationContext.getBeanNamesForType(
+            com.mongodb.reactivestreams.client.MongoClient.class).length);
+        assertEquals(0, applicationContext.getBeanNamesForType(ReactiveMongoTemplate.class).length);
+    }
 }
@@ -1,15 +1,46 @@
 package com.mindex.challenge;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mindex.challenge.dao.EmployeeRepository;
 import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.exception.DataLoadingException;
+import com.mindex.challenge.snapshot.OrgSnapshotService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.context.junit4.SpringRunner;
 import static org.junit.Assert.assertEquals;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -18,6 +49,9 @@ public class DataBootstrapTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private BootstrapStatus bootstrapStatus;
+
     @Test
     public void test() {
         Employee employee = employeeRepository.findByEmployeeId("16a596ae-edd3-4847-99fe-c4518e82c86f");
@@ -27,4 +61,139 @@ public class DataBootstrapTest {
         assertEquals("Development Manager", employee.getPosition());
         assertEquals("Engineering", employee.getDepartment());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAncestorsBackfilled() {
+        // Pete reports to Ringo, who reports to John
+        Employee pete = employeeRepository.findByEmployeeId("62c1084e-6e34-4630-93fd-9153afb65309");
+        assertEquals(List.of("16a596ae-edd3-4847-99fe-c4518e82c86f", "03aa1462-ffa9-4978-901b-7c001562cf6f"),
+            pete.getAncestors());
+        assertEquals(Integer.valueOf(2), pete.getDepth());
+    }
+
+    @Test
+    public void testBootstrapStatus() {
+        // The synchronous load is complete once the context is up
+        assertEquals(BootstrapStatus.State.LOADED, bootstrapStatus.getState());
+        assertFalse(bootstrapStatus.awaitIfLoading());
+
+        // Lookups that miss while loading get a retryable error once the wait runs out
+        BootstrapStatus loading = new BootstrapStatus(Duration.ofMillis(10));
+        try {
+            loading.awaitIfLoading();
+            throw new AssertionError("Expected DataLoadingException");
+        } catch (DataLoadingException e) {
+            assertEquals(1, e.getRetryAfterSeconds());
+        }
+
+        loading.markLoaded();
+        assertFalse(loading.isLoading());
+        assertTrue(loading.getTimeToLoaded() >= 0);
+    }
+
+    @Test
+    public void testAncestorsOfChainsAndLoops() {
+        // a -> b -> c -> d, x and y listing each other, z reporting into the loop
+        String ndjson = String.join("\n",
+            seedLine("c", "d"), seedLine("a", "b"), seedLine("b", "c"), seedLine("d"),
+            seedLine("x", "y"), seedLine("y", "x", "z"), seedLine("z"));
+        EmployeeRepository repository = mock(EmployeeRepository.class);
+        when(repository.insertUnordered(anyList())).thenReturn(Map.of());
+        Map<String, List<String>> ancestorsById = new HashMap<>();
+        doAnswer(invocation -> {
+            ancestorsById.putAll(invocation.getArgument(0));
+            return null;
+        }).when(repository).updatePaths(anyMap());
+
+        bootstrap(repository, new ByteArrayResource(ndjson.getBytes(StandardCharsets.UTF_8)), 2).init();
+
+        assertEquals(List.of("a"), ancestorsById.get("b"));
+        assertEquals(List.of("a", "b"), ancestorsById.get("c"));
+        assertEquals(List.of("a", "b", "c"), ancestorsById.get("d"));
+        assertEquals(List.of("y"), ancestorsById.get("x"));
+        assertEquals(List.of("x"), ancestorsById.get("y"));
+        assertEquals(List.of("x", "y"), ancestorsById.get("z"));
+        assertFalse(ancestorsById.containsKey("a"));
+    }
+
+    @Test
+    public void testParserStopsAfterWriteFailure() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            ndjson.append(seedLine("employee-" + i)).append('\n');
+        }
+        byte[] seed = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+        AtomicLong bytesRead = new AtomicLong();
+        Resource location = new ByteArrayResource(seed) {
+            @Override
+            public InputStream getInputStream() {
+                return new FilterInputStream(new ByteArrayInputStream(seed)) {
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int read = super.read(buffer, offset, length);
+                        bytesRead.addAndGet(Math.max(read, 0));
+                        return read;
+                    }
+                };
+            }
+        };
+        EmployeeRepository repository = mock(EmployeeRepository.class);
+        when(repository.insertUnordered(anyList())).thenThrow(new IllegalStateException("storage down"));
+
+        try {
+            bootstrap(repository, location, 1).init();
+            throw new AssertionError("Expected the write failure");
+        } catch (IllegalStateException e) {
+            assertEquals("storage down", e.getMessage());
+        }
+
+        // The parser stopped within a few batches instead of reading the whole file
+        assertTrue(bytesRead.get() < seed.length / 2);
+        verify(repository, times(1)).insertUnordered(anyList());
+    }
+
+    @Test
+    public void testReadsGzipNdjson() throws Exception {
+        String ndjson = "{\"employeeId\":\"a\",\"firstName\":\"Ann\"}\n{\"employeeId\":\"b\",\"firstName\":\"Bob\"}\n";
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(ndjson.getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (EmployeeSeedReader reader = new EmployeeSeedReader(new ObjectMapper(),
+                new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertEquals("Ann", reader.next().getFirstName());
+            assertEquals("Bob", reader.next().getFirstName());
+            assertNull(reader.next());
+        }
+    }
+
+    private static DataBootstrap bootstrap(EmployeeRepository repository, Resource location, int batchSize) {
+        OrgSnapshotService orgSnapshotService = mock(OrgSnapshotService.class);
+        when(orgSnapshotService.existingSnapshot()).thenReturn(Optional.empty());
+
+        DataBootstrap dataBootstrap = new DataBootstrap();
+        ReflectionTestUtils.setField(dataBootstrap, "employeeRepository", repository);
+        ReflectionTestUtils.setField(dataBootstrap, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(dataBootstrap, "bootstrapStatus", new BootstrapStatus(Duration.ofMillis(10)));
+        ReflectionTestUtils.setField(dataBootstrap, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(dataBootstrap, "orgSnapshotService", orgSnapshotService);
+        ReflectionTestUtils.setField(dataBootstrap, "location", location);
+        ReflectionTestUtils.setField(dataBootstrap, "batchSize", batchSize);
+        ReflectionTestUtils.setField(dataBootstrap, "writerThreads", 1);
+        ReflectionTestUtils.setField(dataBootstrap, "queueCapacity", 1);
+        return dataBootstrap;
+    }
+
+    private static String seedLine(String employeeId, String... reportIds) {
+        StringBuilder line = new StringBuilder("{\"employeeId\":\"").append(employeeId).append("\"");
+        if (reportIds.length > 0) {
+            line.append(",\"directReports\":[");
+            for (int i = 0; i < reportIds.length; i++) {
+                line.append(i > 0 ? "," : "").append("{\"employeeId\":\"").append(reportIds[i]).append("\"}");
+            }
+            line.append(']');
+        }
+        return line.append('}').toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.mindex.challenge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.mindex.challenge.dao.EmployeeRepository;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.service.EmployeeService;
+import com.mindex.challenge.service.ReportingStructureService;
+
+/**
+ * Restart of the application on a storage file: the data written before the shutdown is recovered
+ * from the file, and the seed is not loaded again.
+ */
+public class DurableStorageRestartTest {
+    // John Lennon from the sample employee database json
+    private static final String JOHN_ID = "16a596ae-edd3-4847-99fe-c4518e82c86f";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDataSurvivesRestart() {
+        Path storage = folder.getRoot().toPath().resolve("challenge.mv.db");
+
+        String createdId;
+        long storedBeforeShutdown;
+        try (ConfigurableApplicationContext context = start(storage)) {
+            // The first start seeds the empty file
+            assertTrue(context.getBean(BootstrapStatus.class).getEmployeesLoaded() > 0);
+
+            Employee employee = new Employee();
+            employee.setFirstName("Stuart");
+            employee.setLastName("Sutcliffe");
+            employee.setPosition("Bassist");
+            employee.setDepartment("Engineering");
+            createdId = context.getBean(EmployeeService.class).create(employee).getEmployeeId();
+            storedBeforeShutdown = context.getBean(EmployeeRepository.class).count();
+        }
+
+        try (ConfigurableApplicationContext context = start(storage)) {
+            // Recovered from the file, with nothing loaded from the seed
+            assertEquals(0, context.getBean(BootstrapStatus.class).getEmployeesLoaded());
+            assertEquals(storedBeforeShutdown, context.getBean(EmployeeRepository.class).count());
+
+            Employee recovered = context.getBean(EmployeeService.class).read(createdId);
+            assertNotNull(recovered);
+            assertEquals("Sutcliffe", recovered.getLastName());
+
+            // The materialized ancestors of the seed were stored with it
+            assertEquals(4, context.getBean(ReportingStructureService.class).getReportCount(JOHN_ID).getNumberOfReports());
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Path storage) {
+        return new SpringApplicationBuilder(ChallengeApplication.class)
+            .properties(
+                "challenge.storage.path=" + storage,
+                "server.port=0")
+            .run();
+    }
+}
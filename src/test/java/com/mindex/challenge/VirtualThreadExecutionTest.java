@@ -0,0 +1,84 @@
+package com.mindex.challenge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.mindex.challenge.concurrent.FanOutExecutor;
+import com.mindex.challenge.data.ReportingStructure;
+
+/**
+ * The virtual thread execution mode of spring.threads.virtual.enabled: Tomcat, the application task executor
+ * and the fan-out of large batches all run their work on virtual threads.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.threads.virtual.enabled=true")
+public class VirtualThreadExecutionTest {
+    // John Lennon from the sample employee database json
+    private static final String JOHN_ID = "16a596ae-edd3-4847-99fe-c4518e82c86f";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ServletWebServerApplicationContext applicationContext;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private FanOutExecutor fanOutExecutor;
+
+    @Test
+    public void testRequestsRunOnVirtualThreads() {
+        TomcatWebServer webServer = (TomcatWebServer) applicationContext.getWebServer();
+        assertTrue(webServer.getTomcat().getConnector().getProtocolHandler().getExecutor()
+            instanceof VirtualThreadExecutor);
+
+        ReportingStructure structure = restTemplate.getForObject(
+            "http://localhost:" + port + "/employee/{id}/reporting-structure", ReportingStructure.class, JOHN_ID);
+        assertEquals(4, structure.getNumberOfReports());
+    }
+
+    @Test
+    public void testTasksRunOnVirtualThreads() throws Exception {
+        Future<Boolean> virtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual());
+        assertTrue(virtual.get());
+
+        // Above the parallel threshold, called from a virtual thread like a request in this mode. The caller
+        // takes chunks too, the others run on the virtual threads of the fan-out executor
+        List<Thread> chunkThreads = applicationTaskExecutor.submit(() -> fanOutExecutor.mapChunks(
+            IntStream.range(0, 1000).boxed().toList(), chunk -> {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Thread.currentThread();
+            })).get();
+        assertEquals(10, chunkThreads.size());
+        assertTrue(chunkThreads.stream().allMatch(Thread::isVirtual));
+        assertTrue(chunkThreads.stream().anyMatch(thread -> thread.getName().startsWith("fan-out-")));
+    }
+}
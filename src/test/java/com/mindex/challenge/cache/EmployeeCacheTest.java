@@ -0,0 +1,66 @@
+package com.mindex.challenge.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mindex.challenge.concurrent.FanOutExecutor;
+import com.mindex.challenge.dao.EmployeeRepository;
+import com.mindex.challenge.data.Employee;
+
+public class EmployeeCacheTest {
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeCache employeeCache;
+
+    @Before
+    public void setup() {
+        employeeRepository = mock(EmployeeRepository.class);
+        employeeCache = new EmployeeCache(employeeRepository, new FanOutExecutor(200, 100, 4, 1, false), true, 100);
+    }
+
+    @Test
+    public void testGetAllCachesLoadedEmployees() {
+        when(employeeRepository.findAllByEmployeeIdIn(anyCollection()))
+            .thenReturn(List.of(employee("john", "Lennon"), employee("paul", "McCartney")));
+
+        assertEquals(2, employeeCache.getAll(List.of("john", "paul")).size());
+        assertEquals(2, employeeCache.getAll(List.of("john", "paul")).size());
+
+        verify(employeeRepository, times(1)).findAllByEmployeeIdIn(anyCollection());
+    }
+
+    @Test
+    public void testGetAllDropsEmployeesWrittenDuringLoad() {
+        // John is updated after the batch read his old record, but before the load returns
+        when(employeeRepository.findAllByEmployeeIdIn(anyCollection())).thenAnswer(invocation -> {
+            employeeCache.invalidate("john");
+            return List.of(employee("john", "Lennon"), employee("paul", "McCartney"));
+        });
+        when(employeeRepository.findByEmployeeId("john")).thenReturn(employee("john", "Ono"));
+
+        Map<String, Employee> loaded = employeeCache.getAll(List.of("john", "paul"));
+
+        // The caller still gets the batch, but only Paul was cached
+        assertEquals("Lennon", loaded.get("john").getLastName());
+        assertEquals("McCartney", employeeCache.get("paul").getLastName());
+        assertEquals("Ono", employeeCache.get("john").getLastName());
+        verify(employeeRepository, times(1)).findByEmployeeId("john");
+    }
+
+    private static Employee employee(String employeeId, String lastName) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeId);
+        employee.setLastName(lastName);
+        return employee;
+    }
+}
@@ -0,0 +1,69 @@
+package com.mindex.challenge.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FanOutExecutorTest {
+
+    private FanOutExecutor fanOutExecutor;
+
+    @Before
+    public void setup() {
+        // Parallel above 4 items, in chunks of 3, at most 2 chunks at a time
+        fanOutExecutor = new FanOutExecutor(4, 3, 2, 4, false);
+    }
+
+    @After
+    public void teardown() {
+        fanOutExecutor.destroy();
+    }
+
+    @Test
+    public void testSmallBatchRunsOnCallingThread() {
+        Thread caller = Thread.currentThread();
+        List<Boolean> results = fanOutExecutor.mapChunks(List.of(1, 2, 3, 4),
+            chunk -> Thread.currentThread() == caller && chunk.size() == 4);
+
+        assertEquals(List.of(true), results);
+    }
+
+    @Test
+    public void testLargeBatchKeepsChunkOrder() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> items = IntStream.range(0, 10).boxed().toList();
+
+        List<List<Integer>> results = fanOutExecutor.mapChunks(items, chunk -> {
+            threads.add(Thread.currentThread().getName());
+            return chunk;
+        });
+
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5), List.of(6, 7, 8), List.of(9)), results);
+        assertTrue(threads.size() <= 2);
+    }
+
+    @Test
+    public void testChunkFailureIsPropagated() {
+        List<Integer> items = IntStream.range(0, 10).boxed().toList();
+        try {
+            fanOutExecutor.mapChunks(items, chunk -> {
+                if (chunk.contains(9)) {
+                    throw new IllegalArgumentException("bad chunk");
+                }
+                return chunk;
+            });
+            fail("Expected the chunk failure to be propagated");
+        } catch (IllegalArgumentException e) {
+            assertEquals("bad chunk", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.mindex.challenge.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.mindex.challenge.dao.CompensationRepository;
+import com.mindex.challenge.dao.EmployeeRepository;
+import com.mindex.challenge.dao.embedded.EmbeddedCompensationRepository;
+import com.mindex.challenge.dao.embedded.EmbeddedEmployeeRepository;
+import com.mindex.challenge.data.Compensation;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.data.ReportingStructure;
+
+/**
+ * The REST API served from the in-process store of the embedded profile.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+public class EmbeddedEmployeeControllerTest {
+    // John Lennon and Ringo Starr from the sample employee database json
+    private static final String JOHN_ID = "16a596ae-edd3-4847-99fe-c4518e82c86f";
+    private static final String RINGO_ID = "03aa1462-ffa9-4978-901b-7c001562cf6f";
+    private static final String UNKNOWN_ID = "00000000-0000-0000-0000-000000000000";
+
+    private String employeeUrl;
+    private String employeeIdUrl;
+    private String reportingStructureUrl;
+    private String compensationUrl;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CompensationRepository compensationRepository;
+
+    @Before
+    public void setup() {
+        employeeUrl = "http://localhost:" + port + "/employee";
+        employeeIdUrl = "http://localhost:" + port + "/employee/{id}";
+        reportingStructureUrl = "http://localhost:" + port + "/employee/{id}/reporting-structure";
+        compensationUrl = "http://localhost:" + port + "/employee/{id}/compensation";
+    }
+
+    @Test
+    public void testServedByTheEmbeddedStore() {
+        assertEquals(EmbeddedEmployeeRepository.class, AopUtils.getTargetClass(employeeRepository));
+        assertEquals(EmbeddedCompensationRepository.class, AopUtils.getTargetClass(compensationRepository));
+
+        // Seeded by DataBootstrap like the MongoDB backed stores
+        assertEquals(RINGO_ID, employeeRepository.findByEmployeeId(RINGO_ID).getEmployeeId());
+    }
+
+    @Test
+    public void testCreateReadUpdate() {
+        Employee employee = new Employee();
+        employee.setFirstName("Stuart");
+        employee.setLastName("Sutcliffe");
+        employee.setPosition("Bassist");
+        employee.setDepartment("Engineering");
+
+        Employee created = restTemplate.postForEntity(employeeUrl, employee, Employee.class).getBody();
+        assertNotNull(created.getEmployeeId());
+        assertEquals(Long.valueOf(0), created.getVersion());
+        assertEquals("Sutcliffe", restTemplate.getForObject(employeeIdUrl, Employee.class, created.getEmployeeId())
+            .getLastName());
+
+        Employee promoted = new Employee();
+        promoted.setPosition("Painter");
+        promoted.setVersion(0L);
+        ResponseEntity<Employee> updated = restTemplate.exchange(employeeIdUrl, HttpMethod.PUT,
+            new HttpEntity<>(promoted), Employee.class, created.getEmployeeId());
+        assertEquals(HttpStatus.OK, updated.getStatusCode());
+        assertEquals(Long.valueOf(1), updated.getBody().getVersion());
+
+        // The same version again lost the race
+        assertEquals(HttpStatus.CONFLICT, restTemplate.exchange(employeeIdUrl, HttpMethod.PUT,
+            new HttpEntity<>(promoted), String.class, created.getEmployeeId()).getStatusCode());
+        assertEquals("Painter", restTemplate.getForObject(employeeIdUrl, Employee.class, created.getEmployeeId())
+            .getPosition());
+    }
+
+    @Test
+    public void testReportingStructure() {
+        ReportingStructure structure = restTemplate.getForObject(reportingStructureUrl, ReportingStructure.class, JOHN_ID);
+        assertEquals(4, structure.getNumberOfReports());
+        assertEquals(2, structure.getEmployee().getDirectReports().size());
+
+        ReportingStructure firstLevel = restTemplate.getForObject(reportingStructureUrl + "?depth=1",
+            ReportingStructure.class, JOHN_ID);
+        assertEquals(4, firstLevel.getNumberOfReports());
+        assertEquals(List.of(RINGO_ID), firstLevel.getTruncatedBranches());
+
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity(reportingStructureUrl, String.class, UNKNOWN_ID)
+            .getStatusCode());
+    }
+
+    @Test
+    public void testCompensation() {
+        ResponseEntity<Compensation> created = restTemplate.postForEntity(compensationUrl,
+            Map.of("salary", 150000.0, "effectiveDate", new Date().getTime()), Compensation.class, RINGO_ID);
+        assertEquals(HttpStatus.OK, created.getStatusCode());
+
+        Compensation read = restTemplate.getForObject(compensationUrl, Compensation.class, RINGO_ID);
+        assertEquals(RINGO_ID, read.getEmployee().getEmployeeId());
+        assertEquals(150000.0, read.getSalary(), 0.001);
+
+        // One compensation per employee, enforced by the unique index of the store
+        assertTrue(restTemplate.postForEntity(compensationUrl,
+            Map.of("salary", 1.0, "effectiveDate", new Date().getTime()), String.class, RINGO_ID).getStatusCode().isError());
+        assertEquals(150000.0, restTemplate.getForObject(compensationUrl, Compensation.class, RINGO_ID).getSalary(), 0.001);
+    }
+}
@@ -0,0 +1,219 @@
+package com.mindex.challenge.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindex.challenge.BootstrapStatus;
+import com.mindex.challenge.dao.reactive.ReactiveEmployeeRepository;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.exception.DataLoadingException;
+import com.mindex.challenge.service.CompensationService;
+import com.mindex.challenge.service.EmployeeService;
+import com.mindex.challenge.service.ReportingStructureFormat;
+import com.mindex.challenge.service.ReportingStructureService;
+
+/**
+ * Parity of the WebFlux endpoints of the reactive profile with the responses of the Spring MVC stack,
+ * whose blocking services are also part of the reactive context.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTest {
+    // John Lennon, Ringo Starr and George Harrison from the sample employee database json
+    private static final String JOHN_ID = "16a596ae-edd3-4847-99fe-c4518e82c86f";
+    private static final String RINGO_ID = "03aa1462-ffa9-4978-901b-7c001562cf6f";
+    private static final String GEORGE_ID = "c0c2293d-16bd-4603-8e08-638a9d18b22c";
+    private static final String UNKNOWN_ID = "00000000-0000-0000-0000-000000000000";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ReportingStructureService reportingStructureService;
+
+    @Autowired
+    private CompensationService compensationService;
+
+    @SpyBean
+    private ReactiveEmployeeRepository reactiveEmployeeRepository;
+
+    @SpyBean
+    private BootstrapStatus bootstrapStatus;
+
+    @Test
+    public void testReadParity() throws Exception {
+        assertEquals(json(employeeService.read(JOHN_ID)), get("/employee/{id}", JOHN_ID));
+
+        List<String> ids = List.of(JOHN_ID, UNKNOWN_ID, RINGO_ID);
+        JsonNode expected = json(employeeService.readAll(ids));
+        assertEquals(expected, get("/employee?ids={ids}", String.join(",", ids)));
+        assertEquals(expected, objectMapper.readTree(webTestClient.post().uri("/employee/lookup")
+            .bodyValue(ids)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(String.class).returnResult().getResponseBody()));
+    }
+
+    @Test
+    public void testReportingStructureParity() throws Exception {
+        int unlimited = ReportingStructureService.UNLIMITED;
+
+        JsonNode full = get("/employee/{id}/reporting-structure", JOHN_ID);
+        assertEquals(json(reportingStructureService.getReportingStructure(JOHN_ID)), full);
+        assertEquals(4, full.get("numberOfReports").asInt());
+
+        JsonNode firstLevel = get("/employee/{id}/reporting-structure?depth=1", JOHN_ID);
+        assertEquals(json(reportingStructureService.getReportingStructure(JOHN_ID, 1, unlimited)), firstLevel);
+        assertEquals(RINGO_ID, firstLevel.get("truncatedBranches").get(0).asText());
+
+        assertEquals(json(reportingStructureService.getReportingStructure(RINGO_ID, 1, unlimited)),
+            get("/employee/{id}/reporting-structure?depth=1", RINGO_ID));
+    }
+
+    @Test
+    public void testTruncatedStructuresAreCounted() throws Exception {
+        clearInvocations(reactiveEmployeeRepository);
+
+        // Complete structures count their reports while resolving them
+        get("/employee/{id}/reporting-structure", JOHN_ID);
+        verify(reactiveEmployeeRepository, never()).countByAncestors(anyString());
+
+        // Ringo's reports do not fit, the total comes from the ancestors instead
+        JsonNode truncated = get("/employee/{id}/reporting-structure?maxNodes=2", JOHN_ID);
+        assertEquals(json(reportingStructureService.getReportingStructure(JOHN_ID, ReportingStructureService.UNLIMITED, 2)),
+            truncated);
+        assertEquals(4, truncated.get("numberOfReports").asInt());
+        assertEquals(2, truncated.get("employee").get("directReports").size());
+        verify(reactiveEmployeeRepository, times(1)).countByAncestors(JOHN_ID);
+
+        JsonNode count = get("/employee/{id}/reporting-structure?countOnly=true", JOHN_ID);
+        assertEquals(json(reportingStructureService.getReportCount(JOHN_ID)), count);
+        verify(reactiveEmployeeRepository, times(2)).countByAncestors(JOHN_ID);
+    }
+
+    @Test
+    public void testStreamParity() throws Exception {
+        assertEquals(json(reportingStructureService.getReportingStructure(JOHN_ID)),
+            get("/employee/{id}/reporting-structure/stream?format=json", JOHN_ID));
+
+        // Lines come level by level instead of depth first, the set of lines is the same
+        String streamed = webTestClient.get().uri("/employee/{id}/reporting-structure/stream?format=ndjson", JOHN_ID)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBody(String.class).returnResult().getResponseBody();
+        ByteArrayOutputStream blocking = new ByteArrayOutputStream();
+        reportingStructureService.streamReportingStructure(JOHN_ID, ReportingStructureFormat.NDJSON).writeTo(blocking);
+
+        Set<JsonNode> lines = lines(streamed);
+        assertEquals(5, lines.size());
+        assertEquals(lines(blocking.toString()), lines);
+    }
+
+    @Test
+    public void testCompensationParity() throws Exception {
+        JsonNode created = objectMapper.readTree(webTestClient.post().uri("/employee/{id}/compensation", GEORGE_ID)
+            .bodyValue(Map.of("salary", 95000.0, "effectiveDate", new Date().getTime()))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(String.class).returnResult().getResponseBody());
+
+        assertEquals(GEORGE_ID, created.get("employee").get("employeeId").asText());
+        assertEquals(95000.0, created.get("salary").asDouble(), 0.001);
+        assertEquals(json(compensationService.read(GEORGE_ID)), get("/employee/{id}/compensation", GEORGE_ID));
+    }
+
+    @Test
+    public void testErrorMappings() {
+        // 404 for unknown employees, on reads and structures alike
+        webTestClient.get().uri("/employee/{id}", UNKNOWN_ID).exchange().expectStatus().isNotFound();
+        webTestClient.get().uri("/employee/{id}/reporting-structure", UNKNOWN_ID).exchange()
+            .expectStatus().isNotFound();
+        webTestClient.get().uri("/employee/{id}/reporting-structure?countOnly=true", UNKNOWN_ID).exchange()
+            .expectStatus().isNotFound();
+
+        // 400 for invalid limits
+        webTestClient.get().uri("/employee/{id}/reporting-structure?depth=-1", JOHN_ID).exchange()
+            .expectStatus().isBadRequest();
+
+        // 409 for an update based on a stale version, which leaves the employee untouched
+        Employee ringo = employeeService.read(RINGO_ID);
+        long staleVersion = ringo.getVersion() != null ? ringo.getVersion() + 1 : 99;
+        webTestClient.put().uri("/employee/{id}", RINGO_ID)
+            .bodyValue(Map.of("position", "Drummer", "version", staleVersion))
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+        assertEquals(ringo.getPosition(), employeeService.read(RINGO_ID).getPosition());
+    }
+
+    @Test
+    public void testLoadingIsServiceUnavailable() {
+        doThrow(new DataLoadingException("Seed data is still loading", 3)).when(bootstrapStatus).checkNotLoading();
+
+        webTestClient.get().uri("/employee/{id}/reporting-structure", JOHN_ID).exchange()
+            .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+            .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "3");
+        webTestClient.get().uri("/employee/{id}", UNKNOWN_ID).exchange()
+            .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private JsonNode get(String uri, Object... uriVariables) throws Exception {
+        return objectMapper.readTree(webTestClient.get().uri(uri, uriVariables)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(String.class).returnResult().getResponseBody());
+    }
+
+    private JsonNode json(Object value) throws Exception {
+        // Serialized like the Spring MVC responses, with the same object mapper
+        return objectMapper.readTree(objectMapper.writeValueAsString(value));
+    }
+
+    private Set<JsonNode> lines(String ndjson) {
+        return Arrays.stream(ndjson.split("\n"))
+            .filter(line -> !line.isBlank())
+            .map(line -> {
+                try {
+                    return objectMapper.readTree(line);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            })
+            .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,154 @@
+package com.mindex.challenge.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindex.challenge.cache.EmployeeCache;
+import com.mindex.challenge.cache.ReportingStructureCache;
+import com.mindex.challenge.data.Compensation;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.data.ReportingStructure;
+
+/**
+ * Regression guard for the number of employee repository calls made per request.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EmployeeRepositoryCallsTest {
+    // John Lennon and Ringo Starr from the sample employee database json
+    private static final String JOHN_ID = "16a596ae-edd3-4847-99fe-c4518e82c86f";
+    private static final String RINGO_ID = "03aa1462-ffa9-4978-901b-7c001562cf6f";
+    private static final String UNKNOWN_ID = "00000000-0000-0000-0000-000000000000";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private ReportingStructureCache reportingStructureCache;
+
+    @SpyBean
+    private EmployeeRepository employeeRepository;
+
+    private String employeeIdUrl;
+    private String reportingStructureUrl;
+    private String compensationUrl;
+    private String lookupUrl;
+
+    @Before
+    public void setup() {
+        employeeIdUrl = "http://localhost:" + port + "/employee/{id}";
+        reportingStructureUrl = "http://localhost:" + port + "/employee/{id}/reporting-structure";
+        compensationUrl = "http://localhost:" + port + "/employee/{id}/compensation";
+        lookupUrl = "http://localhost:" + port + "/employee/lookup";
+    }
+
+    @Test
+    public void testEmployeeReadBatchesDirectReports() {
+        startColdRequest();
+
+        Employee employee = restTemplate.getForEntity(employeeIdUrl, Employee.class, JOHN_ID).getBody();
+        assertNotNull(employee);
+        assertEquals(2, employee.getDirectReports().size());
+
+        // One lookup for John, one $in query for both direct reports
+        verify(employeeRepository, times(1)).findByEmployeeId(JOHN_ID);
+        verify(employeeRepository, times(1)).findAllByEmployeeIdIn(anyCollection());
+        verifyNoMoreInteractions(employeeRepository);
+    }
+
+    @Test
+    public void testCompensationReadLoadsEmployeeOnce() {
+        Compensation compensation = new Compensation();
+        compensation.setSalary(120000.00);
+        compensation.setEffectiveDate(new Date());
+        restTemplate.postForEntity(compensationUrl, compensation, Compensation.class, RINGO_ID);
+
+        startColdRequest();
+
+        Compensation read = restTemplate.getForEntity(compensationUrl, Compensation.class, RINGO_ID).getBody();
+        assertNotNull(read);
+        assertEquals(2, read.getEmployee().getDirectReports().size());
+
+        // The hierarchy is resolved once, not again by the compensation service
+        verify(employeeRepository, times(1)).findByEmployeeId(RINGO_ID);
+        verify(employeeRepository, times(1)).findAllByEmployeeIdIn(anyCollection());
+        verifyNoMoreInteractions(employeeRepository);
+    }
+
+    @Test
+    public void testReportingStructureMakesNoRepositoryCalls() {
+        startColdRequest();
+
+        ReportingStructure structure = restTemplate.getForEntity(
+            reportingStructureUrl, ReportingStructure.class, JOHN_ID).getBody();
+        assertNotNull(structure);
+        assertEquals(4, structure.getNumberOfReports());
+
+        // Walked entirely through the in-memory org graph
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    public void testBulkReadFetchesEachDocumentOnce() throws Exception {
+        startColdRequest();
+
+        JsonNode results = new ObjectMapper().readTree(restTemplate.postForObject(lookupUrl,
+            List.of(JOHN_ID, RINGO_ID, UNKNOWN_ID, JOHN_ID), String.class));
+        assertEquals(4, results.size());
+        assertEquals(JOHN_ID, results.get(0).get("employeeId").asText());
+        assertEquals("NOT_FOUND", results.get(2).get("status").asText());
+        assertEquals(2, results.get(3).get("employee").get("directReports").size());
+
+        // One $in query for the requested employees, one for the direct reports not loaded yet
+        verify(employeeRepository, times(2)).findAllByEmployeeIdIn(anyCollection());
+        verifyNoMoreInteractions(employeeRepository);
+    }
+
+    @Test
+    public void testWarmCacheMakesNoRepositoryCalls() {
+        restTemplate.getForEntity(employeeIdUrl, Employee.class, JOHN_ID);
+        clearInvocations(employeeRepository);
+
+        Employee employee = restTemplate.getForEntity(employeeIdUrl, Employee.class, JOHN_ID).getBody();
+        assertNotNull(employee);
+
+        // John and both direct reports are served from the read-through cache
+        verifyNoInteractions(employeeRepository);
+    }
+
+    /**
+     * Empties the caches and resets the call counts, so the next request starts cold.
+     */
+    private void startColdRequest() {
+        employeeCache.invalidateAll();
+        reportingStructureCache.invalidateAll();
+        clearInvocations(employeeRepository);
+    }
+}
@@ -0,0 +1,126 @@
+package com.mindex.challenge.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.mindex.challenge.data.Employee;
+
+/**
+ * Subtree queries and moves on the materialized ancestors of a multi-level tree.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class EmployeeSubtreeTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    // Unique per test, so the trees do not mix with the seed data or each other
+    private String prefix;
+
+    @Before
+    public void setup() {
+        // root -> (a, b), a -> (a1, a2), a1 -> a11, b -> b1
+        prefix = UUID.randomUUID() + "-";
+        Map<Integer, String> failures = employeeRepository.insertUnordered(List.of(
+            employee("root"),
+            employee("a", "root"),
+            employee("b", "root"),
+            employee("a1", "root", "a"),
+            employee("a2", "root", "a"),
+            employee("a11", "root", "a", "a1"),
+            employee("b1", "root", "b")));
+        assertEquals(Map.of(), failures);
+    }
+
+    @Test
+    public void testFindSubtree() {
+        assertEquals(ids("a", "b", "a1", "a2", "a11", "b1"), ids(employeeRepository.findSubtree(id("root"))));
+        assertEquals(ids("a1", "a2", "a11"), ids(employeeRepository.findSubtree(id("a"))));
+        assertEquals(Set.of(), ids(employeeRepository.findSubtree(id("a11"))));
+    }
+
+    @Test
+    public void testFindSubtreeToDepth() {
+        assertEquals(ids("a", "b"), ids(employeeRepository.findSubtree(id("root"), 1)));
+        assertEquals(ids("a", "b", "a1", "a2", "b1"), ids(employeeRepository.findSubtree(id("root"), 2)));
+        assertEquals(ids("a1", "a2"), ids(employeeRepository.findSubtree(id("a"), 2)));
+    }
+
+    @Test
+    public void testBulkInsertStartsAtVersionZero() {
+        // Like an employee inserted one by one, so the first update is based on version 0
+        assertEquals(Long.valueOf(0), employeeRepository.findByEmployeeId(id("a1")).getVersion());
+        assertTrue(employeeRepository.updateFields(id("a1"), 0L, Map.of("position", "Drummer")));
+        assertEquals(Long.valueOf(1), employeeRepository.findByEmployeeId(id("a1")).getVersion());
+    }
+
+    @Test
+    public void testCountSubtree() {
+        assertEquals(6, employeeRepository.countSubtree(id("root")));
+        assertEquals(3, employeeRepository.countSubtree(id("a")));
+        assertEquals(1, employeeRepository.countSubtree(id("b")));
+        assertEquals(0, employeeRepository.countSubtree(id("b1")));
+    }
+
+    @Test
+    public void testMoveSubtreeUnderNewManager() {
+        // a and everyone below it move under b1
+        List<String> moved = employeeRepository.moveSubtree(id("a"), List.of(id("root"), id("b"), id("b1")));
+
+        assertEquals(id("a"), moved.get(0));
+        assertEquals(ids("a", "a1", "a2", "a11"), Set.copyOf(moved));
+
+        assertPath("a", "root", "b", "b1");
+        assertPath("a1", "root", "b", "b1", "a");
+        assertPath("a11", "root", "b", "b1", "a", "a1");
+        assertPath("b1", "root", "b");
+
+        assertEquals(5, employeeRepository.countSubtree(id("b")));
+        assertEquals(4, employeeRepository.countSubtree(id("b1")));
+        assertEquals(ids("b1", "a"), ids(employeeRepository.findSubtree(id("b"), 3)));
+        assertEquals(6, employeeRepository.countSubtree(id("root")));
+    }
+
+    private void assertPath(String name, String... ancestorNames) {
+        Employee employee = employeeRepository.findByEmployeeId(id(name));
+        assertEquals(Arrays.stream(ancestorNames).map(this::id).toList(), employee.getAncestors());
+        assertEquals(Integer.valueOf(ancestorNames.length), employee.getDepth());
+    }
+
+    private Employee employee(String name, String... ancestorNames) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(id(name));
+        employee.setFirstName(name);
+        employee.setAncestors(new ArrayList<>(Arrays.stream(ancestorNames).map(this::id).toList()));
+        employee.setDepth(ancestorNames.length);
+        return employee;
+    }
+
+    private String id(String name) {
+        return prefix + name;
+    }
+
+    private Set<String> ids(String... names) {
+        return Arrays.stream(names).map(this::id).collect(Collectors.toSet());
+    }
+
+    private static Set<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getEmployeeId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,222 @@
+package com.mindex.challenge.dao.embedded;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.mindex.challenge.data.Employee;
+
+public class EmbeddedEmployeeRepositoryTest {
+
+    private EmbeddedEmployeeRepository employeeRepository;
+
+    @Before
+    public void setup() {
+        // root -> (a, b), a -> a1
+        employeeRepository = new EmbeddedEmployeeRepository();
+        Map<Integer, String> failures = employeeRepository.insertUnordered(List.of(
+            employee("root", "Lennon", "CEO"),
+            employee("a", "McCartney", "Developer Manager", "root"),
+            employee("b", "Starr", "Developer Manager", "root"),
+            employee("a1", "Best", "Developer", "root", "a")));
+        assertEquals(Map.of(), failures);
+    }
+
+    @Test
+    public void testDocumentsAreCopiedInAndOut() {
+        Employee written = employee("c", "Harrison", "Developer", "root");
+        written.setDirectReports(new ArrayList<>(List.of(employee("a1", null, null))));
+        employeeRepository.insert(written);
+
+        // Changing the inserted instance does not change the store
+        written.setLastName("Changed");
+        written.getDirectReports().add(employee("b", null, null));
+        written.getAncestors().add("a");
+
+        Employee read = employeeRepository.findByEmployeeId("c");
+        assertEquals("Harrison", read.getLastName());
+        assertEquals(1, read.getDirectReports().size());
+        assertEquals(List.of("root"), read.getAncestors());
+
+        // Neither does changing what was read
+        read.setLastName("Changed");
+        read.getDirectReports().get(0).setEmployeeId("b");
+        assertEquals("Harrison", employeeRepository.findByEmployeeId("c").getLastName());
+        assertEquals("a1", employeeRepository.findByEmployeeId("c").getDirectReports().get(0).getEmployeeId());
+        assertEquals(Set.of("a", "b", "a1", "c"), ids(employeeRepository.findSubtree("root")));
+    }
+
+    @Test
+    public void testUpdateFieldsChecksTheVersion() {
+        assertEquals(Long.valueOf(0), employeeRepository.findByEmployeeId("a1").getVersion());
+
+        assertTrue(employeeRepository.updateFields("a1", 0L, Map.of("position", "Drummer")));
+        Employee updated = employeeRepository.findByEmployeeId("a1");
+        assertEquals("Drummer", updated.getPosition());
+        assertEquals("Best", updated.getLastName());
+        assertEquals(Long.valueOf(1), updated.getVersion());
+
+        // Based on the old version, or on an employee that does not exist
+        assertFalse(employeeRepository.updateFields("a1", 0L, Map.of("position", "Bassist")));
+        assertFalse(employeeRepository.updateFields("unknown", 0L, Map.of("position", "Bassist")));
+        assertEquals("Drummer", employeeRepository.findByEmployeeId("a1").getPosition());
+    }
+
+    @Test
+    public void testSaveChecksTheVersion() {
+        Employee read = employeeRepository.findByEmployeeId("a1");
+        read.setPosition("Drummer");
+        assertEquals(Long.valueOf(1), employeeRepository.save(read).getVersion());
+        assertEquals(Long.valueOf(1), employeeRepository.findByEmployeeId("a1").getVersion());
+
+        // Based on the old version, or on an employee that was never stored
+        Employee stale = employeeRepository.findByEmployeeId("a1");
+        stale.setVersion(0L);
+        stale.setPosition("Bassist");
+        Employee unknown = employee("unknown", "Sutcliffe", "Bassist");
+        unknown.setVersion(3L);
+        for (Employee employee : List.of(stale, unknown)) {
+            try {
+                employeeRepository.save(employee);
+                fail("Expected the save of " + employee.getEmployeeId() + " to be rejected");
+            } catch (OptimisticLockingFailureException expected) {
+                // Nothing was written
+            }
+        }
+        assertEquals("Drummer", employeeRepository.findByEmployeeId("a1").getPosition());
+        assertNull(employeeRepository.findByEmployeeId("unknown"));
+
+        // Without a version it is inserted
+        Employee newHire = employee("c", "Harrison", "Developer", "root");
+        assertEquals(Long.valueOf(0), employeeRepository.save(newHire).getVersion());
+        assertEquals(Long.valueOf(0), employeeRepository.findByEmployeeId("c").getVersion());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdateFieldsRejectsUnknownFields() {
+        employeeRepository.updateFields("a1", 0L, Map.of("ancestors", List.of()));
+    }
+
+    @Test
+    public void testReplaceDirectReports() {
+        assertTrue(employeeRepository.replaceDirectReports("root", 0L, List.of("b", "a")));
+
+        Employee root = employeeRepository.findByEmployeeId("root");
+        assertEquals(List.of("b", "a"), root.getDirectReports().stream().map(Employee::getEmployeeId).toList());
+        assertNull(root.getDirectReports().get(0).getLastName());
+        assertEquals(Long.valueOf(1), root.getVersion());
+
+        // Based on the old version, or on an employee that does not exist
+        assertFalse(employeeRepository.replaceDirectReports("root", 0L, List.of("a")));
+        assertEquals(2, employeeRepository.findByEmployeeId("root").getDirectReports().size());
+        assertFalse(employeeRepository.replaceDirectReports("unknown", 0L, List.of("a")));
+        assertNull(employeeRepository.findByEmployeeId("unknown"));
+    }
+
+    @Test
+    public void testSubtreeQueriesAndMoves() {
+        assertEquals(Set.of("a", "b", "a1"), ids(employeeRepository.findSubtree("root")));
+        assertEquals(Set.of("a", "b"), ids(employeeRepository.findSubtree("root", 1)));
+        assertEquals(3, employeeRepository.countSubtree("root"));
+        assertEquals(0, employeeRepository.countSubtree("a1"));
+
+        // a and a1 move under b
+        List<String> moved = employeeRepository.moveSubtree("a", List.of("root", "b"));
+        assertEquals("a", moved.get(0));
+        assertEquals(Set.of("a", "a1"), Set.copyOf(moved));
+
+        assertEquals(List.of("root", "b", "a"), employeeRepository.findByEmployeeId("a1").getAncestors());
+        assertEquals(Integer.valueOf(3), employeeRepository.findByEmployeeId("a1").getDepth());
+        assertEquals(Set.of("a", "a1"), ids(employeeRepository.findSubtree("b")));
+        assertEquals(1, employeeRepository.countSubtree("a"));
+        assertEquals(3, employeeRepository.countSubtree("root"));
+    }
+
+    @Test
+    public void testInsertUnorderedReportsEveryFailure() {
+        Map<Integer, String> failures = employeeRepository.insertUnordered(List.of(
+            employee("c", "Harrison", "Developer", "root"),
+            employee("a", "Duplicate", "Developer", "root"),
+            employee(null, "Missing", "Developer"),
+            employee("d", "Sutcliffe", "Developer", "root")));
+
+        // The failing employees do not stop the others
+        assertEquals(Set.of(1, 2), failures.keySet());
+        assertTrue(failures.get(1).contains("Duplicate key"));
+        assertEquals("McCartney", employeeRepository.findByEmployeeId("a").getLastName());
+        assertEquals(6, employeeRepository.count());
+    }
+
+    @Test
+    public void testSortedAndPagedLookups() {
+        assertEquals(List.of("a1", "root", "a", "b"),
+            employeeRepository.findAll(Sort.by("lastName")).stream().map(Employee::getEmployeeId).toList());
+
+        Page<Employee> page = employeeRepository.findAll(
+            PageRequest.of(1, 3, Sort.by(Sort.Order.desc("depth"), Sort.Order.asc("employeeId"))));
+        assertEquals(4, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+        assertEquals(List.of("root"), page.getContent().stream().map(Employee::getEmployeeId).toList());
+    }
+
+    @Test
+    public void testQueryByExample() {
+        Employee probe = new Employee();
+        probe.setPosition("Developer Manager");
+        assertEquals(Set.of("a", "b"), ids(employeeRepository.findAll(Example.of(probe))));
+        assertEquals(2, employeeRepository.count(Example.of(probe)));
+
+        // Strings match by prefix ignoring case here, lists of the probe must be equal as a whole
+        Employee partial = new Employee();
+        partial.setPosition("developer");
+        partial.setAncestors(List.of("root", "a"));
+        ExampleMatcher startingIgnoreCase = ExampleMatcher.matching()
+            .withStringMatcher(ExampleMatcher.StringMatcher.STARTING)
+            .withIgnoreCase();
+        assertEquals(Set.of("a1"), ids(employeeRepository.findAll(Example.of(partial, startingIgnoreCase))));
+
+        Employee developers = new Employee();
+        developers.setPosition("developer");
+        assertEquals(List.of("b", "a", "a1"), employeeRepository.findBy(Example.of(developers, startingIgnoreCase),
+            query -> query.sortBy(Sort.by(Sort.Direction.DESC, "lastName")).all())
+            .stream().map(Employee::getEmployeeId).toList());
+        assertEquals("McCartney", employeeRepository.findBy(Example.of(developers, startingIgnoreCase),
+            query -> query.sortBy(Sort.by("employeeId")).firstValue()).getLastName());
+
+        probe.setLastName("Lennon");
+        assertFalse(employeeRepository.exists(Example.of(probe)));
+        assertTrue(employeeRepository.exists(Example.of(probe, ExampleMatcher.matchingAny())));
+    }
+
+    private static Employee employee(String employeeId, String lastName, String position, String... ancestors) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeId);
+        employee.setLastName(lastName);
+        employee.setPosition(position);
+        employee.setAncestors(new ArrayList<>(Arrays.asList(ancestors)));
+        employee.setDepth(ancestors.length);
+        return employee;
+    }
+
+    private static Set<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getEmployeeId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,88 @@
+package com.mindex.challenge.dao.embedded;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.mindex.challenge.dao.CompensationRepository;
+import com.mindex.challenge.dao.EmployeeRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The stores of the embedded profile report their invocations like the Spring Data repositories:
+ * as repository timers and as storage round trips of the Server-Timing header.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+public class EmbeddedRepositoryInstrumentationTest {
+    // Paul McCartney from the sample employee database json
+    private static final String PAUL_ID = "b7839309-3348-463b-a7e3-5de1c168beb3";
+    private static final Pattern ROUND_TRIPS = Pattern.compile("storage;desc=\"(\\d+) round trips\"");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CompensationRepository compensationRepository;
+
+    @Test
+    public void testStoresAreProxied() {
+        assertTrue(AopUtils.isAopProxy(employeeRepository));
+        assertTrue(AopUtils.isAopProxy(compensationRepository));
+    }
+
+    @Test
+    public void testInvocationsAreReported() {
+        String compensationUrl = "http://localhost:" + port + "/employee/{id}/compensation";
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity(compensationUrl,
+            Map.of("salary", 120000.0, "effectiveDate", new Date().getTime()), String.class, PAUL_ID).getStatusCode());
+
+        Timer lookups = meterRegistry.find("spring.data.repository.invocations")
+            .tag("repository", "CompensationRepository")
+            .tag("method", "findByEmployeeId")
+            .tag("state", "SUCCESS")
+            .timer();
+        long lookupsBefore = lookups != null ? lookups.count() : 0;
+
+        ResponseEntity<String> response = restTemplate.getForEntity(compensationUrl, String.class, PAUL_ID);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        assertEquals(lookupsBefore + 1, meterRegistry.get("spring.data.repository.invocations")
+            .tag("repository", "CompensationRepository")
+            .tag("method", "findByEmployeeId")
+            .tag("state", "SUCCESS")
+            .timer().count());
+
+        Matcher roundTrips = ROUND_TRIPS.matcher(response.getHeaders().getFirst("Server-Timing"));
+        assertTrue(roundTrips.find());
+        assertTrue(Integer.parseInt(roundTrips.group(1)) >= 1);
+    }
+}
@@ -0,0 +1,161 @@
+package com.mindex.challenge.graph;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mindex.challenge.dao.EmployeeRepository;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.exception.InvalidEmployeeRequestException;
+
+public class OrgGraphTest {
+
+    private OrgGraph orgGraph;
+
+    @Before
+    public void setup() {
+        // John -> (Paul, Ringo), Ringo -> (Pete, George)
+        orgGraph = new OrgGraph(mock(EmployeeRepository.class));
+        orgGraph.rebuild(List.of(
+            employee("john", "paul", "ringo"),
+            employee("paul"),
+            employee("ringo", "pete", "george"),
+            employee("pete"),
+            employee("george")));
+    }
+
+    @Test
+    public void testRebuild() {
+        int john = orgGraph.indexOf("john");
+        int ringo = orgGraph.indexOf("ringo");
+
+        assertEquals(OrgGraph.NO_NODE, orgGraph.parentOf(john));
+        assertEquals(john, orgGraph.parentOf(ringo));
+        assertArrayEquals(new int[] {orgGraph.indexOf("pete"), orgGraph.indexOf("george")}, orgGraph.childrenOf(ringo));
+        assertEquals(OrgGraph.NO_NODE, orgGraph.indexOf("unknown"));
+    }
+
+    @Test
+    public void testUpsertMovesReports() {
+        // Paul takes over George from Ringo
+        List<String> previousManagers = orgGraph.upsert(employee("paul", "george"));
+
+        assertEquals(List.of("ringo"), previousManagers);
+        assertEquals(orgGraph.indexOf("paul"), orgGraph.parentOf(orgGraph.indexOf("george")));
+        assertEquals(List.of("pete"), orgGraph.directReportIds("ringo"));
+    }
+
+    @Test
+    public void testReportCountsFollowMoves() {
+        assertEquals(4, orgGraph.reportCount(orgGraph.indexOf("john")));
+        assertEquals(2, orgGraph.reportCount(orgGraph.indexOf("ringo")));
+
+        // Ringo moves under Paul, a new hire joins under Pete
+        orgGraph.upsert(employee("paul", "ringo"));
+        orgGraph.upsert(employee("ringo"));
+        orgGraph.upsert(employee("stuart"));
+        orgGraph.upsert(employee("pete", "stuart"));
+
+        assertEquals(5, orgGraph.reportCount(orgGraph.indexOf("john")));
+        assertEquals(4, orgGraph.reportCount(orgGraph.indexOf("paul")));
+        assertEquals(3, orgGraph.reportCount(orgGraph.indexOf("ringo")));
+        assertEquals(1, orgGraph.reportCount(orgGraph.indexOf("pete")));
+    }
+
+    @Test
+    public void testUnknownReportIsPlaceholder() {
+        orgGraph.upsert(employee("paul", "ghost"));
+
+        assertEquals(OrgGraph.NO_NODE, orgGraph.indexOf("ghost"));
+        assertEquals(List.of("ghost"), orgGraph.directReportIds("paul"));
+        assertNull(orgGraph.employeeAt(orgGraph.childrenOf(orgGraph.indexOf("paul"))[0]));
+    }
+
+    @Test(expected = InvalidEmployeeRequestException.class)
+    public void testCycleRejected() {
+        // John reports to Pete, who already reports to John through Ringo
+        orgGraph.validateDirectReports("pete", employee("pete", "john").getDirectReports());
+    }
+
+    @Test
+    public void testRejectedUpsertLeavesGraphUnchanged() {
+        // A new hire listing an unknown employee and themselves as reports
+        Employee newHire = employee("stuart", "ghost", "stuart");
+        try {
+            orgGraph.upsert(newHire);
+            fail("Expected the self-report to be rejected");
+        } catch (InvalidEmployeeRequestException expected) {
+            // Neither the employee nor the placeholder was registered
+        }
+        assertEquals(5, orgGraph.size());
+        assertEquals(OrgGraph.NO_NODE, orgGraph.indexOf("stuart"));
+
+        // Pete taking John as a report is rejected without changing Pete
+        Employee pete = employee("pete", "john");
+        pete.setFirstName("Peter");
+        try {
+            orgGraph.upsert(pete);
+            fail("Expected the cycle to be rejected");
+        } catch (InvalidEmployeeRequestException expected) {
+            // Pete keeps the old snapshot and the counts stay intact
+        }
+        assertEquals("pete", orgGraph.employeeAt(orgGraph.indexOf("pete")).getFirstName());
+        assertEquals(4, orgGraph.reportCount(orgGraph.indexOf("john")));
+        assertEquals(List.of(), orgGraph.directReportIds("pete"));
+    }
+
+    @Test
+    public void testRebuildGrowsBeyondInitialCapacity() {
+        // 1 + 10 + 100 employees, well past the 64 slots the arrays start with
+        List<Employee> org = new ArrayList<>();
+        org.add(employee("ceo", IntStream.range(0, 10).mapToObj(m -> "manager-" + m).toArray(String[]::new)));
+        for (int m = 0; m < 10; m++) {
+            int manager = m;
+            org.add(employee("manager-" + m,
+                IntStream.range(0, 10).mapToObj(r -> "report-" + manager + "-" + r).toArray(String[]::new)));
+            IntStream.range(0, 10).forEach(r -> org.add(employee("report-" + manager + "-" + r)));
+        }
+        orgGraph.rebuild(org);
+
+        assertEquals(111, orgGraph.size());
+        assertEquals(110, orgGraph.reportCount(orgGraph.indexOf("ceo")));
+        assertEquals(10, orgGraph.reportCount(orgGraph.indexOf("manager-9")));
+        assertEquals(orgGraph.indexOf("manager-9"), orgGraph.parentOf(orgGraph.indexOf("report-9-9")));
+        assertEquals("report-9-9", orgGraph.employeeAt(orgGraph.indexOf("report-9-9")).getEmployeeId());
+    }
+
+    @Test
+    public void testRebuildDeepChain() {
+        // The 300-deep chain of DeepChainReportingStructureTest: chain-0 manages chain-1, and so on
+        List<Employee> chain = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            chain.add(i + 1 < 300 ? employee("chain-" + i, "chain-" + (i + 1)) : employee("chain-" + i));
+        }
+        orgGraph.rebuild(chain);
+
+        assertEquals(300, orgGraph.size());
+        assertEquals(299, orgGraph.reportCount(orgGraph.indexOf("chain-0")));
+        assertEquals(149, orgGraph.reportCount(orgGraph.indexOf("chain-150")));
+        assertEquals(orgGraph.indexOf("chain-298"), orgGraph.parentOf(orgGraph.indexOf("chain-299")));
+    }
+
+    private static Employee employee(String employeeId, String... reportIds) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeId);
+        employee.setFirstName(employeeId);
+        if (reportIds.length > 0) {
+            employee.setDirectReports(Arrays.stream(reportIds).map(OrgGraphTest::employee).toList());
+        }
+        return employee;
+    }
+}
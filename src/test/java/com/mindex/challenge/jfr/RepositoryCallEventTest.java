@@ -0,0 +1,67 @@
+package com.mindex.challenge.jfr;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.mindex.challenge.dao.EmployeeRepository;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * The RepositoryCallEvents recorded for repository invocations, read back from a Flight Recorder dump.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RepositoryCallEventTest {
+    private static final String EVENT_NAME = "com.mindex.challenge.RepositoryCall";
+
+    // John Lennon and Ringo Starr from the sample employee database json
+    private static final String JOHN_ID = "16a596ae-edd3-4847-99fe-c4518e82c86f";
+    private static final String RINGO_ID = "03aa1462-ffa9-4978-901b-7c001562cf6f";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    public void testRepositoryCallsAreRecorded() throws Exception {
+        Path dump = folder.getRoot().toPath().resolve("repository-calls.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME);
+            recording.start();
+
+            employeeRepository.findAllByEmployeeIdIn(List.of(JOHN_ID, RINGO_ID, "unknown"));
+            employeeRepository.findByEmployeeId(JOHN_ID);
+            employeeRepository.countSubtree(JOHN_ID);
+            employeeRepository.count();
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        // Custom fragment methods are recorded like derived queries, with the number of IDs they were given
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+            .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+            .filter(event -> event.getString("repository").equals("EmployeeRepository"))
+            .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+            .toList();
+        assertEquals(List.of("findAllByEmployeeIdIn", "findByEmployeeId", "countSubtree", "count"),
+            events.stream().map(event -> event.getString("method")).toList());
+        assertEquals(List.of(3, 1, 1, 0), events.stream().map(event -> event.getInt("idCount")).toList());
+    }
+}
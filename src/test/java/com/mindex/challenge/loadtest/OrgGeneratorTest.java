@@ -0,0 +1,119 @@
+package com.mindex.challenge.loadtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class OrgGeneratorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testFixedFanOutBuildsAFullTree() throws IOException {
+        // 1 + 3 + 9 employees fill two full levels of 3 reports each
+        Path output = generate("org.json", "--size=13", "--max-depth=2", "--fan-out=fixed:3", "--compensation=1");
+        JsonNode employees = read(output);
+        assertEquals(13, employees.size());
+
+        Map<String, String> managerById = new HashMap<>();
+        for (JsonNode employee : employees) {
+            for (JsonNode report : employee.path("directReports")) {
+                assertNull(managerById.put(report.get("employeeId").asText(), employee.get("employeeId").asText()));
+            }
+        }
+
+        // Everyone but the top-level manager is listed exactly once, and managers come before their reports
+        String root = employees.get(0).get("employeeId").asText();
+        assertEquals(12, managerById.size());
+        assertFalse(managerById.containsKey(root));
+        assertEquals(3, employees.get(0).get("directReports").size());
+        for (int i = 1; i <= 3; i++) {
+            assertEquals(root, managerById.get(employees.get(i).get("employeeId").asText()));
+            assertEquals(3, employees.get(i).get("directReports").size());
+        }
+        for (int i = 4; i < 13; i++) {
+            assertTrue(employees.get(i).path("directReports").isMissingNode());
+        }
+        assertEquals("Chief Executive Officer", employees.get(0).get("position").asText());
+
+        // A compensation record for every employee, as requested
+        JsonNode compensations = read(OrgGenerator.compensationPath(output));
+        assertEquals(13, compensations.size());
+        Set<String> ids = new HashSet<>();
+        employees.forEach(employee -> ids.add(employee.get("employeeId").asText()));
+        compensations.forEach(compensation -> assertTrue(ids.contains(compensation.get("employeeId").asText())));
+    }
+
+    @Test
+    public void testMaxDepthAndSize() throws IOException {
+        JsonNode employees = read(generate("org.json", "--size=500", "--max-depth=3", "--fan-out=uniform:1-4",
+            "--compensation=0"));
+        assertEquals(500, employees.size());
+
+        Map<String, Integer> depths = new HashMap<>();
+        depths.put(employees.get(0).get("employeeId").asText(), 0);
+        for (JsonNode employee : employees) {
+            int depth = depths.get(employee.get("employeeId").asText());
+            for (JsonNode report : employee.path("directReports")) {
+                depths.put(report.get("employeeId").asText(), depth + 1);
+            }
+        }
+        assertEquals(500, depths.size());
+        assertTrue(depths.values().stream().allMatch(depth -> depth <= 3));
+    }
+
+    @Test
+    public void testSameSeedSameOrg() throws IOException {
+        List<String> options = List.of("--size=200", "--fan-out=poisson:4");
+        JsonNode first = read(generate("first.json.gz", withSeed(options, 7)));
+        JsonNode second = read(generate("second.json.gz", withSeed(options, 7)));
+        JsonNode other = read(generate("other.json.gz", withSeed(options, 8)));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    private Path generate(String fileName, String... options) throws IOException {
+        Path output = folder.getRoot().toPath().resolve(fileName);
+        String[] args = new String[options.length + 1];
+        args[0] = "--output=" + output;
+        System.arraycopy(options, 0, args, 1, options.length);
+        OrgGenerator.main(args);
+        return output;
+    }
+
+    private static String[] withSeed(List<String> options, long seed) {
+        String[] args = options.toArray(new String[options.size() + 1]);
+        args[options.size()] = "--seed=" + seed;
+        return args;
+    }
+
+    private JsonNode read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return objectMapper.readTree(file.toString().endsWith(".gz") ? new GZIPInputStream(in) : in);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.mindex.challenge.service.impl;
+
+import com.mindex.challenge.dao.CompensationRepository;
+import com.mindex.challenge.data.Compensation;
+import com.mindex.challenge.data.Employee;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CompensationServiceImplTest {
+    private static final int CONCURRENT_CREATES = 8;
+
+    private String employeeUrl;
+    private String compensationUrl;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CompensationRepository compensationRepository;
+
+    @Before
+    public void setup() {
+        employeeUrl = "http://localhost:" + port + "/employee";
+        compensationUrl = "http://localhost:" + port + "/employee/{id}/compensation";
+    }
+
+    @Test
+    public void testConcurrentCreatesStoreOneCompensation() throws Exception {
+        Employee employee = restTemplate.postForEntity(employeeUrl,
+            new Employee("Jane", "Doe", "Developer", "Engineering"), Employee.class).getBody();
+        assertNotNull(employee);
+
+        // Every request is released at once, so they race past the employee lookup together
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CREATES);
+        List<Future<ResponseEntity<Compensation>>> responses = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_CREATES; i++) {
+            double salary = 100_000 + i;
+            responses.add(executor.submit(() -> {
+                Compensation request = new Compensation();
+                request.setSalary(salary);
+                request.setEffectiveDate(new Date());
+                start.await();
+                return restTemplate.postForEntity(compensationUrl, request, Compensation.class, employee.getEmployeeId());
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<ResponseEntity<Compensation>> response : responses) {
+            if (response.get().getStatusCode().is2xxSuccessful()) {
+                created++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, created);
+        assertNotNull(compensationRepository.findByEmployeeId(employee.getEmployeeId()));
+        assertEquals(1, compensationRepository.findAll().stream()
+            .filter(compensation -> employee.getEmployeeId().equals(compensation.getEmployeeId()))
+            .count());
+    }
+}
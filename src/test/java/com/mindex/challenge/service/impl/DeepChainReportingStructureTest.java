@@ -0,0 +1,129 @@
+package com.mindex.challenge.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindex.challenge.dao.EmployeeRepository;
+import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.data.ReportingStructure;
+import com.mindex.challenge.service.ReportingStructureFormat;
+import com.mindex.challenge.service.ReportingStructureService;
+
+/**
+ * A single management chain three times deeper than the 100-deep chains of the benchmark orgs.
+ * Deep chains are stored and traversed like any other hierarchy; what limits their depth is the
+ * materialized ancestors, whose total size grows with the square of the depth.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class DeepChainReportingStructureTest {
+    private static final int CHAIN_DEPTH = 300;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private ReportingStructureService reportingStructureService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @DynamicPropertySource
+    static void seedChain(DynamicPropertyRegistry registry) {
+        // chain-0 manages chain-1, which manages chain-2, and so on
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < CHAIN_DEPTH; i++) {
+            ndjson.append("{\"employeeId\":\"").append(id(i)).append("\",\"firstName\":\"Chain\",\"lastName\":\"")
+                .append(i).append('"');
+            if (i + 1 < CHAIN_DEPTH) {
+                ndjson.append(",\"directReports\":[{\"employeeId\":\"").append(id(i + 1)).append("\"}]");
+            }
+            ndjson.append("}\n");
+        }
+
+        try {
+            Path seed = Files.createTempFile("deep-chain", ".ndjson");
+            seed.toFile().deleteOnExit();
+            Files.writeString(seed, ndjson);
+            registry.add("challenge.bootstrap.location", () -> seed.toUri().toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    public void testAncestorsGrowWithTheSquareOfTheDepth() {
+        Employee deepest = employeeRepository.findByEmployeeId(id(CHAIN_DEPTH - 1));
+        assertEquals(CHAIN_DEPTH - 1, deepest.getAncestors().size());
+        assertEquals(Integer.valueOf(CHAIN_DEPTH - 1), deepest.getDepth());
+        assertEquals(id(0), deepest.getAncestors().get(0));
+        assertEquals(id(CHAIN_DEPTH - 2), deepest.getAncestors().get(CHAIN_DEPTH - 2));
+
+        // 1 + 2 + ... + 299 ancestor entries for 299 employees below the root
+        long storedAncestors = employeeRepository.findSubtree(id(0)).stream()
+            .mapToLong(employee -> employee.getAncestors().size())
+            .sum();
+        assertEquals((long) CHAIN_DEPTH * (CHAIN_DEPTH - 1) / 2, storedAncestors);
+    }
+
+    @Test
+    public void testReportingStructureOfDeepChain() {
+        ReportingStructure structure = reportingStructureService.getReportingStructure(id(0));
+        assertEquals(CHAIN_DEPTH - 1, structure.getNumberOfReports());
+
+        // Every level is resolved, down to the last employee
+        Employee current = structure.getEmployee();
+        for (int i = 1; i < CHAIN_DEPTH; i++) {
+            assertEquals(1, current.getDirectReports().size());
+            current = current.getDirectReports().get(0);
+            assertEquals(id(i), current.getEmployeeId());
+        }
+        assertNull(current.getDirectReports());
+
+        assertEquals(CHAIN_DEPTH - 101, reportingStructureService.getReportCount(id(100)).getNumberOfReports());
+    }
+
+    @Test
+    public void testDepthLimitedDeepChain() {
+        ReportingStructure structure = reportingStructureService.getReportingStructure(id(0), 150,
+            ReportingStructureService.UNLIMITED);
+
+        assertEquals(CHAIN_DEPTH - 1, structure.getNumberOfReports());
+        assertEquals(List.of(id(150)), structure.getTruncatedBranches());
+    }
+
+    @Test
+    public void testStreamedDeepChain() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        reportingStructureService.streamReportingStructure(id(0), ReportingStructureFormat.JSON).writeTo(output);
+
+        JsonNode streamed = objectMapper.readTree(output.toByteArray());
+        assertEquals(CHAIN_DEPTH - 1, streamed.get("numberOfReports").asInt());
+
+        JsonNode current = streamed.get("employee");
+        for (int i = 1; i < CHAIN_DEPTH; i++) {
+            current = current.get("directReports").get(0);
+        }
+        assertEquals(id(CHAIN_DEPTH - 1), current.get("employeeId").asText());
+    }
+
+    private static String id(int index) {
+        return "chain-" + index;
+    }
+}
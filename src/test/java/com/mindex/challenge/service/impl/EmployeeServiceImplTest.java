@@ -1,6 +1,11 @@
 package com.mindex.challenge.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mindex.challenge.data.Employee;
+import com.mindex.challenge.data.ReportingStructure;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -11,11 +16,22 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -23,6 +39,14 @@ public class EmployeeServiceImplTest {
 
     private String employeeUrl;
     private String employeeIdUrl;
+    private String reportingStructureUrl;
+    private String reportingStructureStreamUrl;
+
+    // John Lennon from the sample employee database json
+    private static final String JOHN_ID = "16a596ae-edd3-4847-99fe-c4518e82c86f";
+    private static final String RINGO_ID = "03aa1462-ffa9-4978-901b-7c001562cf6f";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     @LocalServerPort
     private int port;
@@ -30,10 +54,15 @@ public class EmployeeServiceImplTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Before
     public void setup() {
         employeeUrl = "http://localhost:" + port + "/employee";
         employeeIdUrl = "http://localhost:" + port + "/employee/{id}";
+        reportingStructureUrl = "http://localhost:" + port + "/employee/{id}/reporting-structure";
+        reportingStructureStreamUrl = "http://localhost:" + port + "/employee/{id}/reporting-structure/stream?format={format}";
     }
 
     @Test
@@ -73,6 +102,196 @@ public class EmployeeServiceImplTest {
         assertEmployeeEquivalence(readEmployee, updatedEmployee);
     }
 
+    @Test
+    public void testUpdateWithStaleVersionConflicts() {
+        Employee created = restTemplate.postForEntity(employeeUrl, newEmployee("Ringo", "Developer"), Employee.class).getBody();
+        assertNotNull(created);
+        assertEquals(Long.valueOf(0), created.getVersion());
+
+        // An update that changes nothing is not written, so the version stays
+        Employee unchanged = new Employee();
+        unchanged.setPosition("Developer");
+        Employee afterNoOp = restTemplate.exchange(employeeIdUrl, HttpMethod.PUT, new HttpEntity<>(unchanged),
+            Employee.class, created.getEmployeeId()).getBody();
+        assertEquals(Long.valueOf(0), afterNoOp.getVersion());
+
+        Employee promoted = new Employee();
+        promoted.setPosition("Senior Developer");
+        promoted.setVersion(0L);
+        ResponseEntity<Employee> first = restTemplate.exchange(employeeIdUrl, HttpMethod.PUT, new HttpEntity<>(promoted),
+            Employee.class, created.getEmployeeId());
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(Long.valueOf(1), first.getBody().getVersion());
+
+        // A second update based on the same version lost the race
+        promoted.setPosition("Lead Developer");
+        ResponseEntity<String> second = restTemplate.exchange(employeeIdUrl, HttpMethod.PUT, new HttpEntity<>(promoted),
+            String.class, created.getEmployeeId());
+        assertEquals(HttpStatus.CONFLICT, second.getStatusCode());
+
+        Employee read = restTemplate.getForEntity(employeeIdUrl, Employee.class, created.getEmployeeId()).getBody();
+        assertEquals("Senior Developer", read.getPosition());
+        assertEquals(Long.valueOf(1), read.getVersion());
+    }
+
+    @Test
+    public void testReportingStructureReflectsUpdates() {
+        Employee report = restTemplate.postForEntity(employeeUrl, newEmployee("Paul", "Developer"), Employee.class).getBody();
+
+        Employee manager = newEmployee("Pete", "Development Manager");
+        manager.setDirectReports(List.of(report));
+        manager = restTemplate.postForEntity(employeeUrl, manager, Employee.class).getBody();
+
+        // Cache the manager's structure, then change a field of the report
+        ReportingStructure before = restTemplate.getForEntity(
+            reportingStructureUrl, ReportingStructure.class, manager.getEmployeeId()).getBody();
+        assertEquals("Developer", before.getEmployee().getDirectReports().get(0).getPosition());
+
+        Employee promoted = new Employee();
+        promoted.setPosition("Senior Developer");
+        restTemplate.put(employeeIdUrl, promoted, report.getEmployeeId());
+
+        ReportingStructure afterUpdate = restTemplate.getForEntity(
+            reportingStructureUrl, ReportingStructure.class, manager.getEmployeeId()).getBody();
+        assertEquals("Senior Developer", afterUpdate.getEmployee().getDirectReports().get(0).getPosition());
+
+        // Moving the report to another manager removes it from the cached structure
+        Employee otherManager = newEmployee("George", "Development Manager");
+        otherManager.setDirectReports(List.of(report));
+        restTemplate.postForEntity(employeeUrl, otherManager, Employee.class);
+
+        ReportingStructure afterMove = restTemplate.getForEntity(
+            reportingStructureUrl, ReportingStructure.class, manager.getEmployeeId()).getBody();
+        assertEquals(0, afterMove.getNumberOfReports());
+    }
+
+    @Test
+    public void testStreamedReportingStructure() throws Exception {
+        JsonNode materialized = objectMapper.readTree(
+            restTemplate.getForObject(reportingStructureUrl, String.class, JOHN_ID));
+
+        // The nested stream matches the materialized structure
+        JsonNode streamed = objectMapper.readTree(
+            restTemplate.getForObject(reportingStructureStreamUrl, String.class, JOHN_ID, "json"));
+        assertEquals(materialized, streamed);
+
+        // The flat stream has one line per employee, the root first without a manager
+        String[] lines = restTemplate.getForObject(reportingStructureStreamUrl, String.class, JOHN_ID, "ndjson")
+            .split("\n");
+        assertEquals(5, lines.length);
+        JsonNode root = objectMapper.readTree(lines[0]);
+        assertEquals(JOHN_ID, root.get("employeeId").asText());
+        assertNull(root.get("managerId").textValue());
+        assertEquals(JOHN_ID, objectMapper.readTree(lines[1]).get("managerId").asText());
+    }
+
+    @Test
+    public void testDepthLimitedReportingStructure() {
+        DistributionSummary nodesVisited = meterRegistry.get("reporting.structure.nodes").tag("mode", "built").summary();
+        long builtBefore = nodesVisited.count();
+        double visitedBefore = nodesVisited.totalAmount();
+
+        ResponseEntity<ReportingStructure> response = restTemplate.getForEntity(
+            reportingStructureUrl + "?depth=1", ReportingStructure.class, JOHN_ID);
+        ReportingStructure firstLevel = response.getBody();
+
+        // Limited structures are never cached, John and his direct reports were visited
+        assertEquals(builtBefore + 1, nodesVisited.count());
+        assertEquals(visitedBefore + 3, nodesVisited.totalAmount(), 0);
+        assertTrue(response.getHeaders().getFirst("Server-Timing").contains("assembly;desc=\"3 nodes, depth 1\""));
+
+        // Only John's direct reports are resolved, the full count is still reported
+        assertEquals(4, firstLevel.getNumberOfReports());
+        assertEquals(2, firstLevel.getEmployee().getDirectReports().size());
+        assertEquals(List.of(RINGO_ID), firstLevel.getTruncatedBranches());
+
+        // Ringo's reports are left out and can be expanded with the cursor
+        Employee ringo = firstLevel.getEmployee().getDirectReports().get(1);
+        assertEquals(RINGO_ID, ringo.getEmployeeId());
+        assertEquals(0, ringo.getDirectReports().size());
+
+        ReportingStructure expanded = restTemplate.getForEntity(
+            reportingStructureUrl + "?depth=1", ReportingStructure.class, RINGO_ID).getBody();
+        assertEquals(2, expanded.getEmployee().getDirectReports().size());
+        assertEquals(0, expanded.getTruncatedBranches().size());
+    }
+
+    @Test
+    public void testBatchCreate() throws Exception {
+        Employee invalid = newEmployee("Stuart", "Developer");
+        invalid.setLastName(" ");
+
+        List<Employee> batch = List.of(newEmployee("Mal", "Developer"), invalid, newEmployee("Neil", "Developer"));
+        JsonNode results = objectMapper.readTree(
+            restTemplate.postForObject(employeeUrl + "/batch", batch, String.class));
+
+        // One result per employee in request order, invalid employees do not stop the rest
+        assertEquals(3, results.size());
+        assertEquals("CREATED", results.get(0).get("status").asText());
+        assertEquals("REJECTED", results.get(1).get("status").asText());
+        assertEquals(1, results.get(1).get("index").asInt());
+        assertEquals("CREATED", results.get(2).get("status").asText());
+
+        String createdId = results.get(2).get("employee").get("employeeId").asText();
+        Employee read = restTemplate.getForEntity(employeeIdUrl, Employee.class, createdId).getBody();
+        assertEquals("Neil", read.getFirstName());
+    }
+
+    @Test
+    public void testConcurrentReportSwapKeepsTheTree() throws Exception {
+        Employee paul = restTemplate.postForEntity(employeeUrl, newEmployee("Paul", "Developer"), Employee.class).getBody();
+        Employee stuart = restTemplate.postForEntity(employeeUrl, newEmployee("Stuart", "Developer"), Employee.class).getBody();
+
+        // Paul takes Stuart while Stuart takes Paul, only one of them can win
+        Employee paulTakesStuart = new Employee();
+        paulTakesStuart.setDirectReports(List.of(stuart));
+        Employee stuartTakesPaul = new Employee();
+        stuartTakesPaul.setDirectReports(List.of(paul));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<HttpStatusCode> first = executor.submit(() -> {
+                start.await();
+                return restTemplate.exchange(employeeIdUrl, HttpMethod.PUT, new HttpEntity<>(paulTakesStuart),
+                    String.class, paul.getEmployeeId()).getStatusCode();
+            });
+            Future<HttpStatusCode> second = executor.submit(() -> {
+                start.await();
+                return restTemplate.exchange(employeeIdUrl, HttpMethod.PUT, new HttpEntity<>(stuartTakesPaul),
+                    String.class, stuart.getEmployeeId()).getStatusCode();
+            });
+            start.countDown();
+
+            // The loser is rejected before anything of it is stored
+            List<HttpStatusCode> statuses = List.of(first.get(), second.get());
+            assertTrue(statuses.contains(HttpStatus.OK));
+            assertTrue(statuses.contains(HttpStatus.BAD_REQUEST));
+        } finally {
+            executor.shutdown();
+        }
+
+        // Whoever won holds the other, who holds nobody in storage, in the org graph or in the cache
+        Employee storedPaul = restTemplate.getForObject(employeeIdUrl, Employee.class, paul.getEmployeeId());
+        boolean paulWon = storedPaul.getDirectReports() != null && !storedPaul.getDirectReports().isEmpty();
+        String winnerId = paulWon ? paul.getEmployeeId() : stuart.getEmployeeId();
+        String loserId = paulWon ? stuart.getEmployeeId() : paul.getEmployeeId();
+        assertEquals(1, restTemplate.getForObject(reportingStructureUrl, ReportingStructure.class, winnerId)
+            .getNumberOfReports());
+        assertEquals(0, restTemplate.getForObject(reportingStructureUrl, ReportingStructure.class, loserId)
+            .getNumberOfReports());
+        assertNull(restTemplate.getForObject(employeeIdUrl, Employee.class, loserId).getDirectReports());
+    }
+
+    private static Employee newEmployee(String firstName, String position) {
+        Employee employee = new Employee();
+        employee.setFirstName(firstName);
+        employee.setLastName("Doe");
+        employee.setDepartment("Engineering");
+        employee.setPosition(position);
+        return employee;
+    }
+
     private static void assertEmployeeEquivalence(Employee expected, Employee actual) {
         assertEquals(expected.getFirstName(), actual.getFirstName());
         assertEquals(expected.getLastName(), actual.getLastName());
@@ -0,0 +1,134 @@
+package com.mindex.challenge.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindex.challenge.dao.EmployeeRepository;
+import com.mindex.challenge.data.ReportingStructure;
+
+/**
+ * Reporting structures read from storage with the org graph turned off: streamed, limited and counted.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "challenge.org-graph.enabled=false")
+public class StorageStreamedReportingStructureTest {
+    // John Lennon and Ringo Starr from the sample employee database json
+    private static final String JOHN_ID = "16a596ae-edd3-4847-99fe-c4518e82c86f";
+    private static final String RINGO_ID = "03aa1462-ffa9-4978-901b-7c001562cf6f";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String reportingStructureUrl;
+    private String reportingStructureStreamUrl;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @SpyBean
+    private EmployeeRepository employeeRepository;
+
+    @Before
+    public void setup() {
+        reportingStructureUrl = "http://localhost:" + port + "/employee/{id}/reporting-structure";
+        reportingStructureStreamUrl = "http://localhost:" + port + "/employee/{id}/reporting-structure/stream?format={format}";
+    }
+
+    @Test
+    public void testStreamsManagerByManager() throws Exception {
+        JsonNode materialized = objectMapper.readTree(
+            restTemplate.getForObject(reportingStructureUrl, String.class, JOHN_ID));
+        clearInvocations(employeeRepository);
+
+        // The nested stream matches the materialized structure without fetching the subtree up front
+        JsonNode streamed = objectMapper.readTree(
+            restTemplate.getForObject(reportingStructureStreamUrl, String.class, JOHN_ID, "json"));
+        assertEquals(materialized, streamed);
+
+        // One query per manager with reports: John and Ringo
+        verify(employeeRepository, never()).findSubtree(anyString());
+        verify(employeeRepository, times(2)).findAllByEmployeeIdIn(anyCollection());
+
+        String[] lines = restTemplate.getForObject(reportingStructureStreamUrl, String.class, JOHN_ID, "ndjson")
+            .split("\n");
+        assertEquals(5, lines.length);
+        assertNull(objectMapper.readTree(lines[0]).get("managerId").textValue());
+        assertEquals(JOHN_ID, objectMapper.readTree(lines[1]).get("managerId").asText());
+    }
+
+    @Test
+    public void testNodeLimitFetchesOnlyWhatFits() {
+        clearInvocations(employeeRepository);
+
+        // John's direct reports fit, Ringo's do not: only the first level is read
+        ReportingStructure limited = restTemplate.getForObject(reportingStructureUrl + "?maxNodes=2",
+            ReportingStructure.class, JOHN_ID);
+        assertEquals(4, limited.getNumberOfReports());
+        assertEquals(2, limited.getEmployee().getDirectReports().size());
+        assertEquals(List.of(RINGO_ID), limited.getTruncatedBranches());
+        verify(employeeRepository, never()).findSubtree(anyString());
+        verify(employeeRepository, never()).findSubtree(anyString(), anyInt());
+        verify(employeeRepository, times(1)).findAllByEmployeeIdIn(anyCollection());
+
+        // With room for everyone, one query per level
+        clearInvocations(employeeRepository);
+        ReportingStructure complete = restTemplate.getForObject(reportingStructureUrl + "?maxNodes=4",
+            ReportingStructure.class, JOHN_ID);
+        assertEquals(4, complete.getNumberOfReports());
+        assertEquals(0, complete.getTruncatedBranches().size());
+        assertEquals(2, complete.getEmployee().getDirectReports().get(1).getDirectReports().size());
+        verify(employeeRepository, never()).findSubtree(anyString());
+        verify(employeeRepository, times(2)).findAllByEmployeeIdIn(anyCollection());
+    }
+
+    @Test
+    public void testCountsWithoutBuildingTheStructure() {
+        clearInvocations(employeeRepository);
+
+        ReportingStructure count = restTemplate.getForObject(reportingStructureUrl + "?countOnly=true",
+            ReportingStructure.class, JOHN_ID);
+        assertEquals(4, count.getNumberOfReports());
+        assertEquals(JOHN_ID, count.getEmployee().getEmployeeId());
+        assertNull(count.getEmployee().getDirectReports());
+
+        // Counted on the materialized ancestors, nothing below John is fetched
+        verify(employeeRepository).countSubtree(JOHN_ID);
+        verify(employeeRepository, never()).findSubtree(anyString());
+        verify(employeeRepository, never()).findSubtree(anyString(), anyInt());
+        verify(employeeRepository, never()).findAllByEmployeeIdIn(anyCollection());
+
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity(reportingStructureUrl + "?countOnly=true",
+            String.class, "00000000-0000-0000-0000-000000000000").getStatusCode());
+    }
+
+    @Test
+    public void testUnknownEmployeeIsNotFound() {
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity(reportingStructureStreamUrl, String.class,
+            "00000000-0000-0000-0000-000000000000", "json").getStatusCode());
+    }
+}
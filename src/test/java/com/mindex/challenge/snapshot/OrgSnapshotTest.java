@@ -0,0 +1,68 @@
+package com.mindex.challenge.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.mindex.challenge.data.Employee;
+
+public class OrgSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        // John -> (Paul, Ringo), Ringo -> (Pete, George), Paul -> a report missing from the snapshot
+        Path path = folder.getRoot().toPath().resolve("org.snapshot");
+        OrgSnapshotWriter.write(path, List.of(
+            employee("ringo", List.of("john"), "pete", "george"),
+            employee("john", List.of(), "paul", "ringo"),
+            employee("pete", List.of("john", "ringo")),
+            employee("paul", List.of("john"), "ghost"),
+            employee("george", List.of("john", "ringo"))));
+
+        try (OrgSnapshot snapshot = OrgSnapshot.open(path)) {
+            assertEquals(5, snapshot.size());
+            assertEquals(-1, snapshot.indexOf("ghost"));
+
+            Employee pete = snapshot.employeeAt(snapshot.indexOf("pete"));
+            assertEquals("pete", pete.getEmployeeId());
+            assertEquals("Engineering", pete.getDepartment());
+            assertNull(pete.getPosition());
+            assertEquals(List.of("john", "ringo"), pete.getAncestors());
+            assertEquals(Integer.valueOf(2), pete.getDepth());
+            assertNull(pete.getDirectReports());
+
+            Employee ringo = snapshot.employeeAt(snapshot.indexOf("ringo"));
+            assertEquals(List.of("pete", "george"), ringo.getDirectReports().stream().map(Employee::getEmployeeId).toList());
+
+            Employee paul = snapshot.employeeAt(snapshot.indexOf("paul"));
+            assertEquals("ghost", paul.getDirectReports().get(0).getEmployeeId());
+        }
+    }
+
+    private static Employee employee(String employeeId, List<String> ancestors, String... reportIds) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeId);
+        employee.setFirstName(employeeId);
+        employee.setDepartment("Engineering");
+        employee.setAncestors(ancestors);
+        employee.setDepth(ancestors.size());
+        if (reportIds.length > 0) {
+            employee.setDirectReports(Arrays.stream(reportIds).map(id -> {
+                Employee report = new Employee();
+                report.setEmployeeId(id);
+                return report;
+            }).toList());
+        }
+        return employee;
+    }
+}
@@ -0,0 +1,82 @@
+package com.mindex.challenge.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * The Server-Timing header of measured responses, with a buffer limit the larger structures exceed.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "challenge.server-timing.buffer-limit=256")
+public class RequestStatsFilterTest {
+    // John Lennon and Pete Best from the sample employee database json
+    private static final String JOHN_ID = "16a596ae-edd3-4847-99fe-c4518e82c86f";
+    private static final String PETE_ID = "62c1084e-6e34-4630-93fd-9153afb65309";
+
+    private static final Pattern STORAGE = Pattern.compile("storage;desc=\"\\d+ round trips\";dur=([\\d.]+)");
+    private static final Pattern TOTAL = Pattern.compile("total;dur=([\\d.]+)");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    public void testBufferedBodyIsFullyMeasured() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            "http://localhost:" + port + "/employee/{id}", String.class, PETE_ID);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(response.getBody().length(), response.getHeaders().getContentLength());
+
+        // Storage is wall-clock time within the request, never more than the total
+        String serverTiming = response.getHeaders().getFirst("Server-Timing");
+        assertTrue(serverTiming.contains("serialization;dur="));
+        Matcher storage = STORAGE.matcher(serverTiming);
+        Matcher total = TOTAL.matcher(serverTiming);
+        assertTrue(storage.find());
+        assertTrue(total.find());
+        assertTrue(Double.parseDouble(storage.group(1)) <= Double.parseDouble(total.group(1)));
+    }
+
+    @Test
+    public void testLargeBodyIsWrittenThrough() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            "http://localhost:" + port + "/employee/{id}/reporting-structure", String.class, JOHN_ID);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().length() > 256);
+        assertTrue(response.getBody().endsWith("}"));
+
+        // Set when the body exceeded the limit, before serialization was over
+        String serverTiming = response.getHeaders().getFirst("Server-Timing");
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.contains("assembly;desc="));
+        assertFalse(serverTiming.contains("serialization;dur="));
+        assertFalse(serverTiming.contains("total;dur="));
+    }
+
+    @Test
+    public void testActuatorIsNotMeasured() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            "http://localhost:" + port + "/actuator/health", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst("Server-Timing"));
+    }
+}